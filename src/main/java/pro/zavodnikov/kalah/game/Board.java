@@ -23,25 +23,34 @@
  */
 package pro.zavodnikov.kalah.game;
 
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Stack;
+import java.util.UUID;
 
 import pro.zavodnikov.kalah.Entity;
-import pro.zavodnikov.kalah.game.pit.BigPit;
-import pro.zavodnikov.kalah.game.pit.Pit;
-import pro.zavodnikov.kalah.game.pit.RegularPit;
 import pro.zavodnikov.kalah.player.Player;
 
 /**
  * Implements <a href="https://en.wikipedia.org/wiki/Kalah">Kalah</a> game
  * board.
+ * <p>
+ * Whole position is stored into single array: regular pits of first player,
+ * big pit of first player, regular pits of second player and big pit of second
+ * player. Sowing goes by increasing index (skipping big pit of another player)
+ * and opposite pit for index <code>i</code> is <code>2 * pitsNum - i</code>.
+ * Number of stones into regular pits of every player is tracked on every
+ * change, so end of the game is checked without walking through the pits.
+ * <p>
+ * Search algorithms can walk through the game tree on single board instance
+ * with {@link #makeMove(int)} and {@link #unmakeMove()}.
+ * <p>
+ * Pit numbers of all turns since {@link #init()} are kept (one byte per turn)
+ * together with initial position, so any previous position can be rebuilt by
+ * {@link #getPosition(int)}. Board restored without history does not have it.
  *
  * @author Dmitry Zavodnikov
  */
@@ -52,9 +61,33 @@ public class Board extends Entity {
     private Player activePlayer;
 
     private int turn = 0;
+    private long version = 0;
 
-    private final Map<Player, RegularPit> firstPit = new HashMap<>();
-    private final Map<Player, BigPit> bigPit = new HashMap<>();
+    private int pitsNum;
+    private int[] pits;
+
+    private int regStonesPlayer1;
+    private int regStonesPlayer2;
+
+    private Player startPlayer;
+    private int[] initialPits; // null if history is unknown
+    private byte[] moves;
+
+    /*
+     * Undo log entry from bottom to top: index of the last pit and captured
+     * stones of opposite pit (if captured), collected pits of finished game from
+     * the first pit to the last (if finished), picked stones, pit number and
+     * flags. Parts are popped in reverse order by unmakeMove().
+     */
+    private static final int UNDO_PLAYER2 = 1;
+    private static final int UNDO_CAPTURE = 2;
+    private static final int UNDO_FINISH = 4;
+    private static final int UNDO_FINISH_PLAYER2 = 8;
+
+    private int[] undoLog;
+    private int undoSize;
+
+    private static final int[] STANDARD_PITS = { 6, 6, 6, 6, 6, 6, 0, 6, 6, 6, 6, 6, 6, 0 };
 
     /**
      * Create game board.
@@ -64,6 +97,11 @@ public class Board extends Entity {
      * @param startPlayer player who will make first turn.
      */
     public Board(final Player player1, Player player2, final Player startPlayer) {
+        this(UUID.randomUUID().toString(), player1, player2, startPlayer);
+    }
+
+    private Board(final String id, final Player player1, Player player2, final Player startPlayer) {
+        super(id);
 
         if (player1 == null || player2 == null) {
             throw new IllegalArgumentException("Players can not be null");
@@ -80,6 +118,90 @@ public class Board extends Entity {
         this.activePlayer = startPlayer;
     }
 
+    private Board(final Board board) {
+        super(board.getId());
+
+        this.player1 = board.player1;
+        this.player2 = board.player2;
+        this.activePlayer = board.activePlayer;
+        this.turn = board.turn;
+        this.version = board.version;
+        this.pitsNum = board.pitsNum;
+        this.pits = board.pits != null ? board.pits.clone() : null;
+        this.regStonesPlayer1 = board.regStonesPlayer1;
+        this.regStonesPlayer2 = board.regStonesPlayer2;
+        this.startPlayer = board.startPlayer;
+        this.initialPits = board.initialPits;
+        this.moves = board.moves != null ? board.moves.clone() : null;
+    }
+
+    /**
+     * Restore saved game board.
+     *
+     * @param id                 ID of the board;
+     * @param player1            first player;
+     * @param player2            second player;
+     * @param activePlayer       player who makes next turn or <code>null</code>
+     *                           if game is over;
+     * @param turnNum            number of made turns;
+     * @param regPitSizesPlayer1 number of stones in every regular pit for first
+     *                           player;
+     * @param bigPitSizePlayer1  number of stones in big pit for first player;
+     * @param regPitSizesPlayer2 number of stones in every regular pit for second
+     *                           player;
+     * @param bigPitSizePlayer2  number of stones in big pit for second player;
+     * @return game board.
+     */
+    public static Board restore(final String id, final Player player1, final Player player2,
+            final Player activePlayer, final int turnNum, final int[] regPitSizesPlayer1, final int bigPitSizePlayer1,
+            final int[] regPitSizesPlayer2, final int bigPitSizePlayer2) {
+        if (turnNum < 0) {
+            throw new IllegalArgumentException("Wrong turn number");
+        }
+        final var board = new Board(id, player1, player2, activePlayer != null ? activePlayer : player1);
+        board.init(regPitSizesPlayer1, bigPitSizePlayer1, regPitSizesPlayer2, bigPitSizePlayer2);
+        if ((activePlayer == null) != board.isGameOver()) {
+            throw new IllegalArgumentException("Active player does not match the state of the game");
+        }
+        board.turn = turnNum;
+        board.version = turnNum + 1L; // Initialization and all turns.
+        board.activePlayer = activePlayer;
+        board.initialPits = null;
+        board.moves = null;
+        return board;
+    }
+
+    private static int[] sharedPits(final int[] pits) {
+        return Arrays.equals(pits, STANDARD_PITS) ? STANDARD_PITS : pits.clone(); // Most boards share it.
+    }
+
+    /**
+     * Set history of restored board. History should lead to current position.
+     *
+     * @param startPlayer player who made first turn;
+     * @param initialPits all pits of initial position in internal order;
+     * @param moves       pit numbers of all turns.
+     */
+    public void setHistory(final Player startPlayer, final int[] initialPits, final byte[] moves) {
+        if (startPlayer != this.player1 && startPlayer != this.player2) {
+            throw new IllegalArgumentException("Wrong start player");
+        }
+        if (initialPits.length != this.pits.length || moves.length != this.turn) {
+            throw new IllegalArgumentException("History does not match the board");
+        }
+        this.startPlayer = startPlayer;
+        this.initialPits = sharedPits(initialPits);
+        this.moves = moves.clone();
+    }
+
+    /**
+     * @return independent copy of the board with the same ID; moves for
+     *         {@link #unmakeMove()} are not copied.
+     */
+    public Board copy() {
+        return new Board(this);
+    }
+
     /**
      * @return players presented into the game board.
      */
@@ -87,6 +209,14 @@ public class Board extends Entity {
         return List.of(this.player1, this.player2);
     }
 
+    Player getPlayer1() {
+        return this.player1;
+    }
+
+    Player getPlayer2() {
+        return this.player2;
+    }
+
     /**
      * @return player that can make an action now or <code>null</code> if game
      *         ended.
@@ -102,27 +232,52 @@ public class Board extends Entity {
         return this.turn;
     }
 
+    /**
+     * @return number of changes of the board: initialization, made and reverted
+     *         turns; can be used to detect that the board was changed.
+     */
+    public long getVersion() {
+        return this.version;
+    }
+
     private void nextPlayer() {
         if (this.activePlayer != null) {
             this.activePlayer = this.activePlayer == this.player1 ? this.player2 : this.player1;
         }
     }
 
-    private boolean isEmptyPits(final Player player) {
-        Pit curPit = this.firstPit.get(player);
-        while (curPit instanceof RegularPit) {
-            if (curPit.getStones() > 0) {
-                return false;
-            }
-            curPit = curPit.getNextPit(player);
+    private int firstPitIdx(final Player player) {
+        return player == this.player1 ? 0 : this.pitsNum + 1;
+    }
+
+    private int bigPitIdx(final Player player) {
+        return player == this.player1 ? this.pitsNum : 2 * this.pitsNum + 1;
+    }
+
+    private boolean isRegularPit(final int idx, final Player player) {
+        final var first = firstPitIdx(player);
+        return first <= idx && idx < first + this.pitsNum;
+    }
+
+    private void addRegStones(final int idx, final int stones) {
+        if (idx < this.pitsNum) {
+            this.regStonesPlayer1 += stones;
+        } else if (this.pitsNum < idx && idx <= 2 * this.pitsNum) {
+            this.regStonesPlayer2 += stones;
         }
-        return true;
+    }
+
+    private boolean isEmptyPits(final Player player) {
+        return (player == this.player1 ? this.regStonesPlayer1 : this.regStonesPlayer2) == 0;
     }
 
     /**
      * @return player that win in the game rr <code>null</code> if game still going.
      */
     public boolean isGameOver() {
+        if (this.pits == null) {
+            return true;
+        }
         if (isEmptyPits(this.player1)) {
             return true;
         }
@@ -140,75 +295,15 @@ public class Board extends Entity {
         if (!isGameOver()) {
             return null;
         }
-
-        final var bpPlayer1 = this.bigPit.get(this.player1);
-        if (bpPlayer1 == null) {
-            return null;
-        }
-
-        final var bpPlayer2 = this.bigPit.get(this.player2);
-        if (bpPlayer2 == null) {
+        if (this.pits == null) {
             return null;
         }
 
-        final var s1 = bpPlayer1.getStones();
-        final var s2 = bpPlayer2.getStones();
+        final var s1 = this.pits[bigPitIdx(this.player1)];
+        final var s2 = this.pits[bigPitIdx(this.player2)];
         return s1 > s2 ? this.player1 : s1 < s2 ? this.player2 : null;
     }
 
-    private RegularPit addRegPits(final Player player, final int[] regPitSizes) {
-        RegularPit curPit = null;
-        for (var ps : regPitSizes) {
-            final var newPit = new RegularPit(ps);
-            if (curPit == null) {
-                this.firstPit.put(player, newPit);
-            } else {
-                curPit.setNextPit(player, newPit);
-            }
-            curPit = newPit;
-        }
-        return curPit;
-    }
-
-    private void addBigPit(final Player player, final RegularPit regPit, final int bigPitSize) {
-        final var newBigPit = new BigPit(bigPitSize);
-        this.bigPit.put(player, newBigPit);
-        regPit.setNextPit(player, newBigPit);
-    }
-
-    private void addNxtPit() {
-        for (var player : this.firstPit.keySet()) {
-            final var anotherPlayer = this.firstPit.keySet().stream().filter(p -> p != player).findFirst().get();
-
-            Pit curPit = this.bigPit.get(player);
-            Pit nxtPit = this.firstPit.get(anotherPlayer);
-            while (nxtPit instanceof RegularPit) {
-                curPit.setNextPit(player, nxtPit);
-                curPit = nxtPit;
-                nxtPit = curPit.getNextPit(anotherPlayer);
-            }
-
-            curPit.setNextPit(player, this.firstPit.get(player)); // Connect back to original line.
-        }
-    }
-
-    private void addOppRegPit() {
-        Pit curPit = this.firstPit.get(this.player1);
-        final Stack<RegularPit> oppPits = new Stack<>();
-        while (curPit instanceof RegularPit) {
-            oppPits.add((RegularPit) curPit);
-            curPit = curPit.getNextPit(this.player2);
-        }
-
-        curPit = this.firstPit.get(this.player1);
-        while (curPit instanceof RegularPit) {
-            final var curRegPit = (RegularPit) curPit;
-            oppPits.peek().setOppositePit(curRegPit);
-            curRegPit.setOppositePit(oppPits.pop());
-            curPit = curRegPit.getNextPit(this.player1);
-        }
-    }
-
     /**
      * Initialize the game board with provided pit sizes.
      *
@@ -224,15 +319,23 @@ public class Board extends Entity {
         if (regPitSizesPlayer1.length != regPitSizesPlayer2.length) {
             throw new IllegalArgumentException("Number of pits size for different players should be the same");
         }
-        var lstRegPitPlayer1 = addRegPits(this.player1, regPitSizesPlayer1);
-        var lstRegPitPlayer2 = addRegPits(this.player2, regPitSizesPlayer2);
-
-        addBigPit(this.player1, lstRegPitPlayer1, bigPitSizePlayer1);
-        addBigPit(this.player2, lstRegPitPlayer2, bigPitSizePlayer2);
-
-        addNxtPit();
-
-        addOppRegPit();
+        final var pitsNum = regPitSizesPlayer1.length;
+        final var pits = new int[2 * pitsNum + 2];
+        System.arraycopy(regPitSizesPlayer1, 0, pits, 0, pitsNum);
+        pits[pitsNum] = bigPitSizePlayer1;
+        System.arraycopy(regPitSizesPlayer2, 0, pits, pitsNum + 1, pitsNum);
+        pits[2 * pitsNum + 1] = bigPitSizePlayer2;
+
+        this.pitsNum = pitsNum;
+        this.pits = pits;
+        this.regStonesPlayer1 = Arrays.stream(regPitSizesPlayer1).sum();
+        this.regStonesPlayer2 = Arrays.stream(regPitSizesPlayer2).sum();
+        this.undoSize = 0;
+        ++this.version;
+
+        this.startPlayer = this.activePlayer;
+        this.initialPits = this.turn == 0 ? sharedPits(pits) : null;
+        this.moves = this.turn == 0 ? new byte[16] : null;
     }
 
     /**
@@ -245,14 +348,9 @@ public class Board extends Entity {
         init(arr, 0, arr, 0);
     }
 
-    private List<RegularPit> getRegularPits(final Player player) {
-        final var pits = new ArrayList<RegularPit>();
-        Pit currentPit = this.firstPit.get(player);
-        while (currentPit instanceof RegularPit) {
-            pits.add((RegularPit) currentPit);
-            currentPit = currentPit.getNextPit(player);
-        }
-        return pits;
+    private int[] getRegularPits(final Player player) {
+        final var first = firstPitIdx(player);
+        return Arrays.copyOfRange(this.pits, first, first + this.pitsNum);
     }
 
     /**
@@ -260,8 +358,9 @@ public class Board extends Entity {
      */
     public Map<Player, int[]> getRegularPits() {
         final var result = new HashMap<Player, int[]>();
-        for (var player : this.firstPit.keySet()) {
-            result.put(player, getRegularPits(player).stream().mapToInt(p -> p.getStones()).toArray());
+        if (this.pits != null) {
+            result.put(this.player1, getRegularPits(this.player1));
+            result.put(this.player2, getRegularPits(this.player2));
         }
         return result;
     }
@@ -271,61 +370,124 @@ public class Board extends Entity {
      */
     public Map<Player, Integer> getBigPits() {
         final var result = new HashMap<Player, Integer>();
-        for (var player : this.firstPit.keySet()) {
-            result.put(player, this.bigPit.get(player).getStones());
+        if (this.pits != null) {
+            result.put(this.player1, this.pits[bigPitIdx(this.player1)]);
+            result.put(this.player2, this.pits[bigPitIdx(this.player2)]);
         }
         return result;
     }
 
     /**
-     * @param idx index of regular pit;
-     * @return pit by index; index starts with zero.
+     * @return number of regular pits of every player.
+     */
+    public int getPitsNum() {
+        return this.pitsNum;
+    }
+
+    /**
+     * @param player one of the players;
+     * @param pitNum number of regular pit;
+     * @return number of stones in regular pit of the player.
      */
-    private RegularPit getRegularPit(final int idx) {
-        return getRegularPits(getActivePlayer()).get(idx);
+    public int getRegularPitStones(final Player player, final int pitNum) {
+        if (pitNum < 0 || pitNum >= this.pitsNum) {
+            throw new IllegalArgumentException("Wrong pit number");
+        }
+        return this.pits[firstPitIdx(player) + pitNum];
+    }
+
+    /**
+     * @param player one of the players;
+     * @return number of stones in big pit of the player.
+     */
+    public int getBigPitStones(final Player player) {
+        return this.pits[bigPitIdx(player)];
+    }
+
+    private void checkTurn(final int pitNum) {
+        if (this.pits == null || this.activePlayer == null) {
+            throw new IllegalArgumentException("Game is not going");
+        }
+        if (pitNum < 0 || pitNum >= this.pitsNum) {
+            throw new IllegalArgumentException("Wrong pit number");
+        }
+        if (this.pits[firstPitIdx(this.activePlayer) + pitNum] <= 0) {
+            throw new IllegalArgumentException("Pit have no stones");
+        }
     }
 
     /**
      * Sow the stones between pits: every next pit get one stone.
      *
      * @param pitNum is a number of start pit;
-     * @return last pit that got a stone.
+     * @return index of last pit that got a stone.
      */
-    private Pit sowStones(final int pitNum) {
-        Pit currentPit = getRegularPit(pitNum);
-        var stones = ((RegularPit) currentPit).pickupStones();
-        if (stones <= 0) {
-            throw new IllegalArgumentException("Pit have no stones");
-        }
+    private int sowStones(final int pitNum) {
+        var idx = firstPitIdx(this.activePlayer) + pitNum;
+        var stones = this.pits[idx];
+        this.pits[idx] = 0;
+        addRegStones(idx, -stones);
+
+        final var skipIdx = bigPitIdx(this.activePlayer == this.player1 ? this.player2 : this.player1);
         while (stones > 0) {
-            currentPit = currentPit.getNextPit(this.activePlayer);
-            currentPit.addOneStone();
-            --stones;
+            idx = idx + 1 < this.pits.length ? idx + 1 : 0;
+            if (idx != skipIdx) {
+                this.pits[idx] += 1;
+                addRegStones(idx, 1);
+                --stones;
+            }
         }
-        return currentPit;
+        return idx;
     }
 
     private void collectPitsToBigPit(final Player player) {
-        Pit curPit = this.firstPit.get(player);
-        final var bigPit = this.bigPit.get(player);
-        while (curPit instanceof RegularPit) {
-            if (curPit.getStones() > 0) {
-                final var regPit = (RegularPit) curPit;
-                bigPit.addStones(regPit.pickupStones());
-            }
-            curPit = curPit.getNextPit(player);
+        final var first = firstPitIdx(player);
+        final var bigPitIdx = bigPitIdx(player);
+        for (var i = first; i < first + this.pitsNum; ++i) {
+            this.pits[bigPitIdx] += this.pits[i];
+            this.pits[i] = 0;
+        }
+        addRegStones(first, -(player == this.player1 ? this.regStonesPlayer1 : this.regStonesPlayer2));
+    }
+
+    private void pushUndo(final int value) {
+        if (this.undoLog == null) {
+            this.undoLog = new int[64];
+        } else if (this.undoSize == this.undoLog.length) {
+            this.undoLog = Arrays.copyOf(this.undoLog, 2 * this.undoSize);
         }
+        this.undoLog[this.undoSize++] = value;
+    }
+
+    private int popUndo() {
+        return this.undoLog[--this.undoSize];
     }
 
-    private void finishGame() {
-        collectPitsToBigPit(isEmptyPits(this.player1) ? this.player2 : this.player1);
+    private int finishGame(final boolean log) {
+        final var player = isEmptyPits(this.player1) ? this.player2 : this.player1;
+        if (log) {
+            final var first = firstPitIdx(player);
+            for (var i = first; i < first + this.pitsNum; ++i) {
+                pushUndo(this.pits[i]);
+            }
+        }
+        collectPitsToBigPit(player);
         this.activePlayer = null;
+        return UNDO_FINISH | (player == this.player1 ? 0 : UNDO_FINISH_PLAYER2);
     }
 
-    private void collectStones(final RegularPit currentPit) {
-        var bigPit = this.bigPit.get(this.activePlayer);
-        bigPit.addStones(currentPit.pickupStones());
-        bigPit.addStones(currentPit.getOppositePit().pickupStones());
+    private int collectStones(final int pitIdx, final boolean log) {
+        final var oppPitIdx = 2 * this.pitsNum - pitIdx;
+        if (log) {
+            pushUndo(pitIdx);
+            pushUndo(this.pits[oppPitIdx]);
+        }
+        this.pits[bigPitIdx(this.activePlayer)] += this.pits[pitIdx] + this.pits[oppPitIdx];
+        addRegStones(pitIdx, -this.pits[pitIdx]);
+        addRegStones(oppPitIdx, -this.pits[oppPitIdx]);
+        this.pits[pitIdx] = 0;
+        this.pits[oppPitIdx] = 0;
+        return UNDO_CAPTURE;
     }
 
     /**
@@ -334,36 +496,181 @@ public class Board extends Entity {
      * @param pitNum number of pit for next turn.
      */
     public void turn(final int pitNum) {
+        move(pitNum, false);
+    }
+
+    /**
+     * Make a turn on the game board and remember it, so it can be reverted by
+     * {@link #unmakeMove()}.
+     *
+     * @param pitNum number of pit for next turn.
+     */
+    public void makeMove(final int pitNum) {
+        move(pitNum, true);
+    }
+
+    private void move(final int pitNum, final boolean log) {
+        checkTurn(pitNum);
+
+        final var stones = this.pits[firstPitIdx(this.activePlayer) + pitNum];
+        var flags = this.activePlayer == this.player1 ? 0 : UNDO_PLAYER2;
+
+        if (this.moves != null) {
+            if (this.turn == this.moves.length) {
+                this.moves = Arrays.copyOf(this.moves, Math.max(16, 2 * this.moves.length));
+            }
+            this.moves[this.turn] = (byte) pitNum;
+        }
         ++this.turn;
+        ++this.version;
 
-        final var finalPit = sowStones(pitNum);
+        final var finalPitIdx = sowStones(pitNum);
 
         if (isGameOver()) {
-            finishGame();
-            return;
+            flags |= finishGame(log);
+        } else if (finalPitIdx != bigPitIdx(this.activePlayer)) { // Otherwise repeat the action.
+            if (isRegularPit(finalPitIdx, this.activePlayer) && this.pits[finalPitIdx] == 1) {
+                flags |= collectStones(finalPitIdx, log);
+            }
+
+            if (isGameOver()) {
+                flags |= finishGame(log);
+            } else {
+                nextPlayer();
+            }
         }
 
-        if (finalPit instanceof BigPit) {
-            return; // Repeat the action.
+        if (log) {
+            pushUndo(stones);
+            pushUndo(pitNum);
+            pushUndo(flags);
         }
+    }
 
-        if (finalPit instanceof RegularPit && getRegularPits(getActivePlayer()).contains(finalPit)
-                && finalPit.getStones() == 1) {
-            collectStones((RegularPit) finalPit);
+    /**
+     * Revert last turn made by {@link #makeMove(int)}.
+     */
+    public void unmakeMove() {
+        if (this.undoSize == 0) {
+            throw new IllegalStateException("No moves to unmake");
+        }
+        final var flags = popUndo();
+        final var pitNum = popUndo();
+        final var stones = popUndo();
+        final var mover = (flags & UNDO_PLAYER2) == 0 ? this.player1 : this.player2;
+
+        if ((flags & UNDO_FINISH) != 0) {
+            final var player = (flags & UNDO_FINISH_PLAYER2) == 0 ? this.player1 : this.player2;
+            final var first = firstPitIdx(player);
+            final var bigPitIdx = bigPitIdx(player);
+            for (var i = first + this.pitsNum - 1; i >= first; --i) {
+                final var collected = popUndo();
+                this.pits[i] = collected;
+                this.pits[bigPitIdx] -= collected;
+                addRegStones(i, collected);
+            }
+        }
 
-            if (isGameOver()) {
-                finishGame();
-                return;
+        if ((flags & UNDO_CAPTURE) != 0) {
+            final var oppStones = popUndo();
+            final var pitIdx = popUndo();
+            final var oppPitIdx = 2 * this.pitsNum - pitIdx;
+            this.pits[pitIdx] = 1;
+            this.pits[oppPitIdx] = oppStones;
+            this.pits[bigPitIdx(mover)] -= 1 + oppStones;
+            addRegStones(pitIdx, 1);
+            addRegStones(oppPitIdx, oppStones);
+        }
+
+        final var startIdx = firstPitIdx(mover) + pitNum;
+        final var skipIdx = bigPitIdx(mover == this.player1 ? this.player2 : this.player1);
+        var idx = startIdx;
+        var rest = stones;
+        while (rest > 0) {
+            idx = idx + 1 < this.pits.length ? idx + 1 : 0;
+            if (idx != skipIdx) {
+                this.pits[idx] -= 1;
+                addRegStones(idx, -1);
+                --rest;
             }
         }
+        this.pits[startIdx] = stones;
+        addRegStones(startIdx, stones);
 
-        nextPlayer();
+        this.activePlayer = mover;
+        --this.turn;
+        ++this.version;
+    }
+
+    /**
+     * @return <code>true</code> if pit numbers of all turns are known.
+     */
+    public boolean hasHistory() {
+        return this.moves != null;
+    }
+
+    /**
+     * @param turnNum number of the turn from <code>0</code>;
+     * @return pit number of the turn.
+     */
+    public int getMove(final int turnNum) {
+        if (this.moves == null) {
+            throw new IllegalStateException("History is unknown");
+        }
+        if (turnNum < 0 || turnNum >= this.turn) {
+            throw new IllegalArgumentException("Wrong turn number");
+        }
+        return this.moves[turnNum];
+    }
+
+    /**
+     * Rebuild previous position by replaying turns from the initial position.
+     *
+     * @param turnNum number of turns from the start of the game;
+     * @return new board with the same ID after provided number of turns.
+     */
+    public Board getPosition(final int turnNum) {
+        if (this.moves == null) {
+            throw new IllegalStateException("History is unknown");
+        }
+        if (turnNum < 0 || turnNum > this.turn) {
+            throw new IllegalArgumentException("Wrong turn number");
+        }
+        final var board = new Board(getId(), this.player1, this.player2, this.startPlayer);
+        board.init(Arrays.copyOfRange(this.initialPits, 0, this.pitsNum), this.initialPits[this.pitsNum],
+                Arrays.copyOfRange(this.initialPits, this.pitsNum + 1, 2 * this.pitsNum + 1),
+                this.initialPits[2 * this.pitsNum + 1]);
+        for (var i = 0; i < turnNum; ++i) {
+            board.turn(this.moves[i]);
+        }
+        return board;
+    }
+
+    /**
+     * Part of the history, so it is not a getter like properties of the board.
+     *
+     * @return player who made first turn or <code>null</code> if history is
+     *         unknown.
+     */
+    public Player startPlayer() {
+        return this.startPlayer;
+    }
+
+    /**
+     * Part of the history, so it is not a getter like properties of the board.
+     *
+     * @return all pits of initial position in internal order or
+     *         <code>null</code> if history is unknown; array is shared between
+     *         boards and should not be changed.
+     */
+    public int[] initialPits() {
+        return this.initialPits;
     }
 
     private String playerString(final Player player, final boolean bigPitRight) {
         final var sb = new StringBuilder();
 
-        final var bp = bigPit.get(player);
+        final var bp = this.pits != null ? String.format("{ %2d }", this.pits[bigPitIdx(player)]) : null;
         if (bp != null) {
             if (bigPitRight) {
                 sb.append("      ");
@@ -372,16 +679,13 @@ public class Board extends Entity {
             }
         }
 
-        Pit curPit = this.firstPit.get(player);
-        final List<RegularPit> pits = new ArrayList<>();
-        while (curPit instanceof RegularPit) {
-            pits.add((RegularPit) curPit);
-            curPit = curPit.getNextPit(player);
-        }
-        if (!bigPitRight) {
-            Collections.reverse(pits);
+        if (this.pits != null) {
+            final var first = firstPitIdx(player);
+            for (var i = 0; i < this.pitsNum; ++i) {
+                final var idx = bigPitRight ? first + i : first + this.pitsNum - 1 - i;
+                sb.append(String.format("[ %2d ]", this.pits[idx]));
+            }
         }
-        pits.forEach(p -> sb.append(p));
 
         if (bp != null) {
             if (bigPitRight) {
@@ -0,0 +1,250 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.kalah.game;
+
+import java.nio.ByteBuffer;
+import java.util.function.Function;
+
+import pro.zavodnikov.kalah.player.Player;
+
+/**
+ * Compact binary format of {@link Board}. Format of version {@value #VERSION}:
+ *
+ * <pre>
+ * byte   version
+ * string ID of the board
+ * string name of first player
+ * string name of second player
+ * byte   active player: 0 if game is over, 1 or 2
+ * int    turn number
+ * byte   number of regular pits of every player
+ * short  stones of every pit: regular and big pits of first player, then of second player
+ * byte   1 if history is known, otherwise 0 and nothing more:
+ * byte   player who made first turn: 1 or 2
+ * short  stones of every pit of initial position
+ * byte   pit number of every turn
+ * </pre>
+ *
+ * Version 1 did not have history; it can still be read.
+ *
+ * Strings are written as <code>short</code> length and modified UTF-8 (like
+ * {@link java.io.DataOutput#writeUTF(String)}). Board is written directly into
+ * provided buffer without intermediate objects, so one buffer can be reused for
+ * many boards.
+ *
+ * @author Dmitry Zavodnikov
+ */
+public final class BoardCodec {
+
+    /**
+     * Current version of the format.
+     */
+    public static final byte VERSION = 2;
+
+    private static final byte VERSION_NO_HISTORY = 1;
+
+    private static final byte NO_PLAYER = 0;
+    private static final byte PLAYER1 = 1;
+    private static final byte PLAYER2 = 2;
+
+    private BoardCodec() {
+    }
+
+    private static void putString(final ByteBuffer out, final String value) {
+        final var start = out.position();
+        out.position(start + Short.BYTES);
+        for (var i = 0; i < value.length(); ++i) {
+            final var c = value.charAt(i);
+            if (c != 0 && c < 0x80) {
+                out.put((byte) c);
+            } else if (c < 0x800) {
+                out.put((byte) (0xC0 | (c >> 6)));
+                out.put((byte) (0x80 | (c & 0x3F)));
+            } else {
+                out.put((byte) (0xE0 | (c >> 12)));
+                out.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                out.put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+        final var length = out.position() - start - Short.BYTES;
+        if (length > 0xFFFF) {
+            throw new IllegalArgumentException("String is too long");
+        }
+        out.putShort(start, (short) length);
+    }
+
+    private static void checkStones(final int stones) {
+        if (stones < 0 || stones > Short.MAX_VALUE) {
+            throw new IllegalArgumentException(String.format("Number of stones %d can not be written", stones));
+        }
+    }
+
+    private static void checkRanges(final Board board) {
+        if (board.getPitsNum() > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException(String.format("Number of pits %d can not be written",
+                    board.getPitsNum()));
+        }
+        for (var player : new Player[] { board.getPlayer1(), board.getPlayer2() }) {
+            for (var i = 0; i < board.getPitsNum(); ++i) {
+                checkStones(board.getRegularPitStones(player, i));
+            }
+            checkStones(board.getBigPitStones(player));
+        }
+        if (board.hasHistory()) {
+            for (var stones : board.initialPits()) {
+                checkStones(stones);
+            }
+        }
+    }
+
+    private static String getString(final ByteBuffer in) {
+        final var end = (in.getShort() & 0xFFFF) + in.position();
+        final var chars = new char[end - in.position()];
+        var length = 0;
+        while (in.position() < end) {
+            final var b = in.get() & 0xFF;
+            if (b < 0x80) {
+                chars[length++] = (char) b;
+            } else if ((b & 0xE0) == 0xC0) {
+                chars[length++] = (char) (((b & 0x1F) << 6) | (in.get() & 0x3F));
+            } else if ((b & 0xF0) == 0xE0) {
+                chars[length++] = (char) (((b & 0x0F) << 12) | ((in.get() & 0x3F) << 6) | (in.get() & 0x3F));
+            } else {
+                throw new IllegalArgumentException("Wrong string");
+            }
+        }
+        return new String(chars, 0, length);
+    }
+
+    /**
+     * Write the board from the current position of the buffer.
+     *
+     * @param out   buffer for the board;
+     * @param board game board.
+     * @throws IllegalArgumentException         if number of pits or stones does
+     *                                          not fit into the format; nothing
+     *                                          is written in this case.
+     * @throws java.nio.BufferOverflowException if there is not enough space in
+     *                                          the buffer; position of the buffer
+     *                                          is undefined in this case.
+     */
+    public static void write(final ByteBuffer out, final Board board) {
+        checkRanges(board);
+
+        final var player1 = board.getPlayer1();
+        final var player2 = board.getPlayer2();
+        final var activePlayer = board.getActivePlayer();
+
+        out.put(VERSION);
+        putString(out, board.getId());
+        putString(out, player1.getName());
+        putString(out, player2.getName());
+        out.put(activePlayer == null ? NO_PLAYER : activePlayer == player1 ? PLAYER1 : PLAYER2);
+        out.putInt(board.getTurnNum());
+        out.put((byte) board.getPitsNum());
+        for (var i = 0; i < board.getPitsNum(); ++i) {
+            out.putShort((short) board.getRegularPitStones(player1, i));
+        }
+        out.putShort((short) board.getBigPitStones(player1));
+        for (var i = 0; i < board.getPitsNum(); ++i) {
+            out.putShort((short) board.getRegularPitStones(player2, i));
+        }
+        out.putShort((short) board.getBigPitStones(player2));
+
+        if (!board.hasHistory()) {
+            out.put((byte) 0);
+            return;
+        }
+        out.put((byte) 1);
+        out.put(board.startPlayer() == player1 ? PLAYER1 : PLAYER2);
+        for (var stones : board.initialPits()) {
+            out.putShort((short) stones);
+        }
+        for (var i = 0; i < board.getTurnNum(); ++i) {
+            out.put((byte) board.getMove(i));
+        }
+    }
+
+    /**
+     * Read the board from the current position of the buffer.
+     *
+     * @param in      buffer with the board;
+     * @param players finds player by name;
+     * @return game board.
+     * @throws IllegalArgumentException if version is not supported or data is
+     *                                  wrong.
+     */
+    public static Board read(final ByteBuffer in, final Function<String, Player> players) {
+        final var version = in.get();
+        if (version != VERSION && version != VERSION_NO_HISTORY) {
+            throw new IllegalArgumentException(String.format("Version %d is not supported", version));
+        }
+        final var id = getString(in);
+        final var player1 = players.apply(getString(in));
+        final var player2 = players.apply(getString(in));
+        final var active = in.get();
+        final var turnNum = in.getInt();
+        final var pitsNum = in.get();
+        if (pitsNum <= 0) {
+            throw new IllegalArgumentException("Wrong number of pits");
+        }
+        final var regPits1 = new int[pitsNum];
+        for (var i = 0; i < pitsNum; ++i) {
+            regPits1[i] = in.getShort();
+        }
+        final int bigPit1 = in.getShort();
+        final var regPits2 = new int[pitsNum];
+        for (var i = 0; i < pitsNum; ++i) {
+            regPits2[i] = in.getShort();
+        }
+        final int bigPit2 = in.getShort();
+
+        final var activePlayer = active == NO_PLAYER ? null : player(active, player1, player2);
+        final var board = Board.restore(id, player1, player2, activePlayer, turnNum, regPits1, bigPit1, regPits2,
+                bigPit2);
+
+        if (version != VERSION_NO_HISTORY && in.get() != 0) {
+            final var startPlayer = player(in.get(), player1, player2);
+            final var initialPits = new int[2 * pitsNum + 2];
+            for (var i = 0; i < initialPits.length; ++i) {
+                initialPits[i] = in.getShort();
+            }
+            final var moves = new byte[turnNum];
+            in.get(moves);
+            board.setHistory(startPlayer, initialPits, moves);
+        }
+        return board;
+    }
+
+    private static Player player(final byte value, final Player player1, final Player player2) {
+        switch (value) {
+        case PLAYER1:
+            return player1;
+        case PLAYER2:
+            return player2;
+        default:
+            throw new IllegalArgumentException("Wrong player");
+        }
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.kalah.game.book;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import pro.zavodnikov.kalah.game.Board;
+import pro.zavodnikov.kalah.game.packed.PackedBoard;
+
+/**
+ * Opening book: best turns of first turns of standard game. File is created by
+ * {@link OpeningBookGenerator} and contains sorted positions packed by
+ * {@link PackedBoard#STANDARD} (from the view of active player) and turns for
+ * them. Turns are searched by binary search.
+ * <p>
+ * Book is loaded from the file on the first lookup and can be shared by all
+ * players and threads.
+ *
+ * @author Dmitry Zavodnikov
+ */
+public final class OpeningBook {
+
+    /**
+     * Returned if position is not in the book.
+     */
+    public static final int NOT_FOUND = -1;
+
+    static final int MAGIC = 0x4B4F4231; // "KOB1"
+
+    /**
+     * Positions and turns loaded from the file.
+     */
+    private static class Entries {
+
+        private final long[] keys;
+        private final byte[] pitNums;
+
+        Entries(final long[] keys, final byte[] pitNums) {
+            this.keys = keys;
+            this.pitNums = pitNums;
+        }
+    }
+
+    private final Path path;
+    private volatile Entries entries;
+
+    private OpeningBook(final Path path, final Entries entries) {
+        this.path = path;
+        this.entries = entries;
+    }
+
+    /**
+     * @param keys    sorted packed positions;
+     * @param pitNums turns for the positions.
+     */
+    OpeningBook(final long[] keys, final byte[] pitNums) {
+        this(null, new Entries(keys, pitNums));
+    }
+
+    /**
+     * Open book file. File is read on the first lookup.
+     *
+     * @param path of the file;
+     * @return opening book.
+     * @throws IOException if file can not be read.
+     */
+    public static OpeningBook open(final Path path) throws IOException {
+        if (!Files.isReadable(path)) {
+            throw new IOException(String.format("File '%s' can not be read", path));
+        }
+        return new OpeningBook(path, null);
+    }
+
+    private static Entries read(final Path path) throws IOException {
+        try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException(String.format("File '%s' is not an opening book", path));
+            }
+            final var size = in.readInt();
+            final var keys = new long[size];
+            for (var i = 0; i < size; ++i) {
+                keys[i] = in.readLong();
+            }
+            final var pitNums = new byte[size];
+            in.readFully(pitNums);
+            return new Entries(keys, pitNums);
+        }
+    }
+
+    private Entries entries() {
+        var result = this.entries;
+        if (result == null) {
+            synchronized (this) {
+                result = this.entries;
+                if (result == null) {
+                    try {
+                        result = read(this.path);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    this.entries = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return number of positions in the book.
+     */
+    public int size() {
+        return entries().keys.length;
+    }
+
+    /**
+     * @param pits position packed by {@link PackedBoard#STANDARD};
+     * @return turn for the position or {@link #NOT_FOUND}.
+     */
+    public int lookup(final long pits) {
+        final var result = entries();
+        final var idx = Arrays.binarySearch(result.keys, pits);
+        return idx >= 0 ? result.pitNums[idx] : NOT_FOUND;
+    }
+
+    /**
+     * @param board game board;
+     * @return turn for active player or {@link #NOT_FOUND}.
+     */
+    public int lookup(final Board board) {
+        if (board.getPitsNum() != PackedBoard.STANDARD.getPitsNum() || !PackedBoard.STANDARD.fits(board)) {
+            return NOT_FOUND;
+        }
+        return lookup(PackedBoard.STANDARD.fromBoard(board));
+    }
+
+    /**
+     * Write the book to the file.
+     *
+     * @param path of the file.
+     * @throws IOException if file can not be written.
+     */
+    public void write(final Path path) throws IOException {
+        final var result = entries();
+        try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(result.keys.length);
+            for (var key : result.keys) {
+                out.writeLong(key);
+            }
+            out.write(result.pitNums);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.kalah.game.book;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import pro.zavodnikov.kalah.game.Board;
+import pro.zavodnikov.kalah.game.packed.PackedBoard;
+import pro.zavodnikov.kalah.player.AlphaBetaPlayer;
+import pro.zavodnikov.kalah.player.Player;
+import pro.zavodnikov.kalah.player.TranspositionTable;
+
+/**
+ * Generator of {@link OpeningBook}. Book player can make first or second turn
+ * of the game: for positions where it is active the best turn is searched by
+ * {@link AlphaBetaPlayer} with long time limit, for positions of the opponent
+ * all turns are checked.
+ * <p>
+ * Run it with:
+ *
+ * <pre>
+ * $ java -cp target/classes pro.zavodnikov.kalah.game.book.OpeningBookGenerator kalah.book 8 500
+ * </pre>
+ *
+ * @author Dmitry Zavodnikov
+ */
+public class OpeningBookGenerator {
+
+    private final int plies;
+    private final AlphaBetaPlayer player1;
+    private final AlphaBetaPlayer player2;
+
+    private final Map<Long, Integer> pitNums = new TreeMap<>();
+    private final Map<Long, Integer> visited = new HashMap<>();
+
+    /**
+     * @param plies      number of turns of the game in the book;
+     * @param moveTimeMs time limit of search of one turn in milliseconds.
+     */
+    public OpeningBookGenerator(final int plies, final long moveTimeMs) {
+        if (plies <= 0) {
+            throw new IllegalArgumentException("Number of turns should be positive");
+        }
+        this.plies = plies;
+
+        final var table = new TranspositionTable(64L * 1024 * 1024);
+        this.player1 = new AlphaBetaPlayer("Player 1", moveTimeMs, table);
+        this.player2 = new AlphaBetaPlayer("Player 2", moveTimeMs, table);
+    }
+
+    private void visit(final Board board, final int ply, final Player bookPlayer) {
+        if (ply >= this.plies || board.isGameOver()) {
+            return;
+        }
+        final var key = PackedBoard.STANDARD.fromBoard(board);
+        final var bookTurn = board.getActivePlayer() == bookPlayer;
+        final var visitedKey = key << 1 | (bookTurn ? 1 : 0);
+        final var visitedPly = this.visited.get(visitedKey);
+        if (visitedPly != null && visitedPly <= ply) {
+            return; // Was checked with the same or more turns after it.
+        }
+        this.visited.put(visitedKey, ply);
+
+        if (bookTurn) {
+            var pitNum = this.pitNums.get(key);
+            if (pitNum == null) {
+                pitNum = this.player1.getNextTurnPitNum(board);
+                this.pitNums.put(key, pitNum);
+            }
+            board.makeMove(pitNum);
+            visit(board, ply + 1, bookPlayer);
+            board.unmakeMove();
+        } else {
+            for (var pitNum = 0; pitNum < board.getPitsNum(); ++pitNum) {
+                if (board.getRegularPitStones(board.getActivePlayer(), pitNum) > 0) {
+                    board.makeMove(pitNum);
+                    visit(board, ply + 1, bookPlayer);
+                    board.unmakeMove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Search turns of all positions of the book.
+     *
+     * @return opening book.
+     */
+    public OpeningBook generate() {
+        for (var bookPlayer : new Player[] { this.player1, this.player2 }) {
+            final var board = new Board(this.player1, this.player2, this.player1);
+            board.init();
+            visit(board, 0, bookPlayer);
+        }
+
+        final var keys = new long[this.pitNums.size()];
+        final var turns = new byte[this.pitNums.size()];
+        var i = 0;
+        for (var entry : this.pitNums.entrySet()) {
+            keys[i] = entry.getKey();
+            turns[i] = entry.getValue().byteValue();
+            ++i;
+        }
+        return new OpeningBook(keys, turns);
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: OpeningBookGenerator <file> [turns number] [turn time ms]");
+            System.exit(1);
+        }
+        final var path = Paths.get(args[0]);
+        final var plies = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        final var moveTimeMs = args.length > 2 ? Long.parseLong(args[2]) : 500;
+
+        final var start = System.currentTimeMillis();
+        final var book = new OpeningBookGenerator(plies, moveTimeMs).generate();
+        book.write(path);
+        System.out.println(String.format("%,d positions are written to '%s' in %,d ms", book.size(), path,
+                System.currentTimeMillis() - start));
+    }
+}
@@ -0,0 +1,317 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.kalah.game.packed;
+
+import pro.zavodnikov.kalah.game.Board;
+import pro.zavodnikov.kalah.player.Player;
+
+/**
+ * Kalah position packed into single <code>long</code> for search algorithms.
+ * <p>
+ * Position contains only regular pits and is always stored from the view of
+ * player who makes the next turn: fields <code>0..pitsNum-1</code> are pits of
+ * that player, fields <code>pitsNum..2*pitsNum-1</code> are pits of the
+ * opponent (in the opponent order). Big pits are not stored: every stone that
+ * leaves regular pits during a turn goes to big pit of the player who made the
+ * turn, so gain of the turn is a difference of {@link #seeds(long)} before and
+ * after it.
+ * <p>
+ * Every pit uses {@link #getBits()} bits. If some pit would overflow during a
+ * turn, {@link #OVERFLOW} is returned and the caller should continue with
+ * {@link Board}.
+ *
+ * @author Dmitry Zavodnikov
+ */
+public final class PackedBoard {
+
+    /**
+     * Six pits for every player, up to 31 stones in a pit.
+     */
+    public static final PackedBoard STANDARD = new PackedBoard(6, 5);
+
+    /**
+     * Returned instead of position if some pit overflows.
+     */
+    public static final long OVERFLOW = -1L;
+
+    /**
+     * Flag of the turn result: the same player makes next turn, so position was
+     * not turned to the opponent view.
+     */
+    public static final long EXTRA_TURN = 1L << 60;
+
+    private static final long POSITION_MASK = EXTRA_TURN - 1;
+
+    private final int pitsNum;
+    private final int bits;
+    private final long pitMask;
+    private final int maxStones;
+    private final int rowShift;
+    private final long rowMask;
+
+    /**
+     * Create packed layout.
+     *
+     * @param pitsNum number of regular pits of every player;
+     * @param bits    number of bits for every pit.
+     */
+    public PackedBoard(final int pitsNum, final int bits) {
+        if (pitsNum <= 0 || bits <= 0) {
+            throw new IllegalArgumentException("Number of pits and bits should be positive");
+        }
+        if (2 * pitsNum * bits > 60) {
+            throw new IllegalArgumentException("Position does not fit into 60 bits");
+        }
+        this.pitsNum = pitsNum;
+        this.bits = bits;
+        this.pitMask = (1L << bits) - 1;
+        this.maxStones = (int) this.pitMask;
+        this.rowShift = pitsNum * bits;
+        this.rowMask = (1L << this.rowShift) - 1;
+    }
+
+    /**
+     * @return number of regular pits of every player.
+     */
+    public int getPitsNum() {
+        return this.pitsNum;
+    }
+
+    /**
+     * @return number of bits for every pit.
+     */
+    public int getBits() {
+        return this.bits;
+    }
+
+    /**
+     * @return maximal number of stones in one pit.
+     */
+    public int getMaxStones() {
+        return this.maxStones;
+    }
+
+    /**
+     * @param pits packed position;
+     * @param idx  index of the field: pits of active player first, then pits of
+     *             the opponent;
+     * @return number of stones in the pit.
+     */
+    public int stones(final long pits, final int idx) {
+        return (int) ((pits >>> (idx * this.bits)) & this.pitMask);
+    }
+
+    /**
+     * @param pits packed position;
+     * @return number of stones in all regular pits.
+     */
+    public int seeds(final long pits) {
+        return rowSeeds(pits, true) + rowSeeds(pits, false);
+    }
+
+    /**
+     * @param pits  packed position;
+     * @param mover <code>true</code> for pits of active player,
+     *              <code>false</code> for pits of the opponent;
+     * @return number of stones in regular pits of one player.
+     */
+    public int rowSeeds(final long pits, final boolean mover) {
+        final var first = mover ? 0 : this.pitsNum;
+        var sum = 0;
+        for (var i = first; i < first + this.pitsNum; ++i) {
+            sum += stones(pits, i);
+        }
+        return sum;
+    }
+
+    /**
+     * @param pits packed position;
+     * @return <code>true</code> if one of players have no stones.
+     */
+    public boolean isOver(final long pits) {
+        return (pits & this.rowMask) == 0 || ((pits >>> this.rowShift) & this.rowMask) == 0;
+    }
+
+    /**
+     * @param result of {@link #move(long, int)};
+     * @return <code>true</code> if the same player makes the next turn.
+     */
+    public static boolean isExtraTurn(final long result) {
+        return (result & EXTRA_TURN) != 0;
+    }
+
+    /**
+     * @param result of {@link #move(long, int)};
+     * @return packed position without flags.
+     */
+    public static long position(final long result) {
+        return result & POSITION_MASK;
+    }
+
+    /**
+     * @param pits packed position;
+     * @return the same position from the view of another player.
+     */
+    public long flip(final long pits) {
+        return ((pits & this.rowMask) << this.rowShift) | ((pits >>> this.rowShift) & this.rowMask);
+    }
+
+    /**
+     * Make a turn. Does not change provided position and does not allocate
+     * memory.
+     *
+     * @param pits   packed position;
+     * @param pitNum number of pit of active player;
+     * @return new position with {@link #EXTRA_TURN} flag if the same player makes
+     *         next turn (otherwise position from the view of the opponent) or
+     *         {@link #OVERFLOW} if some pit overflows.
+     */
+    public long move(final long pits, final int pitNum) {
+        if (pitNum < 0 || pitNum >= this.pitsNum) {
+            throw new IllegalArgumentException("Wrong pit number");
+        }
+        final var stones = stones(pits, pitNum);
+        if (stones <= 0) {
+            throw new IllegalArgumentException("Pit have no stones");
+        }
+        var result = pits & ~(this.pitMask << (pitNum * this.bits));
+
+        // Slots of sowing: own pits, own big pit (slot pitsNum), opponent pits.
+        final var slots = 2 * this.pitsNum + 1;
+        final var laps = stones / slots;
+        final var rest = stones % slots;
+        for (var i = 0; i < 2 * this.pitsNum; ++i) {
+            final var slot = i < this.pitsNum ? i : i + 1;
+            final var dist = (slot - pitNum + slots) % slots;
+            final var add = laps + (dist != 0 && dist <= rest ? 1 : 0);
+            if (add > 0) {
+                if (stones(result, i) + add > this.maxStones) {
+                    return OVERFLOW;
+                }
+                result += (long) add << (i * this.bits);
+            }
+        }
+
+        final var lastSlot = (pitNum + stones) % slots;
+        if (lastSlot == this.pitsNum) {
+            return result | EXTRA_TURN;
+        }
+        if (lastSlot < this.pitsNum && stones(result, lastSlot) == 1) {
+            final var oppIdx = 2 * this.pitsNum - 1 - lastSlot;
+            result &= ~(this.pitMask << (lastSlot * this.bits));
+            result &= ~(this.pitMask << (oppIdx * this.bits));
+        }
+        return flip(result);
+    }
+
+    /**
+     * @param moverPits    regular pits of active player;
+     * @param opponentPits regular pits of the opponent;
+     * @return packed position.
+     */
+    public long pack(final int[] moverPits, final int[] opponentPits) {
+        if (moverPits.length != this.pitsNum || opponentPits.length != this.pitsNum) {
+            throw new IllegalArgumentException("Wrong number of pits");
+        }
+        var pits = 0L;
+        for (var i = 0; i < this.pitsNum; ++i) {
+            if (moverPits[i] < 0 || moverPits[i] > this.maxStones || opponentPits[i] < 0
+                    || opponentPits[i] > this.maxStones) {
+                throw new IllegalArgumentException("Number of stones does not fit into pit");
+            }
+            pits |= (long) moverPits[i] << (i * this.bits);
+            pits |= (long) opponentPits[i] << ((this.pitsNum + i) * this.bits);
+        }
+        return pits;
+    }
+
+    /**
+     * @param pits         packed position;
+     * @param moverPits    array for regular pits of active player;
+     * @param opponentPits array for regular pits of the opponent.
+     */
+    public void unpack(final long pits, final int[] moverPits, final int[] opponentPits) {
+        for (var i = 0; i < this.pitsNum; ++i) {
+            moverPits[i] = stones(pits, i);
+            opponentPits[i] = stones(pits, this.pitsNum + i);
+        }
+    }
+
+    private static Player opponent(final Board board) {
+        return board.getPlayers().stream().filter(p -> p != board.getActivePlayer()).findFirst().get();
+    }
+
+    /**
+     * @param board game board;
+     * @return <code>true</code> if position of the board can be packed.
+     */
+    public boolean fits(final Board board) {
+        if (board.getActivePlayer() == null) {
+            return false;
+        }
+        final var regPits = board.getRegularPits();
+        for (var pits : regPits.values()) {
+            if (pits.length != this.pitsNum) {
+                return false;
+            }
+            for (var p : pits) {
+                if (p > this.maxStones) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param board game board with active player;
+     * @return packed position of the board from the view of active player.
+     */
+    public long fromBoard(final Board board) {
+        if (board.getActivePlayer() == null) {
+            throw new IllegalArgumentException("Game is over");
+        }
+        final var regPits = board.getRegularPits();
+        return pack(regPits.get(board.getActivePlayer()), regPits.get(opponent(board)));
+    }
+
+    /**
+     * @param pits           packed position;
+     * @param mover          player who makes next turn;
+     * @param opponent       another player;
+     * @param moverBigPit    number of stones in big pit of active player;
+     * @param opponentBigPit number of stones in big pit of the opponent;
+     * @return new game board; <code>mover</code> is the first player.
+     */
+    public Board toBoard(final long pits, final Player mover, final Player opponent, final int moverBigPit,
+            final int opponentBigPit) {
+        final var moverPits = new int[this.pitsNum];
+        final var opponentPits = new int[this.pitsNum];
+        unpack(position(pits), moverPits, opponentPits);
+
+        final var board = new Board(mover, opponent, mover);
+        board.init(moverPits, moverBigPit, opponentPits, opponentBigPit);
+        return board;
+    }
+}
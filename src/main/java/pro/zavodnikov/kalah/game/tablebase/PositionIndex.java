@@ -0,0 +1,94 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.kalah.game.tablebase;
+
+/**
+ * Dense numbering of positions with up to <code>maxSeeds</code> stones in
+ * regular pits. Positions are ordered by number of stones; positions with the
+ * same number of stones are ranked as combinations ("stars and bars"), so every
+ * index in <code>[0, size())</code> is used.
+ *
+ * @author Dmitry Zavodnikov
+ */
+final class PositionIndex {
+
+    private final int cells;
+    private final int maxSeeds;
+    private final long[][] binomial;
+
+    /**
+     * @param pitsNum  number of regular pits of every player;
+     * @param maxSeeds maximal number of stones in all regular pits.
+     */
+    PositionIndex(final int pitsNum, final int maxSeeds) {
+        if (pitsNum <= 0 || maxSeeds < 0) {
+            throw new IllegalArgumentException("Wrong number of pits or seeds");
+        }
+        this.cells = 2 * pitsNum;
+        this.maxSeeds = maxSeeds;
+
+        final var n = maxSeeds + this.cells;
+        this.binomial = new long[n + 1][this.cells + 1];
+        for (var i = 0; i <= n; ++i) {
+            this.binomial[i][0] = 1;
+            for (var k = 1; k <= Math.min(i, this.cells); ++k) {
+                this.binomial[i][k] = this.binomial[i - 1][k - 1] + (k <= i - 1 ? this.binomial[i - 1][k] : 0);
+            }
+        }
+    }
+
+    int getMaxSeeds() {
+        return this.maxSeeds;
+    }
+
+    private long binomial(final int n, final int k) {
+        return k > n ? 0 : this.binomial[n][k];
+    }
+
+    /**
+     * @param seeds number of stones in regular pits;
+     * @return index of the first position with this number of stones.
+     */
+    long offset(final int seeds) {
+        return binomial(seeds + this.cells - 1, this.cells);
+    }
+
+    /**
+     * @return number of all positions.
+     */
+    long size() {
+        return offset(this.maxSeeds + 1);
+    }
+
+    /**
+     * Rank of the position is a sum of steps for all cells but the last one.
+     *
+     * @param cell   number of the cell;
+     * @param prefix number of stones in cells <code>0..cell</code>;
+     * @return rank step of the cell.
+     */
+    long rankStep(final int cell, final int prefix) {
+        return cell < this.cells - 1 ? binomial(prefix + cell, cell + 1) : 0;
+    }
+}
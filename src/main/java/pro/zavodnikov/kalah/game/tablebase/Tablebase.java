@@ -0,0 +1,155 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.kalah.game.tablebase;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import pro.zavodnikov.kalah.game.Board;
+import pro.zavodnikov.kalah.game.packed.PackedBoard;
+import pro.zavodnikov.kalah.player.Player;
+
+/**
+ * Endgame tablebase: exact results of all positions with few stones in
+ * regular pits. File is created by {@link TablebaseGenerator} and is mapped to
+ * memory, so it is not loaded to the heap and can be shared by all threads.
+ * <p>
+ * Value of the position is a difference of stones that active player and the
+ * opponent will put to their big pits till the end of the game with the best
+ * play of both players. Stones that are already in big pits are not counted.
+ *
+ * @author Dmitry Zavodnikov
+ */
+public final class Tablebase {
+
+    /**
+     * Returned if position is not in the tablebase.
+     */
+    public static final int NOT_FOUND = Integer.MIN_VALUE;
+
+    static final int MAGIC = 0x4B544231; // "KTB1"
+    static final int HEADER_SIZE = 16;
+
+    private final int pitsNum;
+    private final PositionIndex index;
+    private final ByteBuffer values;
+
+    private Tablebase(final int pitsNum, final int maxSeeds, final ByteBuffer values) {
+        this.pitsNum = pitsNum;
+        this.index = new PositionIndex(pitsNum, maxSeeds);
+        this.values = values;
+    }
+
+    /**
+     * Map tablebase file to memory.
+     *
+     * @param path of the file;
+     * @return tablebase.
+     * @throws IOException if file can not be read or has wrong format.
+     */
+    public static Tablebase open(final Path path) throws IOException {
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final var header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+            final var pitsNum = header.getInt(4);
+            final var maxSeeds = header.getInt(8);
+            if (header.getInt(0) != MAGIC || pitsNum <= 0 || maxSeeds < 0) {
+                throw new IOException(String.format("File '%s' is not a tablebase", path));
+            }
+            final var size = new PositionIndex(pitsNum, maxSeeds).size();
+            if (channel.size() != HEADER_SIZE + size) {
+                throw new IOException(String.format("Tablebase '%s' has wrong size", path));
+            }
+            // Mapping is valid after the channel is closed.
+            return new Tablebase(pitsNum, maxSeeds, channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE, size));
+        }
+    }
+
+    /**
+     * @return number of regular pits of every player.
+     */
+    public int getPitsNum() {
+        return this.pitsNum;
+    }
+
+    /**
+     * @return maximal number of stones in regular pits of positions in the
+     *         tablebase.
+     */
+    public int getMaxSeeds() {
+        return this.index.getMaxSeeds();
+    }
+
+    private int value(final long rank, final int seeds) {
+        return this.values.get((int) (this.index.offset(seeds) + rank));
+    }
+
+    /**
+     * @param layout packed layout with the same number of pits;
+     * @param pits   packed position;
+     * @return value of the position for active player or {@link #NOT_FOUND}.
+     */
+    public int probe(final PackedBoard layout, final long pits) {
+        if (layout.getPitsNum() != this.pitsNum) {
+            return NOT_FOUND;
+        }
+        var rank = 0L;
+        var seeds = 0;
+        for (var i = 0; i < 2 * this.pitsNum; ++i) {
+            seeds += layout.stones(pits, i);
+            if (seeds > getMaxSeeds()) {
+                return NOT_FOUND;
+            }
+            rank += this.index.rankStep(i, seeds);
+        }
+        return value(rank, seeds);
+    }
+
+    /**
+     * Does not allocate memory.
+     *
+     * @param board    game board;
+     * @param player   active player;
+     * @param opponent another player;
+     * @return value of the position for active player or {@link #NOT_FOUND}.
+     */
+    public int probe(final Board board, final Player player, final Player opponent) {
+        if (board.getPitsNum() != this.pitsNum || board.isGameOver()) {
+            return NOT_FOUND;
+        }
+        var rank = 0L;
+        var seeds = 0;
+        for (var i = 0; i < 2 * this.pitsNum; ++i) {
+            seeds += i < this.pitsNum ? board.getRegularPitStones(player, i)
+                    : board.getRegularPitStones(opponent, i - this.pitsNum);
+            if (seeds > getMaxSeeds()) {
+                return NOT_FOUND;
+            }
+            rank += this.index.rankStep(i, seeds);
+        }
+        return value(rank, seeds);
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.kalah.game.tablebase;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+import pro.zavodnikov.kalah.game.packed.PackedBoard;
+
+/**
+ * Generator of {@link Tablebase}. Positions are solved from fewer stones to
+ * more: every turn either puts stones to big pit (so the next position is
+ * already solved) or moves stones forward in pits of active player, so
+ * positions with the same number of stones have no cycles and are solved
+ * recursively.
+ * <p>
+ * Run it with:
+ *
+ * <pre>
+ * $ java -cp target/classes pro.zavodnikov.kalah.game.tablebase.TablebaseGenerator kalah.tb 6 16
+ * </pre>
+ *
+ * @author Dmitry Zavodnikov
+ */
+public class TablebaseGenerator {
+
+    private static final byte UNKNOWN = Byte.MIN_VALUE;
+
+    private final int pitsNum;
+    private final int maxSeeds;
+    private final PackedBoard layout;
+    private final PositionIndex index;
+    private final byte[] values;
+
+    /**
+     * @param pitsNum  number of regular pits of every player;
+     * @param maxSeeds maximal number of stones in regular pits.
+     */
+    public TablebaseGenerator(final int pitsNum, final int maxSeeds) {
+        if (maxSeeds > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many seeds");
+        }
+        final var bits = 32 - Integer.numberOfLeadingZeros(Math.max(1, maxSeeds));
+        this.pitsNum = pitsNum;
+        this.maxSeeds = maxSeeds;
+        this.layout = new PackedBoard(pitsNum, bits);
+        this.index = new PositionIndex(pitsNum, maxSeeds);
+
+        final var size = this.index.size();
+        if (size > Integer.MAX_VALUE - Tablebase.HEADER_SIZE) {
+            throw new IllegalArgumentException("Tablebase is too big");
+        }
+        this.values = new byte[(int) size];
+    }
+
+    private int indexOf(final long pits) {
+        var rank = 0L;
+        var seeds = 0;
+        for (var i = 0; i < 2 * this.pitsNum; ++i) {
+            seeds += this.layout.stones(pits, i);
+            rank += this.index.rankStep(i, seeds);
+        }
+        return (int) (this.index.offset(seeds) + rank);
+    }
+
+    private int solve(final long pits) {
+        if (this.layout.isOver(pits)) {
+            return this.layout.rowSeeds(pits, true) - this.layout.rowSeeds(pits, false);
+        }
+        final var idx = indexOf(pits);
+        if (this.values[idx] != UNKNOWN) {
+            return this.values[idx];
+        }
+
+        final var seeds = this.layout.seeds(pits);
+        var best = Integer.MIN_VALUE;
+        for (var pitNum = 0; pitNum < this.pitsNum; ++pitNum) {
+            if (this.layout.stones(pits, pitNum) == 0) {
+                continue;
+            }
+            final var result = this.layout.move(pits, pitNum);
+            final var next = PackedBoard.position(result);
+            final var gain = seeds - this.layout.seeds(next);
+            final var value = PackedBoard.isExtraTurn(result) ? gain + solve(next) : gain - solve(next);
+            best = Math.max(best, value);
+        }
+        this.values[idx] = (byte) best;
+        return best;
+    }
+
+    private void solveAll(final long pits, final int cell, final int seeds) {
+        if (cell == 2 * this.pitsNum - 1) {
+            final var position = pits | ((long) seeds << (cell * this.layout.getBits()));
+            this.values[indexOf(position)] = (byte) solve(position);
+            return;
+        }
+        for (var stones = 0; stones <= seeds; ++stones) {
+            solveAll(pits | ((long) stones << (cell * this.layout.getBits())), cell + 1, seeds - stones);
+        }
+    }
+
+    /**
+     * Solve all positions.
+     */
+    public void generate() {
+        Arrays.fill(this.values, UNKNOWN);
+        for (var seeds = 0; seeds <= this.maxSeeds; ++seeds) {
+            solveAll(0L, 0, seeds);
+        }
+    }
+
+    /**
+     * Write generated tablebase to the file.
+     *
+     * @param path of the file.
+     * @throws IOException if file can not be written.
+     */
+    public void write(final Path path) throws IOException {
+        try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            out.writeInt(Tablebase.MAGIC);
+            out.writeInt(this.pitsNum);
+            out.writeInt(this.maxSeeds);
+            out.writeInt(0); // Reserved.
+            out.write(this.values);
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: TablebaseGenerator <file> [pits number] [max seeds]");
+            System.exit(1);
+        }
+        final var path = Paths.get(args[0]);
+        final var pitsNum = args.length > 1 ? Integer.parseInt(args[1]) : 6;
+        final var maxSeeds = args.length > 2 ? Integer.parseInt(args[2]) : 16;
+
+        final var start = System.currentTimeMillis();
+        final var generator = new TablebaseGenerator(pitsNum, maxSeeds);
+        generator.generate();
+        generator.write(path);
+        System.out.println(String.format("%,d positions are written to '%s' in %,d ms", generator.values.length,
+                path, System.currentTimeMillis() - start));
+    }
+}
@@ -0,0 +1,424 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.kalah.player;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import pro.zavodnikov.kalah.game.Board;
+import pro.zavodnikov.kalah.game.tablebase.Tablebase;
+
+/**
+ * Computer player that uses minimax search with alpha-beta pruning and
+ * iterative deepening. Search is limited by time: when time is over, best turn
+ * of last completed iteration is returned.
+ * <p>
+ * Position is evaluated as difference of big pits. Turns that give an extra
+ * turn and captures are searched first. Optional {@link TranspositionTable}
+ * can be shared between many players and games.
+ * <p>
+ * With transposition table and {@link ForkJoinPool} the search is parallel
+ * (Lazy SMP): helper searches of the same position run in the pool and fill
+ * shared table, main search runs in the caller thread. Number of helpers is
+ * limited by idle threads of the pool, so under load search degrades to single
+ * thread.
+ * <p>
+ * With {@link Tablebase} positions with few stones are not searched: their
+ * exact scores are taken from the tablebase.
+ *
+ * @author Dmitry Zavodnikov
+ */
+public class AlphaBetaPlayer extends AbstractPlayer implements ComputerPlayer {
+
+    public static final int MAX_DEPTH = 64;
+
+    private static final int INFINITY = Integer.MAX_VALUE / 2;
+
+    private final long moveTimeMs;
+    private final TranspositionTable table;
+    private final Tablebase tablebase;
+    private final ForkJoinPool pool;
+    private final int threads;
+
+    /**
+     * Create player that search the best turn in many threads and use endgame
+     * tablebase.
+     *
+     * @param name       of player;
+     * @param moveTimeMs time limit for one turn in milliseconds;
+     * @param table      transposition table or <code>null</code>;
+     * @param tablebase  endgame tablebase or <code>null</code>;
+     * @param pool       pool for helper searches or <code>null</code>;
+     * @param threads    maximal number of threads for one search (including
+     *                   caller thread).
+     */
+    public AlphaBetaPlayer(final String name, final long moveTimeMs, final TranspositionTable table,
+            final Tablebase tablebase, final ForkJoinPool pool, final int threads) {
+        super(name);
+
+        if (moveTimeMs <= 0) {
+            throw new IllegalArgumentException("Time for turn should be positive");
+        }
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Number of threads should be positive");
+        }
+        this.moveTimeMs = moveTimeMs;
+        this.table = table;
+        this.tablebase = tablebase;
+        this.pool = pool;
+        this.threads = threads;
+    }
+
+    /**
+     * Create player that search the best turn in many threads.
+     *
+     * @param name       of player;
+     * @param moveTimeMs time limit for one turn in milliseconds;
+     * @param table      transposition table or <code>null</code>;
+     * @param pool       pool for helper searches or <code>null</code>;
+     * @param threads    maximal number of threads for one search (including
+     *                   caller thread).
+     */
+    public AlphaBetaPlayer(final String name, final long moveTimeMs, final TranspositionTable table,
+            final ForkJoinPool pool, final int threads) {
+        this(name, moveTimeMs, table, null, pool, threads);
+    }
+
+    /**
+     * Create player that search the best turn in one thread.
+     *
+     * @param name       of player;
+     * @param moveTimeMs time limit for one turn in milliseconds;
+     * @param table      transposition table or <code>null</code>.
+     */
+    public AlphaBetaPlayer(final String name, final long moveTimeMs, final TranspositionTable table) {
+        this(name, moveTimeMs, table, null, 1);
+    }
+
+    /**
+     * Create player that search the best turn without transposition table.
+     *
+     * @param name       of player;
+     * @param moveTimeMs time limit for one turn in milliseconds.
+     */
+    public AlphaBetaPlayer(final String name, final long moveTimeMs) {
+        this(name, moveTimeMs, null);
+    }
+
+    /**
+     * @return time limit for one turn in milliseconds.
+     */
+    public long getMoveTimeMs() {
+        return this.moveTimeMs;
+    }
+
+    /**
+     * @return maximal number of threads for one search.
+     */
+    public int getThreads() {
+        return this.threads;
+    }
+
+    private int helpersNum() {
+        if (this.table == null || this.pool == null) {
+            return 0;
+        }
+        final var idle = this.pool.getParallelism() - this.pool.getActiveThreadCount();
+        return Math.max(0, Math.min(this.threads - 1, idle));
+    }
+
+    @Override
+    public int getNextTurnPitNum(final Board board) {
+        if (board.getActivePlayer() == null) {
+            throw new IllegalArgumentException("Next turn can not be performed");
+        }
+        final var deadline = System.nanoTime() + this.moveTimeMs * 1_000_000L;
+        final var stop = new AtomicBoolean();
+        if (this.table != null) {
+            this.table.newSearch();
+        }
+
+        final var helpers = helpersNum();
+        for (var i = 1; i <= helpers; ++i) {
+            final var helper = new Search(board.copy(), deadline, this.table, this.tablebase, stop, i);
+            this.pool.execute(() -> helper.run());
+        }
+        try {
+            return new Search(board.copy(), deadline, this.table, this.tablebase, stop, 0).run();
+        } finally {
+            stop.set(true);
+        }
+    }
+
+    /**
+     * @param board    game board;
+     * @param player   player that evaluates the position;
+     * @param opponent another player;
+     * @return score of the position for the player.
+     */
+    static int evaluate(final Board board, final Player player, final Player opponent) {
+        return board.getBigPitStones(player) - board.getBigPitStones(opponent);
+    }
+
+    /**
+     * Fill the buffer with possible turns of active player: turns that give an
+     * extra turn first, captures after them.
+     *
+     * @param board    game board;
+     * @param opponent player who is not active;
+     * @param moves    buffer for pit numbers;
+     * @param scores   buffer for ordering scores;
+     * @return number of possible turns.
+     */
+    static int orderedMoves(final Board board, final Player opponent, final int[] moves, final int[] scores) {
+        final var player = board.getActivePlayer();
+        final var pitsNum = board.getPitsNum();
+        final var slots = 2 * pitsNum + 1;
+
+        var size = 0;
+        for (var pitNum = 0; pitNum < pitsNum; ++pitNum) {
+            final var stones = board.getRegularPitStones(player, pitNum);
+            if (stones == 0) {
+                continue;
+            }
+
+            var score = 0;
+            final var lastSlot = (pitNum + stones) % slots;
+            if (lastSlot == pitsNum) {
+                score = 1000 - pitNum; // Extra turn, pits close to big pit first.
+            } else if (lastSlot < pitsNum && (stones == slots
+                    || stones < slots && lastSlot != pitNum && board.getRegularPitStones(player, lastSlot) == 0)) {
+                score = 100 + board.getRegularPitStones(opponent, pitsNum - 1 - lastSlot);
+            }
+
+            var i = size++;
+            while (i > 0 && scores[i - 1] < score) {
+                moves[i] = moves[i - 1];
+                scores[i] = scores[i - 1];
+                --i;
+            }
+            moves[i] = pitNum;
+            scores[i] = score;
+        }
+        return size;
+    }
+
+    /**
+     * State of one search. Player can be used for many boards at the same time,
+     * so every call has own state.
+     */
+    private static class Search {
+
+        private final Board board;
+        private final long deadline;
+        private final TranspositionTable table;
+        private final Tablebase tablebase;
+        private final AtomicBoolean stop;
+        private final int helper;
+
+        private final Player player1;
+        private final Player player2;
+
+        private final int[][] moves;
+        private final int[][] scores;
+
+        private long nodes = 0;
+        private boolean aborted = false;
+        private boolean depthReached = false;
+
+        /**
+         * @param board     copy of the game board;
+         * @param deadline  of the search by {@link System#nanoTime()};
+         * @param table     transposition table or <code>null</code>;
+         * @param tablebase endgame tablebase or <code>null</code>;
+         * @param stop      flag to stop all searches of the turn;
+         * @param helper    number of helper search or <code>0</code> for main
+         *                  search.
+         */
+        Search(final Board board, final long deadline, final TranspositionTable table, final Tablebase tablebase,
+                final AtomicBoolean stop, final int helper) {
+            this.board = board;
+            this.deadline = deadline;
+            this.table = table;
+            this.tablebase = tablebase;
+            this.stop = stop;
+            this.helper = helper;
+
+            final var players = board.getPlayers().iterator();
+            this.player1 = players.next();
+            this.player2 = players.next();
+
+            this.moves = new int[MAX_DEPTH + 1][board.getPitsNum()];
+            this.scores = new int[MAX_DEPTH + 1][board.getPitsNum()];
+        }
+
+        private Player opponent(final Player player) {
+            return player == this.player1 ? this.player2 : this.player1;
+        }
+
+        int run() {
+            final var rootMoves = this.moves[0];
+            final var rootSize = orderedMoves(this.board, opponent(this.board.getActivePlayer()), rootMoves,
+                    this.scores[0]);
+            if (rootSize == 1) {
+                return rootMoves[0];
+            }
+
+            // Helpers search root turns in another order and start deeper.
+            final var shift = this.helper % rootSize;
+            for (var i = 0; i < shift; ++i) {
+                final var first = rootMoves[0];
+                System.arraycopy(rootMoves, 1, rootMoves, 0, rootSize - 1);
+                rootMoves[rootSize - 1] = first;
+            }
+
+            var bestMove = rootMoves[0];
+            for (var depth = 1 + this.helper % 2; depth <= MAX_DEPTH; ++depth) {
+                this.depthReached = false;
+
+                final var player = this.board.getActivePlayer();
+                var alpha = -INFINITY;
+                var iterationBest = -1;
+                for (var i = 0; i < rootSize; ++i) {
+                    final var score = child(player, rootMoves[i], depth, alpha, INFINITY, 1);
+                    if (this.aborted) {
+                        return bestMove;
+                    }
+                    if (score > alpha) {
+                        alpha = score;
+                        iterationBest = i;
+                    }
+                }
+
+                // Search best turn of this iteration first on the next one.
+                bestMove = rootMoves[iterationBest];
+                System.arraycopy(rootMoves, 0, rootMoves, 1, iterationBest);
+                rootMoves[0] = bestMove;
+
+                if (!this.depthReached) {
+                    break; // Whole game tree was searched.
+                }
+            }
+            return bestMove;
+        }
+
+        /**
+         * @return score of the turn for the player who makes it.
+         */
+        private int child(final Player player, final int pitNum, final int depth, final int alpha, final int beta,
+                final int ply) {
+            this.board.makeMove(pitNum);
+            final int score;
+            if (this.board.isGameOver()) {
+                score = evaluate(this.board, player, opponent(player));
+            } else if (this.board.getActivePlayer() == player) {
+                score = search(depth - 1, alpha, beta, ply);
+            } else {
+                score = -search(depth - 1, -beta, -alpha, ply);
+            }
+            this.board.unmakeMove();
+            return score;
+        }
+
+        /**
+         * @return score of the position for active player.
+         */
+        private int search(final int depth, int alpha, final int beta, final int ply) {
+            final var player = this.board.getActivePlayer();
+            if (this.tablebase != null) {
+                final var value = this.tablebase.probe(this.board, player, opponent(player));
+                if (value != Tablebase.NOT_FOUND) {
+                    return evaluate(this.board, player, opponent(player)) + value;
+                }
+            }
+            if (depth == 0 || ply >= MAX_DEPTH) {
+                this.depthReached = true;
+                return evaluate(this.board, player, opponent(player));
+            }
+            if ((++this.nodes & 0x3FF) == 0 && (System.nanoTime() > this.deadline || this.stop.get())) {
+                this.aborted = true;
+            }
+            if (this.aborted) {
+                return 0;
+            }
+
+            final var alphaOrig = alpha;
+            var hash = 0L;
+            var tableMove = -1;
+            if (this.table != null) {
+                hash = Zobrist.hash(this.board, this.player1, this.player2);
+                final var entry = this.table.probe(hash);
+                if (entry != TranspositionTable.MISS) {
+                    tableMove = TranspositionTable.pitNum(entry);
+                    if (TranspositionTable.depth(entry) >= depth) {
+                        final var score = TranspositionTable.score(entry);
+                        final var bound = TranspositionTable.bound(entry);
+                        if (bound == TranspositionTable.BOUND_EXACT
+                                || bound == TranspositionTable.BOUND_LOWER && score >= beta
+                                || bound == TranspositionTable.BOUND_UPPER && score <= alpha) {
+                            this.depthReached = true; // Entry could be limited by depth.
+                            return score;
+                        }
+                    }
+                }
+            }
+
+            final var moves = this.moves[ply];
+            final var size = orderedMoves(this.board, opponent(player), moves, this.scores[ply]);
+            for (var i = 1; i < size; ++i) {
+                if (moves[i] == tableMove) {
+                    System.arraycopy(moves, 0, moves, 1, i);
+                    moves[0] = tableMove;
+                    break;
+                }
+            }
+
+            var best = -INFINITY;
+            var bestMove = -1;
+            for (var i = 0; i < size; ++i) {
+                final var score = child(player, moves[i], depth, alpha, beta, ply + 1);
+                if (this.aborted) {
+                    return 0;
+                }
+                if (score > best) {
+                    best = score;
+                    bestMove = moves[i];
+                    if (score > alpha) {
+                        alpha = score;
+                        if (alpha >= beta) {
+                            break;
+                        }
+                    }
+                }
+            }
+
+            if (this.table != null) {
+                final var bound = best <= alphaOrig ? TranspositionTable.BOUND_UPPER
+                        : best >= beta ? TranspositionTable.BOUND_LOWER : TranspositionTable.BOUND_EXACT;
+                this.table.store(hash, depth, bound, bestMove, best);
+            }
+            return best;
+        }
+    }
+}
@@ -44,10 +44,36 @@ public class ConsolePlayer extends AbstractPlayer {
      * @throws NoSuchAlgorithmException
      */
     public ConsolePlayer(final String name, final String pass) throws NoSuchAlgorithmException {
+        this(name, MessageDigest.getInstance("SHA-256"), pass, null);
+    }
+
+    private ConsolePlayer(final String name, final MessageDigest digest, final String pass,
+            final String passwordHash) {
         super(name);
 
-        this.digest = MessageDigest.getInstance("SHA-256");
-        this.passwordHash = new String(this.digest.digest(pass.getBytes()));
+        this.digest = digest;
+        this.passwordHash = passwordHash != null ? passwordHash : new String(this.digest.digest(pass.getBytes()));
+    }
+
+    /**
+     * Restore saved player.
+     *
+     * @param name         name of player;
+     * @param passwordHash hash of password returned by
+     *                     {@link #getPasswordHash()}.
+     * @return player.
+     * @throws NoSuchAlgorithmException
+     */
+    public static ConsolePlayer restore(final String name, final String passwordHash)
+            throws NoSuchAlgorithmException {
+        return new ConsolePlayer(name, MessageDigest.getInstance("SHA-256"), null, passwordHash);
+    }
+
+    /**
+     * @return hash of password to save the player.
+     */
+    public String getPasswordHash() {
+        return this.passwordHash;
     }
 
     /**
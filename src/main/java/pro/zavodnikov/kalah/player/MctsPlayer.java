@@ -0,0 +1,354 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.kalah.player;
+
+import java.util.Random;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import pro.zavodnikov.kalah.game.Board;
+
+/**
+ * Computer player that uses
+ * <a href="https://en.wikipedia.org/wiki/Monte_Carlo_tree_search">Monte Carlo
+ * tree search</a> (UCT) with random playouts. Does not need any evaluation of
+ * the position, so plays the same way for any number of pits and stones.
+ * <p>
+ * Playouts are made on one copy of the board with
+ * {@link Board#makeMove(int)}/{@link Board#unmakeMove()}. Nodes of the tree are
+ * stored in primitive arrays that are borrowed from a pool shared by all
+ * players. Pool has one tree per processor, so number of big trees does not
+ * depend on number of request threads; extra searches wait for a free tree.
+ * Search is limited by time, by number of playouts or by both.
+ *
+ * @author Dmitry Zavodnikov
+ */
+public class MctsPlayer extends AbstractPlayer implements ComputerPlayer {
+
+    public static final int DEFAULT_TREE_SIZE = 1 << 18;
+
+    private static final double EXPLORATION = Math.sqrt(2.0);
+
+    static final int TREES_NUM = Runtime.getRuntime().availableProcessors();
+
+    private static final BlockingQueue<Tree> TREES = new ArrayBlockingQueue<>(TREES_NUM);
+    private static final AtomicInteger CREATED_TREES_NUM = new AtomicInteger();
+
+    private final long moveTimeMs;
+    private final int maxPlayouts;
+    private final Random random;
+
+    /**
+     * Create player that search the best turn by random playouts.
+     *
+     * @param name        of player;
+     * @param moveTimeMs  time limit for one turn in milliseconds or
+     *                    <code>0</code> for no limit;
+     * @param maxPlayouts number of playouts for one turn or <code>0</code> for no
+     *                    limit;
+     * @param random      generator for playouts.
+     */
+    public MctsPlayer(final String name, final long moveTimeMs, final int maxPlayouts, final Random random) {
+        super(name);
+
+        if (moveTimeMs < 0 || maxPlayouts < 0) {
+            throw new IllegalArgumentException("Limits can not be negative");
+        }
+        if (moveTimeMs == 0 && maxPlayouts == 0) {
+            throw new IllegalArgumentException("Time or number of playouts should be limited");
+        }
+        this.moveTimeMs = moveTimeMs;
+        this.maxPlayouts = maxPlayouts;
+        this.random = random;
+    }
+
+    /**
+     * @return time limit for one turn in milliseconds or <code>0</code>.
+     */
+    public long getMoveTimeMs() {
+        return this.moveTimeMs;
+    }
+
+    /**
+     * @return number of playouts for one turn or <code>0</code>.
+     */
+    public int getMaxPlayouts() {
+        return this.maxPlayouts;
+    }
+
+    @Override
+    public int getNextTurnPitNum(final Board board) {
+        if (board.getActivePlayer() == null) {
+            throw new IllegalArgumentException("Next turn can not be performed");
+        }
+        final var deadline = this.moveTimeMs > 0 ? System.nanoTime() + this.moveTimeMs * 1_000_000L : Long.MAX_VALUE;
+        final var playouts = this.maxPlayouts > 0 ? this.maxPlayouts : Integer.MAX_VALUE;
+        final var tree = borrowTree();
+        try {
+            return tree.search(board.copy(), deadline, playouts, this.random.nextLong());
+        } finally {
+            TREES.add(tree);
+        }
+    }
+
+    /**
+     * Make playouts from the position.
+     *
+     * @param board    copy of the game board;
+     * @param playouts number of playouts;
+     * @param seed     of random generator;
+     * @return number of wins of active player (draw is a half of win).
+     */
+    static double playouts(final Board board, final int playouts, final long seed) {
+        final var tree = borrowTree();
+        try {
+            tree.seed(seed);
+            final var player = board.getActivePlayer();
+            var wins = 0.0;
+            for (var i = 0; i < playouts; ++i) {
+                final var winner = tree.playout(board);
+                wins += winner == player ? 1.0 : winner == null ? 0.5 : 0.0;
+            }
+            return wins;
+        } finally {
+            TREES.add(tree);
+        }
+    }
+
+    /**
+     * Take free tree from the pool, create it if pool is not full yet or wait
+     * until other search returns it.
+     *
+     * @return tree that should be returned to the pool after the search.
+     */
+    private static Tree borrowTree() {
+        final var tree = TREES.poll();
+        if (tree != null) {
+            return tree;
+        }
+        if (CREATED_TREES_NUM.getAndUpdate(n -> n < TREES_NUM ? n + 1 : n) < TREES_NUM) {
+            return new Tree(DEFAULT_TREE_SIZE);
+        }
+        try {
+            return TREES.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Search is interrupted", e);
+        }
+    }
+
+    /**
+     * @return number of trees that are allocated by all searches.
+     */
+    static int getCreatedTreesNum() {
+        return CREATED_TREES_NUM.get();
+    }
+
+    /**
+     * Search tree. Node <code>0</code> is a root, children of every node are
+     * stored one by one.
+     */
+    private static class Tree {
+
+        private final int capacity;
+
+        private final int[] parent;
+        private final int[] visits;
+        private final float[] wins;
+        private final int[] firstChild;
+        private final byte[] childrenNum;
+        private final byte[] pitNum;
+        private final boolean[] secondPlayer; // Player who made the turn to the node.
+
+        private int size;
+        private long rand;
+
+        private Player player1;
+        private Player player2;
+
+        Tree(final int capacity) {
+            this.capacity = capacity;
+
+            this.parent = new int[capacity];
+            this.visits = new int[capacity];
+            this.wins = new float[capacity];
+            this.firstChild = new int[capacity];
+            this.childrenNum = new byte[capacity];
+            this.pitNum = new byte[capacity];
+            this.secondPlayer = new boolean[capacity];
+        }
+
+        void seed(final long seed) {
+            this.rand = seed != 0 ? seed : 0x9E3779B97F4A7C15L;
+        }
+
+        /**
+         * Xorshift random generator.
+         */
+        private int nextInt(final int bound) {
+            var x = this.rand;
+            x ^= x << 13;
+            x ^= x >>> 7;
+            x ^= x << 17;
+            this.rand = x;
+            return (int) ((x >>> 33) % bound);
+        }
+
+        private int newNode(final int parent, final int pitNum, final boolean secondPlayer) {
+            final var node = this.size++;
+            this.parent[node] = parent;
+            this.visits[node] = 0;
+            this.wins[node] = 0.0f;
+            this.firstChild[node] = -1;
+            this.childrenNum[node] = 0;
+            this.pitNum[node] = (byte) pitNum;
+            this.secondPlayer[node] = secondPlayer;
+            return node;
+        }
+
+        private void expand(final Board board, final int node) {
+            final var player = board.getActivePlayer();
+            final var pitsNum = board.getPitsNum();
+            if (this.size + pitsNum > this.capacity) {
+                return; // Tree is full, continue with playouts only.
+            }
+            this.firstChild[node] = this.size;
+            var num = 0;
+            for (var i = 0; i < pitsNum; ++i) {
+                if (board.getRegularPitStones(player, i) > 0) {
+                    newNode(node, i, player == this.player2);
+                    ++num;
+                }
+            }
+            this.childrenNum[node] = (byte) num;
+        }
+
+        private int select(final int node) {
+            final var first = this.firstChild[node];
+            final var logVisits = Math.log(this.visits[node]);
+            var best = first;
+            var bestValue = Double.NEGATIVE_INFINITY;
+            for (var child = first; child < first + this.childrenNum[node]; ++child) {
+                final var n = this.visits[child];
+                if (n == 0) {
+                    return child;
+                }
+                final var value = this.wins[child] / n + EXPLORATION * Math.sqrt(logVisits / n);
+                if (value > bestValue) {
+                    bestValue = value;
+                    best = child;
+                }
+            }
+            return best;
+        }
+
+        /**
+         * Play random turns till the end of the game and revert them.
+         *
+         * @return winner of the game or <code>null</code> for draw.
+         */
+        Player playout(final Board board) {
+            var turns = 0;
+            while (!board.isGameOver()) {
+                final var player = board.getActivePlayer();
+                final var pitsNum = board.getPitsNum();
+                var pitNum = nextInt(pitsNum);
+                while (board.getRegularPitStones(player, pitNum) == 0) {
+                    pitNum = pitNum + 1 < pitsNum ? pitNum + 1 : 0;
+                }
+                board.makeMove(pitNum);
+                ++turns;
+            }
+            final var winner = board.getWinner();
+            for (var i = 0; i < turns; ++i) {
+                board.unmakeMove();
+            }
+            return winner;
+        }
+
+        int search(final Board board, final long deadline, final int playouts, final long seed) {
+            seed(seed);
+            final var players = board.getPlayers().iterator();
+            this.player1 = players.next();
+            this.player2 = players.next();
+
+            this.size = 0;
+            final var root = newNode(-1, -1, board.getActivePlayer() != this.player2);
+            expand(board, root);
+            if (this.childrenNum[root] == 1) {
+                return this.pitNum[this.firstChild[root]];
+            }
+
+            for (var i = 0; i < playouts; ++i) {
+                if ((i & 0xFF) == 0 && System.nanoTime() > deadline) {
+                    break;
+                }
+
+                // Selection.
+                var node = root;
+                var turns = 0;
+                while (this.childrenNum[node] > 0) {
+                    node = select(node);
+                    board.makeMove(this.pitNum[node]);
+                    ++turns;
+                }
+
+                // Expansion.
+                if (!board.isGameOver() && this.visits[node] > 0) {
+                    expand(board, node);
+                    if (this.childrenNum[node] > 0) {
+                        node = this.firstChild[node];
+                        board.makeMove(this.pitNum[node]);
+                        ++turns;
+                    }
+                }
+
+                // Simulation.
+                final var winner = playout(board);
+
+                // Backpropagation.
+                for (var n = node; n >= 0; n = this.parent[n]) {
+                    this.visits[n] += 1;
+                    if (winner == null) {
+                        this.wins[n] += 0.5f;
+                    } else if ((winner == this.player2) == this.secondPlayer[n]) {
+                        this.wins[n] += 1.0f;
+                    }
+                }
+                for (var t = 0; t < turns; ++t) {
+                    board.unmakeMove();
+                }
+            }
+
+            var best = this.firstChild[root];
+            for (var child = best; child < best + this.childrenNum[root]; ++child) {
+                if (this.visits[child] > this.visits[best]) {
+                    best = child;
+                }
+            }
+            return this.pitNum[best];
+        }
+    }
+}
@@ -21,22 +21,20 @@
  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
  * THE SOFTWARE.
  */
-package pro.zavodnikov.kalah.game.pit;
-
-import static org.junit.jupiter.api.Assertions.assertEquals;
-
-import org.junit.jupiter.api.Test;
+package pro.zavodnikov.kalah.player;
 
 /**
- * Tests for {@link RegularPit}.
+ * Player that is known only by name, e.g. player of restored game who did not
+ * log in yet. Equals to any other player with the same name.
  *
  * @author Dmitry Zavodnikov
  */
-class RegularPitTest {
+public class NamedPlayer extends AbstractPlayer {
 
-    @Test
-    void testCustomSize() {
-        final var p = new RegularPit(4);
-        assertEquals(4, p.getStones());
+    /**
+     * @param name of player.
+     */
+    public NamedPlayer(final String name) {
+        super(name);
     }
 }
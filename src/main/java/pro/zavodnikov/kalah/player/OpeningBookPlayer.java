@@ -21,56 +21,40 @@
  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
  * THE SOFTWARE.
  */
-package pro.zavodnikov.kalah.game.pit;
+package pro.zavodnikov.kalah.player;
 
-import java.util.HashMap;
-import java.util.Map;
+import pro.zavodnikov.kalah.game.Board;
+import pro.zavodnikov.kalah.game.book.OpeningBook;
 
 /**
- * Player who can make a turns in the game.
+ * Computer player that takes turns from {@link OpeningBook} and asks another
+ * computer player for positions that are not in the book. Has the same name as
+ * that player.
  *
  * @author Dmitry Zavodnikov
  */
-import pro.zavodnikov.kalah.player.Player;
+public class OpeningBookPlayer extends AbstractPlayer implements ComputerPlayer {
 
-/**
- * Implements pit for stones, holds next pit for player.
- *
- * @author Dmitry Zavodnikov
- */
-abstract class AbstractPit implements Pit {
-
-    protected int stones;
-
-    protected Map<Player, Pit> nextPit;
+    private final ComputerPlayer player;
+    private final OpeningBook book;
 
     /**
-     * Create custom pit.
-     *
-     * @param stones into the pit.
+     * @param player computer player for positions out of the book;
+     * @param book   opening book that can be shared by many players.
      */
-    protected AbstractPit(final int stones) {
-        this.stones = stones;
-        this.nextPit = new HashMap<>();
-    }
+    public OpeningBookPlayer(final ComputerPlayer player, final OpeningBook book) {
+        super(player.getName());
 
-    @Override
-    public int getStones() {
-        return this.stones;
-    }
-
-    @Override
-    public void addOneStone() {
-        this.stones += 1;
-    }
-
-    @Override
-    public Pit getNextPit(final Player player) {
-        return this.nextPit.get(player);
+        this.player = player;
+        this.book = book;
     }
 
     @Override
-    public void setNextPit(final Player player, final Pit pit) {
-        this.nextPit.put(player, pit);
+    public int getNextTurnPitNum(final Board board) {
+        if (board.getActivePlayer() == null) {
+            throw new IllegalArgumentException("Next turn can not be performed");
+        }
+        final var pitNum = this.book.lookup(board);
+        return pitNum != OpeningBook.NOT_FOUND ? pitNum : this.player.getNextTurnPitNum(board);
     }
 }
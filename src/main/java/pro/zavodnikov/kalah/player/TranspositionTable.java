@@ -0,0 +1,186 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.kalah.player;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fixed-size transposition table for search algorithms. Can be shared between
+ * many searches at the same time without locks: every entry is stored as two
+ * <code>long</code> values <code>hash ^ data</code> and <code>data</code>, so
+ * entry that was partially overwritten by another thread does not match the
+ * hash anymore and is ignored.
+ * <p>
+ * Every entry has generation of the root search that stored it (see
+ * {@link #newSearch()}). Entries of more than {@link #STALE_GENERATIONS}
+ * searches ago are stale and are always replaced, so deep entries of finished
+ * games do not hold their slots forever.
+ *
+ * @author Dmitry Zavodnikov
+ */
+public class TranspositionTable {
+
+    public static final int BOUND_EXACT = 1;
+    public static final int BOUND_LOWER = 2;
+    public static final int BOUND_UPPER = 3;
+
+    /**
+     * Probe result if position is not found.
+     */
+    public static final long MISS = 0L;
+
+    private static final int ENTRY_BYTES = 2 * Long.BYTES;
+
+    /**
+     * Number of root searches after which entry is stale; searches that run at
+     * the same time should not make entries of each other stale.
+     */
+    public static final int STALE_GENERATIONS = 64;
+
+    private static final long VALID = 1L << 40;
+
+    private static final int GENERATION_SHIFT = 41;
+    private static final int GENERATION_MASK = (1 << 22) - 1;
+
+    private final long[] keys;
+    private final long[] data;
+    private final int mask;
+    private final AtomicInteger generation = new AtomicInteger();
+
+    /**
+     * Create the table.
+     *
+     * @param maxBytes maximal memory size of the table in bytes; number of
+     *                 entries is a power of two.
+     */
+    public TranspositionTable(final long maxBytes) {
+        if (maxBytes < ENTRY_BYTES) {
+            throw new IllegalArgumentException("Table should have at least one entry");
+        }
+        final var entries = (int) Long.highestOneBit(Math.min(maxBytes / ENTRY_BYTES, 1L << 30));
+        this.keys = new long[entries];
+        this.data = new long[entries];
+        this.mask = entries - 1;
+    }
+
+    /**
+     * @return number of entries into the table.
+     */
+    public int getSize() {
+        return this.keys.length;
+    }
+
+    /**
+     * Start new root search; entries of old searches become stale.
+     */
+    public void newSearch() {
+        this.generation.incrementAndGet();
+    }
+
+    /**
+     * @param hash of the position;
+     * @return stored data or {@link #MISS}.
+     */
+    public long probe(final long hash) {
+        final var idx = (int) hash & this.mask;
+        final var d = this.data[idx];
+        final var k = this.keys[idx];
+        return (k ^ d) == hash ? d : MISS;
+    }
+
+    /**
+     * Store search result. Entry with the same position or stale entry is always
+     * replaced, entry of another position is replaced if it was searched not
+     * deeper.
+     *
+     * @param hash   of the position;
+     * @param depth  of the search;
+     * @param bound  type of score;
+     * @param pitNum best turn or <code>-1</code>;
+     * @param score  of the position.
+     */
+    public void store(final long hash, final int depth, final int bound, final int pitNum, final int score) {
+        final var idx = (int) hash & this.mask;
+        final var old = this.data[idx];
+        final var currentGeneration = this.generation.get() & GENERATION_MASK;
+        if (old != MISS && (this.keys[idx] ^ old) != hash && depth(old) > depth
+                && ((currentGeneration - generation(old)) & GENERATION_MASK) <= STALE_GENERATIONS) {
+            return;
+        }
+        final var d = (long) currentGeneration << GENERATION_SHIFT | VALID | (long) (pitNum & 0xFF) << 32
+                | (long) (bound & 0xFF) << 24 | (long) (Math.min(depth, 0xFF) & 0xFF) << 16 | (score & 0xFFFF);
+        this.data[idx] = d;
+        this.keys[idx] = hash ^ d;
+    }
+
+    /**
+     * Remove all entries.
+     */
+    public void clear() {
+        for (var i = 0; i < this.keys.length; ++i) {
+            this.keys[i] = 0L;
+            this.data[i] = 0L;
+        }
+    }
+
+    /**
+     * @param data of {@link #probe(long)};
+     * @return generation of the root search that stored the entry.
+     */
+    public static int generation(final long data) {
+        return (int) (data >>> GENERATION_SHIFT) & GENERATION_MASK;
+    }
+
+    /**
+     * @param data of {@link #probe(long)};
+     * @return depth of the search.
+     */
+    public static int depth(final long data) {
+        return (int) (data >>> 16) & 0xFF;
+    }
+
+    /**
+     * @param data of {@link #probe(long)};
+     * @return type of the score.
+     */
+    public static int bound(final long data) {
+        return (int) (data >>> 24) & 0xFF;
+    }
+
+    /**
+     * @param data of {@link #probe(long)};
+     * @return best turn or <code>-1</code>.
+     */
+    public static int pitNum(final long data) {
+        return (byte) (data >>> 32);
+    }
+
+    /**
+     * @param data of {@link #probe(long)};
+     * @return score of the position.
+     */
+    public static int score(final long data) {
+        return (short) data;
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.kalah.player;
+
+import pro.zavodnikov.kalah.game.Board;
+
+/**
+ * <a href="https://en.wikipedia.org/wiki/Zobrist_hashing">Zobrist hash</a> of
+ * the game board: XOR of random keys for every pit and its number of stones,
+ * plus key for the player who makes the next turn.
+ *
+ * @author Dmitry Zavodnikov
+ */
+public final class Zobrist {
+
+    private static final int CELLS = 16;
+    private static final int STONES = 128;
+
+    private static final long SEED = 0x2545F4914F6CDD1DL;
+
+    private static final long[] KEYS = new long[CELLS * STONES];
+    private static final long SECOND_PLAYER_KEY = mix(SEED);
+
+    static {
+        for (var i = 0; i < KEYS.length; ++i) {
+            KEYS[i] = mix(SEED + i + 1);
+        }
+    }
+
+    private Zobrist() {
+    }
+
+    /**
+     * SplitMix64 finalizer.
+     */
+    private static long mix(final long value) {
+        var z = value * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * @param cell   index of the pit;
+     * @param stones number of stones into the pit;
+     * @return random key for the pit state.
+     */
+    public static long key(final int cell, final int stones) {
+        if (cell < CELLS && stones < STONES) {
+            return KEYS[cell * STONES + stones];
+        }
+        return mix(SEED ^ ((long) cell << 32 | stones));
+    }
+
+    /**
+     * @param board   game board;
+     * @param player1 first player of the board;
+     * @param player2 second player of the board;
+     * @return hash of the position.
+     */
+    public static long hash(final Board board, final Player player1, final Player player2) {
+        final var pitsNum = board.getPitsNum();
+        var hash = board.getActivePlayer() == player2 ? SECOND_PLAYER_KEY : 0L;
+        for (var i = 0; i < pitsNum; ++i) {
+            hash ^= key(i, board.getRegularPitStones(player1, i));
+            hash ^= key(pitsNum + 1 + i, board.getRegularPitStones(player2, i));
+        }
+        hash ^= key(pitsNum, board.getBigPitStones(player1));
+        hash ^= key(2 * pitsNum + 1, board.getBigPitStones(player2));
+        return hash;
+    }
+}
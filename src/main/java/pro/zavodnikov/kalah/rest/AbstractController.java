@@ -33,4 +33,20 @@ public abstract class AbstractController {
     public static final String API_V1 = "v1";
 
     public static final String ACCESS_TOKEN_HEADER = "access-token";
+
+    public static final String NEXT_CURSOR_HEADER = "next-cursor";
+
+    /**
+     * Versions start from the beginning after restart, so ETag includes start
+     * time of the application.
+     */
+    private static final String ETAG_PREFIX = "\"" + Long.toString(System.currentTimeMillis(), 36) + "-";
+
+    /**
+     * @param version of the response data;
+     * @return ETag of the response.
+     */
+    protected static String etag(final long version) {
+        return ETAG_PREFIX + version + "\"";
+    }
 }
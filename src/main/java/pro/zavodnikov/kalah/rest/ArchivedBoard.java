@@ -0,0 +1,114 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.kalah.rest;
+
+import pro.zavodnikov.kalah.game.Board;
+import pro.zavodnikov.kalah.player.Player;
+
+/**
+ * Compact state of finished game. When the game is over all stones are in big
+ * pits, so only big pits and number of turns are saved. History is kept as one
+ * byte per turn, initial pits are usually shared between boards. Game board is
+ * restored on every call.
+ *
+ * @author Dmitry Zavodnikov
+ */
+class ArchivedBoard {
+
+    private final String id;
+    private final Player player1;
+    private final Player player2;
+    private final short pitsNum;
+    private final short bigPitPlayer1;
+    private final short bigPitPlayer2;
+    private final int turnNum;
+
+    private final Player startPlayer;
+    private final int[] initialPits;
+    private final byte[] moves; // null if history is unknown
+
+    private ArchivedBoard(final Board board, final Player player1, final Player player2) {
+        this.id = board.getId();
+        this.player1 = player1;
+        this.player2 = player2;
+        this.pitsNum = (short) board.getPitsNum();
+        this.bigPitPlayer1 = (short) board.getBigPitStones(player1);
+        this.bigPitPlayer2 = (short) board.getBigPitStones(player2);
+        this.turnNum = board.getTurnNum();
+
+        if (board.hasHistory()) {
+            this.startPlayer = board.startPlayer();
+            this.initialPits = board.initialPits();
+            this.moves = new byte[this.turnNum];
+            for (var i = 0; i < this.turnNum; ++i) {
+                this.moves[i] = (byte) board.getMove(i);
+            }
+        } else {
+            this.startPlayer = null;
+            this.initialPits = null;
+            this.moves = null;
+        }
+    }
+
+    /**
+     * @param board finished game board;
+     * @return compact state of the board.
+     */
+    static ArchivedBoard of(final Board board) {
+        if (board.getActivePlayer() != null) {
+            throw new IllegalArgumentException("Game is not finished");
+        }
+        final var players = board.getPlayers().iterator();
+        final var player1 = players.next();
+        final var player2 = players.next();
+        for (var i = 0; i < board.getPitsNum(); ++i) {
+            if (board.getRegularPitStones(player1, i) != 0 || board.getRegularPitStones(player2, i) != 0) {
+                throw new IllegalArgumentException("Stones are not collected to big pits");
+            }
+        }
+        if (board.getBigPitStones(player1) > Short.MAX_VALUE || board.getBigPitStones(player2) > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many stones");
+        }
+        return new ArchivedBoard(board, player1, player2);
+    }
+
+    /**
+     * @return restored game board without history of moves.
+     */
+    Board summary() {
+        return Board.restore(this.id, this.player1, this.player2, null, this.turnNum, new int[this.pitsNum],
+                this.bigPitPlayer1, new int[this.pitsNum], this.bigPitPlayer2);
+    }
+
+    /**
+     * @return restored game board with history of moves.
+     */
+    Board restore() {
+        final var board = summary();
+        if (this.moves != null) {
+            board.setHistory(this.startPlayer, this.initialPits, this.moves);
+        }
+        return board;
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.kalah.rest;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+import pro.zavodnikov.kalah.game.Board;
+
+/**
+ * Board in the storage with its lock, adding order and times of last change
+ * and access. Finished board can be replaced by {@link ArchivedBoard}.
+ *
+ * @author Dmitry Zavodnikov
+ */
+class BoardEntry {
+
+    private final long seqNum;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private volatile Board board;
+    private volatile ArchivedBoard archived;
+
+    private volatile long updateTimeMs;
+    private volatile long accessTimeMs;
+
+    private int computerTurnFailures; // Changed under the lock.
+
+    /**
+     * @param seqNum       adding order of the board;
+     * @param board        game board;
+     * @param updateTimeMs time of last change.
+     */
+    BoardEntry(final long seqNum, final Board board, final long updateTimeMs) {
+        this.seqNum = seqNum;
+        this.board = board;
+        this.updateTimeMs = updateTimeMs;
+        this.accessTimeMs = updateTimeMs;
+    }
+
+    long getSeqNum() {
+        return this.seqNum;
+    }
+
+    /**
+     * @return game board; archived board is returned without history of moves.
+     *         Live board should be read and changed under the lock.
+     */
+    Board getBoard() {
+        final var result = this.board;
+        return result != null ? result : this.archived.summary();
+    }
+
+    /**
+     * @return game board with history of moves; archived board is restored on
+     *         every call.
+     */
+    Board getFullBoard() {
+        final var result = this.board;
+        return result != null ? result : this.archived.restore();
+    }
+
+    /**
+     * @return copy of the board taken under the lock, so it is not changed by
+     *         turns while it is read; archived board is returned without
+     *         history of moves.
+     */
+    Board snapshot() {
+        this.lock.lock();
+        try {
+            final var result = this.board;
+            return result != null ? result.copy() : this.archived.summary();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * @return <code>true</code> if the board is not archived.
+     */
+    boolean isLive() {
+        return this.board != null;
+    }
+
+    boolean isGameOver() {
+        final var result = this.board;
+        return result == null || result.isGameOver();
+    }
+
+    /**
+     * Replace finished board by compact state. Should be called under the lock.
+     */
+    void archive() {
+        this.archived = ArchivedBoard.of(this.board);
+        this.board = null;
+    }
+
+    /**
+     * @return lock for all changes of the board.
+     */
+    ReentrantLock getLock() {
+        return this.lock;
+    }
+
+    /**
+     * Should be called under the lock.
+     *
+     * @return number of failed computer turns in a row including this one.
+     */
+    int computerTurnFailed() {
+        return ++this.computerTurnFailures;
+    }
+
+    /**
+     * Should be called under the lock.
+     */
+    void computerTurnMade() {
+        this.computerTurnFailures = 0;
+    }
+
+    long getUpdateTimeMs() {
+        return this.updateTimeMs;
+    }
+
+    void setUpdateTimeMs(final long updateTimeMs) {
+        this.updateTimeMs = updateTimeMs;
+    }
+
+    long getAccessTimeMs() {
+        return this.accessTimeMs;
+    }
+
+    void setAccessTimeMs(final long accessTimeMs) {
+        this.accessTimeMs = accessTimeMs;
+    }
+}
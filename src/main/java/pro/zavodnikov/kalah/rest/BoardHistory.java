@@ -21,46 +21,47 @@
  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
  * THE SOFTWARE.
  */
-package pro.zavodnikov.kalah.game.pit;
+package pro.zavodnikov.kalah.rest;
+
+import pro.zavodnikov.kalah.game.Board;
 
 /**
- * Pit that contain stones initially.
+ * History of the game: pit numbers of all turns. Positions between turns are
+ * not stored and are rebuilt by request.
  *
  * @author Dmitry Zavodnikov
  */
-public class RegularPit extends AbstractPit {
-
-    private RegularPit oppositePit;
+public class BoardHistory {
 
-    public RegularPit(final int initSize) {
-        super(initSize);
-    }
+    private final String boardId;
+    private final int[] moves;
 
     /**
-     * @return number of stones from current pit and make the pit empty.
+     * @param boardId ID of game board;
+     * @param moves   pit numbers of all turns.
      */
-    public int pickupStones() {
-        final var stones = getStones();
-        this.stones = 0;
-        return stones;
+    public BoardHistory(final String boardId, final int[] moves) {
+        this.boardId = boardId;
+        this.moves = moves;
     }
 
     /**
-     * @return pit from opposite side.
+     * @param board game board with known history;
+     * @return history of the board.
      */
-    public RegularPit getOppositePit() {
-        return this.oppositePit;
+    public static BoardHistory of(final Board board) {
+        final var moves = new int[board.getTurnNum()];
+        for (var i = 0; i < moves.length; ++i) {
+            moves[i] = board.getMove(i);
+        }
+        return new BoardHistory(board.getId(), moves);
     }
 
-    /**
-     * @param oppositePit pit from opposite side.
-     */
-    public void setOppositePit(final RegularPit oppositePit) {
-        this.oppositePit = oppositePit;
+    public String getBoardId() {
+        return this.boardId;
     }
 
-    @Override
-    public String toString() {
-        return String.format("[ %2d ]", getStones());
+    public int[] getMoves() {
+        return this.moves;
     }
 }
@@ -0,0 +1,172 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.kalah.rest;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+
+import org.springframework.boot.jackson.JsonComponent;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+import pro.zavodnikov.kalah.Entity;
+import pro.zavodnikov.kalah.game.Board;
+import pro.zavodnikov.kalah.player.Player;
+
+/**
+ * Write {@link Board} as JSON without reflection and intermediate collections.
+ * Fields are the same as public getters of the board, players are written only
+ * with ID and name.
+ *
+ * JSON is cached by board ID and {@link Board#getVersion()}: board with the
+ * same ID and version has the same state, so copies of the board returned by
+ * the storage and restored archived boards share the cached string. JSON is
+ * cached when it is written first time. Cache is a fixed array indexed by board
+ * ID: collision replaces previous board.
+ * <p>
+ * Serialized board should not be changed during writing: storage returns
+ * copies of the boards taken under their locks.
+ *
+ * @author Dmitry Zavodnikov
+ */
+@JsonComponent
+public class BoardJsonSerializer extends JsonSerializer<Board> {
+
+    private static final int CACHE_SIZE = 1 << 16;
+    private static final int INITIAL_SIZE = 512;
+
+    private static final JsonFactory FACTORY = new JsonFactory();
+
+    private static final class Cached {
+
+        private final String id;
+        private final long version;
+        private final String json;
+
+        private Cached(final String id, final long version, final String json) {
+            this.id = id;
+            this.version = version;
+            this.json = json;
+        }
+    }
+
+    private final Cached[] cache = new Cached[CACHE_SIZE]; // Items are immutable, so races are harmless.
+
+    @Override
+    public void serialize(final Board board, final JsonGenerator gen, final SerializerProvider serializers)
+            throws IOException {
+        gen.writeRawValue(toJson(board));
+    }
+
+    /**
+     * @param board game board;
+     * @return JSON of the board; the same string is returned for the same ID and
+     *         version of the board.
+     */
+    String toJson(final Board board) {
+        final var id = board.getId();
+        final var idx = id.hashCode() & (CACHE_SIZE - 1);
+        final var version = board.getVersion();
+        final var cached = this.cache[idx];
+        if (cached != null && cached.version == version && cached.id.equals(id)) {
+            return cached.json;
+        }
+
+        final var json = writeJson(board);
+        if (board.getVersion() == version) { // Board was not changed during writing.
+            this.cache[idx] = new Cached(id, version, json);
+        }
+        return json;
+    }
+
+    /**
+     * @param board game board;
+     * @return JSON of the board; cache is not used.
+     */
+    static String writeJson(final Board board) {
+        final var out = new StringWriter(INITIAL_SIZE);
+        try (var gen = FACTORY.createGenerator(out)) {
+            write(gen, board);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // Not possible for StringWriter.
+        }
+        return out.toString();
+    }
+
+    private static void writePlayer(final JsonGenerator gen, final Player player) throws IOException {
+        if (player == null) {
+            gen.writeNull();
+            return;
+        }
+        gen.writeStartObject();
+        gen.writeStringField("id", player instanceof Entity ? ((Entity) player).getId() : player.getName());
+        gen.writeStringField("name", player.getName());
+        gen.writeEndObject();
+    }
+
+    private static void write(final JsonGenerator gen, final Board board) throws IOException {
+        final var players = board.getPlayers();
+        final var gameOver = board.isGameOver();
+
+        gen.writeStartObject();
+        gen.writeStringField("id", board.getId());
+
+        gen.writeArrayFieldStart("players");
+        for (var player : players) {
+            writePlayer(gen, player);
+        }
+        gen.writeEndArray();
+
+        gen.writeFieldName("activePlayer");
+        writePlayer(gen, board.getActivePlayer());
+        gen.writeNumberField("turnNum", board.getTurnNum());
+        gen.writeNumberField("version", board.getVersion());
+        gen.writeBooleanField("gameOver", gameOver);
+        gen.writeFieldName("winner");
+        writePlayer(gen, gameOver ? board.getWinner() : null);
+
+        gen.writeObjectFieldStart("regularPits");
+        for (var player : players) {
+            gen.writeArrayFieldStart(player.toString());
+            for (var i = 0; i < board.getPitsNum(); ++i) {
+                gen.writeNumber(board.getRegularPitStones(player, i));
+            }
+            gen.writeEndArray();
+        }
+        gen.writeEndObject();
+
+        gen.writeObjectFieldStart("bigPits");
+        for (var player : players) {
+            gen.writeNumberField(player.toString(), board.getBigPitStones(player));
+        }
+        gen.writeEndObject();
+
+        gen.writeNumberField("pitsNum", board.getPitsNum());
+        gen.writeEndObject();
+    }
+}
@@ -27,7 +27,9 @@ import java.security.NoSuchAlgorithmException;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -36,6 +38,8 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.DeferredResult;
 import org.springframework.web.server.ResponseStatusException;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -58,12 +62,41 @@ public class BoardsController extends AbstractController {
     @Autowired
     private BoardsStorage games;
 
+    @Autowired
+    private BoardsWaiters waiters;
+
     @GetMapping("/list")
-    @Operation(summary = "Return game boards of player with provided token")
-    public List<Board> getBoard(@RequestHeader(value = ACCESS_TOKEN_HEADER) String token) {
+    @Operation(summary = "Return game boards of player with provided token", description = "Boards are sorted by "
+            + "creation order. Without filters and limit all boards are returned. With limit the page of boards is "
+            + "returned and cursor of the next page is in '" + NEXT_CURSOR_HEADER + "' header (if there are more "
+            + "boards). Response has ETag: if boards are not changed 304 (Not Modified) is returned.")
+    public ResponseEntity<List<Board>> getBoard(WebRequest request,
+            @RequestHeader(value = ACCESS_TOKEN_HEADER) String token,
+            @RequestParam(value = "cursor", required = false) Long cursor,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "status", required = false) BoardsQuery.Status status,
+            @RequestParam(value = "opponent", required = false) String opponentName,
+            @RequestParam(value = "updatedSince", required = false) Long updatedSinceMs) {
         final var player = this.security.validateAccessToken(token);
 
-        return this.games.getPlayerBoards(player);
+        // Boards are not read and not serialized if they are not changed.
+        if (request.checkNotModified(etag(this.games.getPlayerBoardsVersion(player)))) {
+            return null;
+        }
+        final var response = ResponseEntity.ok().cacheControl(CacheControl.noCache()).varyBy(ACCESS_TOKEN_HEADER);
+
+        if (cursor == null && limit == null && status == null && opponentName == null && updatedSinceMs == null) {
+            return response.body(this.games.getPlayerBoards(player));
+        }
+
+        final var opponent = opponentName != null ? this.security.findPlayerByName(opponentName) : null;
+        final var query = new BoardsQuery(status, opponent, updatedSinceMs != null ? updatedSinceMs : 0,
+                cursor != null ? cursor : 0, limit != null ? limit : Integer.MAX_VALUE);
+        final var page = this.games.getPlayerBoards(player, query);
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor().toString());
+        }
+        return response.body(page.getBoards());
     }
 
     @PostMapping("")
@@ -80,6 +113,40 @@ public class BoardsController extends AbstractController {
         return this.games.createNewBoard(firstPlayer, secondPlayer);
     }
 
+    @GetMapping("/{boardId}/history")
+    @Operation(summary = "Return pit numbers of all turns of the game board")
+    public BoardHistory getHistory(@RequestHeader(value = ACCESS_TOKEN_HEADER) String token,
+            @PathVariable() String boardId) {
+        final var player = this.security.validateAccessToken(token);
+
+        return this.games.getBoardHistory(boardId, player);
+    }
+
+    @GetMapping("/{boardId}/history/{turnNum}")
+    @Operation(summary = "Return the game board after provided number of turns", description = "Position is rebuilt "
+            + "by replaying turns from the start of the game.")
+    public Board getPosition(@RequestHeader(value = ACCESS_TOKEN_HEADER) String token, @PathVariable() String boardId,
+            @PathVariable() int turnNum) {
+        final var player = this.security.validateAccessToken(token);
+
+        return this.games.getGameBoard(boardId, player, turnNum);
+    }
+
+    @GetMapping("/{boardId}/await")
+    @Operation(summary = "Wait for a change of the game board", description = "Board is returned as soon as its "
+            + "version differs from 'sinceVersion'. Request waits without a thread; if board is not changed during "
+            + "timeout 304 (Not Modified) is returned and request should be repeated.")
+    public DeferredResult<ResponseEntity<Board>> awaitBoard(@RequestHeader(value = ACCESS_TOKEN_HEADER) String token,
+            @PathVariable() String boardId, @RequestParam(value = "sinceVersion") long sinceVersion) {
+        final var player = this.security.validateAccessToken(token);
+
+        final var board = this.games.getGameBoard(boardId);
+        if (!board.getPlayers().contains(player)) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Player does not play on the board");
+        }
+        return this.waiters.await(boardId, this.games::getGameBoard, sinceVersion);
+    }
+
     @PutMapping("/{boardId}/turn")
     @Operation(summary = "Make a new turn into the game board")
     public void nextTurn(@RequestHeader(value = ACCESS_TOKEN_HEADER) String token, @PathVariable() String boardId,
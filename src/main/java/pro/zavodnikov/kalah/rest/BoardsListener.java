@@ -21,28 +21,22 @@
  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
  * THE SOFTWARE.
  */
-package pro.zavodnikov.kalah.game.pit;
+package pro.zavodnikov.kalah.rest;
+
+import pro.zavodnikov.kalah.game.Board;
 
 /**
- * Pit where players put the stones.
+ * Listener of changes of boards in {@link BoardsStorage}.
  *
  * @author Dmitry Zavodnikov
  */
-public class BigPit extends AbstractPit {
-
-    public BigPit(final int initSize) {
-        super(initSize);
-    }
+public interface BoardsListener {
 
     /**
-     * @param stones tha needs to be added to pit.
+     * Called after new board is created or turns are made. Called under the lock
+     * of the board, so it should be fast and should not block.
+     *
+     * @param board changed game board; should not be used after the call.
      */
-    public void addStones(final int stones) {
-        this.stones += stones;
-    }
-
-    @Override
-    public String toString() {
-        return String.format("{ %2d }", getStones());
-    }
+    void boardChanged(Board board);
 }
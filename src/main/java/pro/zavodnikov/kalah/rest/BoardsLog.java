@@ -0,0 +1,462 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.kalah.rest;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.zip.CRC32;
+
+import pro.zavodnikov.kalah.game.Board;
+import pro.zavodnikov.kalah.game.BoardCodec;
+import pro.zavodnikov.kalah.player.Player;
+
+/**
+ * Append-only log of created boards and turns. Every record is
+ * <code>[payload length][CRC32 of payload][payload]</code>; payload of new board
+ * is its sequence number and the board written by {@link BoardCodec}, payload
+ * of turn is sequence number of the board, turn number and pit number (turns of
+ * computer players are saved as well, so replay does not depend on their
+ * algorithms). Records are encoded directly into the write buffer.
+ * <p>
+ * Replay is idempotent: already known boards and already made turns are skipped,
+ * so the log can be replayed over {@link BoardsSnapshot} that is taken while
+ * turns are made. {@link #rotate(Path)} moves written records to another file,
+ * which can be removed after the snapshot is saved.
+ * <p>
+ * Records are written by background thread with group commit: all records
+ * appended while previous batch was written are written and forced to the disk
+ * together. Writers wait for their records by {@link #await(long)}.
+ *
+ * @author Dmitry Zavodnikov
+ */
+class BoardsLog implements Closeable {
+
+    private static final int HEADER_SIZE = 8;
+    private static final int MAX_PAYLOAD_SIZE = 1024 * 1024;
+    private static final int TURN_PAYLOAD_SIZE = 14;
+
+    private static final byte CREATE = 1;
+    private static final byte TURN = 2;
+
+    private final Path path;
+    private final Thread writer;
+    private FileChannel channel;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition appendedCond = this.lock.newCondition();
+    private final Condition savedCond = this.lock.newCondition();
+
+    private final CRC32 crc = new CRC32();
+    private ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+    private ByteBuffer writing = ByteBuffer.allocate(64 * 1024);
+    private long appended;
+    private long saved;
+    private Path rotatePath;
+    private long rotated;
+    private boolean closed;
+    private IOException error;
+
+    private BoardsLog(final Path path) throws IOException {
+        this.path = path;
+        this.channel = openChannel(path);
+        this.appended = this.channel.size();
+        this.saved = this.appended;
+
+        this.writer = new Thread(this::writeLoop, "boards-log");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Open log to append records.
+     *
+     * @param path of the log file;
+     * @return log.
+     * @throws IOException if file can not be opened.
+     */
+    static BoardsLog open(final Path path) throws IOException {
+        return new BoardsLog(path);
+    }
+
+    private static FileChannel openChannel(final Path path) throws IOException {
+        return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private void checkOpen() throws IOException {
+        if (this.closed) {
+            throw new IOException("Log is closed");
+        }
+        if (this.error != null) {
+            throw new IOException("Log is not saved", this.error);
+        }
+    }
+
+    /**
+     * Check that records can be appended, so changes are not made when they can
+     * not be saved.
+     *
+     * @throws IOException if log is closed or records can not be written.
+     */
+    void check() throws IOException {
+        this.lock.lock();
+        try {
+            checkOpen();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    private void reserve(final int size) {
+        if (this.buffer.remaining() < size) {
+            final var bigger = ByteBuffer.allocate(Math.max(2 * this.buffer.capacity(), this.buffer.position() + size));
+            this.buffer.flip();
+            bigger.put(this.buffer);
+            this.buffer = bigger;
+        }
+    }
+
+    private long endRecord(final int start) {
+        final var length = this.buffer.position() - start - HEADER_SIZE;
+        this.crc.reset();
+        this.crc.update(this.buffer.array(), start + HEADER_SIZE, length);
+        this.buffer.putInt(start, length);
+        this.buffer.putInt(start + Integer.BYTES, (int) this.crc.getValue());
+
+        this.appended += HEADER_SIZE + length;
+        this.appendedCond.signal();
+        return this.appended;
+    }
+
+    /**
+     * Append record of new board.
+     *
+     * @param seqNum sequence number of the board;
+     * @param board  new game board;
+     * @return position to wait by {@link #await(long)}.
+     * @throws IOException if log is closed or records can not be written.
+     */
+    long appendCreate(final long seqNum, final Board board) throws IOException {
+        this.lock.lock();
+        try {
+            checkOpen();
+            var size = HEADER_SIZE + 1024;
+            while (true) {
+                reserve(size);
+                final var start = this.buffer.position();
+                try {
+                    this.buffer.position(start + HEADER_SIZE);
+                    this.buffer.put(CREATE);
+                    this.buffer.putLong(seqNum);
+                    BoardCodec.write(this.buffer, board);
+                    return endRecord(start);
+                } catch (BufferOverflowException e) {
+                    this.buffer.position(start);
+                    size = 2 * this.buffer.capacity();
+                } catch (RuntimeException e) {
+                    this.buffer.position(start); // Drop incomplete record.
+                    throw e;
+                }
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Append record of the turn.
+     *
+     * @param seqNum  sequence number of the board;
+     * @param turnNum number of turns made on the board before this turn;
+     * @param pitNum  pit number of the turn;
+     * @return position to wait by {@link #await(long)}.
+     * @throws IOException if log is closed or records can not be written.
+     */
+    long appendTurn(final long seqNum, final int turnNum, final int pitNum) throws IOException {
+        this.lock.lock();
+        try {
+            checkOpen();
+            reserve(HEADER_SIZE + TURN_PAYLOAD_SIZE);
+            final var start = this.buffer.position();
+            this.buffer.position(start + HEADER_SIZE);
+            this.buffer.put(TURN);
+            this.buffer.putLong(seqNum);
+            this.buffer.putInt(turnNum);
+            this.buffer.put((byte) pitNum);
+            return endRecord(start);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Wait while records are written to the disk.
+     *
+     * @param position returned by append method.
+     * @throws IOException if records can not be written.
+     */
+    void await(final long position) throws IOException {
+        this.lock.lock();
+        try {
+            while (this.saved < position && this.error == null) {
+                this.savedCond.awaitUninterruptibly();
+            }
+            if (this.saved < position) {
+                throw new IOException("Log is not saved", this.error);
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Move all records appended before the call to another file and continue the
+     * log in empty file. Records appended during the call can be in any file.
+     *
+     * @param target file for written records, should not exist.
+     * @throws IOException if records can not be written or moved.
+     */
+    void rotate(final Path target) throws IOException {
+        this.lock.lock();
+        try {
+            checkOpen();
+            while (this.rotatePath != null && this.error == null) { // Other rotation is in progress.
+                this.savedCond.awaitUninterruptibly();
+            }
+            final var rotation = this.rotated + 1;
+            this.rotatePath = target;
+            this.appendedCond.signal();
+            while (this.rotated < rotation && this.error == null) {
+                this.savedCond.awaitUninterruptibly();
+            }
+            if (this.rotated < rotation) {
+                throw new IOException("Log is not rotated", this.error);
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    private void writeLoop() {
+        while (true) {
+            final long position;
+            final Path target;
+            this.lock.lock();
+            try {
+                while (this.buffer.position() == 0 && this.rotatePath == null && !this.closed) {
+                    this.appendedCond.awaitUninterruptibly();
+                }
+                if (this.buffer.position() == 0 && this.rotatePath == null) {
+                    return; // Closed and all records are written.
+                }
+                final var full = this.buffer;
+                this.buffer = this.writing;
+                this.writing = full;
+                position = this.appended;
+                target = this.rotatePath;
+            } finally {
+                this.lock.unlock();
+            }
+
+            try {
+                this.writing.flip();
+                while (this.writing.hasRemaining()) {
+                    this.channel.write(this.writing);
+                }
+                this.channel.force(false);
+                this.writing.clear();
+                if (target != null) {
+                    this.channel.close();
+                    Files.move(this.path, target, StandardCopyOption.ATOMIC_MOVE);
+                    this.channel = openChannel(this.path);
+                }
+            } catch (IOException e) {
+                this.lock.lock();
+                try {
+                    this.error = e;
+                    this.savedCond.signalAll();
+                } finally {
+                    this.lock.unlock();
+                }
+                return;
+            }
+
+            this.lock.lock();
+            try {
+                this.saved = position;
+                if (target != null) {
+                    this.rotatePath = null;
+                    ++this.rotated;
+                }
+                this.savedCond.signalAll();
+            } finally {
+                this.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Write all appended records and close the file.
+     */
+    @Override
+    public void close() throws IOException {
+        this.lock.lock();
+        try {
+            this.closed = true;
+            this.appendedCond.signal();
+        } finally {
+            this.lock.unlock();
+        }
+        try {
+            this.writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        this.channel.close();
+    }
+
+    /**
+     * Read boards from the log.
+     *
+     * @param path    of the log file;
+     * @param players finds player by name;
+     * @return boards by sequence numbers in adding order.
+     * @throws IOException if file can not be read or is corrupted.
+     */
+    static Map<Long, Board> load(final Path path, final Function<String, Player> players) throws IOException {
+        final var boards = new LinkedHashMap<Long, Board>();
+        final Map<String, Player> playersCache = new HashMap<>();
+        replay(path, boards, name -> playersCache.computeIfAbsent(name, players));
+        return boards;
+    }
+
+    /**
+     * Apply records from the log to the boards. Incomplete record at the end of
+     * the file (after crash during writing) is removed; broken record before
+     * other records means that the file is corrupted.
+     *
+     * @param path    of the log file;
+     * @param boards  by sequence numbers, new boards are added;
+     * @param players finds player by name, should return the same instance for
+     *                the same name.
+     * @throws IOException if file can not be read or is corrupted.
+     */
+    static void replay(final Path path, final Map<Long, Board> boards, final Function<String, Player> players)
+            throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            final var in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+            final var crc = new CRC32();
+            var valid = 0L;
+            while (true) {
+                final ByteBuffer payload;
+                try {
+                    final var length = in.readInt();
+                    final var checksum = in.readInt();
+                    if (length <= 0 || length > MAX_PAYLOAD_SIZE) {
+                        if (length == 0 && checksum == 0 && isZeroTail(in)) {
+                            break; // Space is allocated, but records are not written.
+                        }
+                        throw new IOException(String.format("Log '%s' has wrong record length at %d", path, valid));
+                    }
+                    final var bytes = new byte[length];
+                    in.readFully(bytes);
+                    crc.reset();
+                    crc.update(bytes);
+                    if ((int) crc.getValue() != checksum) {
+                        if (valid + HEADER_SIZE + length == channel.size()) {
+                            break; // Last record is written partially.
+                        }
+                        throw new IOException(String.format("Log '%s' has wrong checksum at %d", path, valid));
+                    }
+                    payload = ByteBuffer.wrap(bytes);
+                } catch (EOFException e) {
+                    break;
+                }
+
+                try {
+                    apply(payload, boards, players);
+                } catch (RuntimeException e) {
+                    throw new IOException(String.format("Log '%s' is corrupted at %d", path, valid), e);
+                }
+                valid += HEADER_SIZE + payload.capacity();
+            }
+            if (valid < channel.size()) {
+                channel.truncate(valid);
+            }
+        }
+    }
+
+    private static boolean isZeroTail(final DataInputStream in) throws IOException {
+        int b;
+        while ((b = in.read()) >= 0) {
+            if (b != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void apply(final ByteBuffer payload, final Map<Long, Board> boards,
+            final Function<String, Player> players) {
+        final var type = payload.get();
+        final var seqNum = payload.getLong();
+        if (type == CREATE) {
+            final var board = BoardCodec.read(payload, players);
+            boards.putIfAbsent(seqNum, board);
+        } else if (type == TURN) {
+            final var board = boards.get(seqNum);
+            if (board == null) {
+                throw new IllegalArgumentException("Board is not found");
+            }
+            final var turnNum = payload.getInt();
+            if (turnNum > board.getTurnNum()) {
+                throw new IllegalArgumentException("Turn is missed");
+            }
+            if (turnNum == board.getTurnNum()) {
+                board.turn(payload.get());
+            }
+        } else {
+            throw new IllegalArgumentException("Wrong type of record");
+        }
+    }
+}
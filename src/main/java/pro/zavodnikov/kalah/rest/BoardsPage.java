@@ -21,36 +21,37 @@
  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
  * THE SOFTWARE.
  */
-package pro.zavodnikov.kalah.game.pit;
+package pro.zavodnikov.kalah.rest;
 
-import pro.zavodnikov.kalah.player.Player;
+import java.util.List;
+
+import pro.zavodnikov.kalah.game.Board;
 
 /**
- * Implements pit for stones, holds next pit for player.
+ * Page of player boards.
  *
  * @author Dmitry Zavodnikov
  */
-public interface Pit {
+public class BoardsPage {
 
-    /**
-     * @return number of stones in current pit.
-     */
-    int getStones();
+    private final List<Board> boards;
+    private final Long nextCursor;
 
     /**
-     * Add one stone into the pit.
+     * @param boards     boards of the page;
+     * @param nextCursor cursor of the next page or <code>null</code> if this page
+     *                   is the last one.
      */
-    void addOneStone();
+    public BoardsPage(final List<Board> boards, final Long nextCursor) {
+        this.boards = boards;
+        this.nextCursor = nextCursor;
+    }
 
-    /**
-     * @param player that make current action;
-     * @return next pit that should be increase by stone.
-     */
-    Pit getNextPit(Player player);
+    public List<Board> getBoards() {
+        return this.boards;
+    }
 
-    /**
-     * @param player that make current action;
-     * @param pit    next pit for for adding the stone.
-     */
-    void setNextPit(Player player, Pit pit);
+    public Long getNextCursor() {
+        return this.nextCursor;
+    }
 }
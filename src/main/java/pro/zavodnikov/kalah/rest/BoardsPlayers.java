@@ -0,0 +1,151 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.kalah.rest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import pro.zavodnikov.kalah.player.ConsolePlayer;
+
+/**
+ * Append-only file of human players of saved boards. Every record is name and
+ * password hash of the player written like
+ * {@link java.io.DataOutput#writeUTF(String)}. Players are restored on start, so
+ * saved boards are given only to the player who knows the password. Players are
+ * few, so the file is not rotated.
+ *
+ * @author Dmitry Zavodnikov
+ */
+class BoardsPlayers implements Closeable {
+
+    private final FileChannel channel;
+    private final Set<String> saved = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private BoardsPlayers(final Path path, final List<ConsolePlayer> players) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        for (var player : players) {
+            this.saved.add(player.getName());
+        }
+    }
+
+    /**
+     * Open file to append players.
+     *
+     * @param path    of the file;
+     * @param players already saved players returned by {@link #load(Path)}.
+     * @return file of players.
+     * @throws IOException if file can not be opened.
+     */
+    static BoardsPlayers open(final Path path, final List<ConsolePlayer> players) throws IOException {
+        return new BoardsPlayers(path, players);
+    }
+
+    /**
+     * Read players from the file. Incomplete record at the end of the file
+     * (after crash during writing) is removed.
+     *
+     * @param path of the file;
+     * @return saved players.
+     * @throws IOException if file can not be read.
+     */
+    static List<ConsolePlayer> load(final Path path) throws IOException {
+        final var players = new ArrayList<ConsolePlayer>();
+        if (!Files.exists(path)) {
+            return players;
+        }
+        final var bytes = Files.readAllBytes(path);
+        final var in = new DataInputStream(new ByteArrayInputStream(bytes));
+        var valid = 0;
+        try {
+            while (valid < bytes.length) {
+                final var name = in.readUTF();
+                final var passwordHash = in.readUTF();
+                players.add(ConsolePlayer.restore(name, passwordHash));
+                valid = bytes.length - in.available();
+            }
+        } catch (EOFException e) {
+            try (var channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                channel.truncate(valid);
+            }
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+        return players;
+    }
+
+    /**
+     * Save the player if it is not saved yet; returns after the player is
+     * written to the disk.
+     *
+     * @param player human player.
+     * @throws IOException if the player can not be written.
+     */
+    void add(final ConsolePlayer player) throws IOException {
+        if (this.saved.contains(player.getName())) {
+            return;
+        }
+        this.lock.lock();
+        try {
+            if (this.saved.contains(player.getName())) {
+                return;
+            }
+            final var bytes = new ByteArrayOutputStream();
+            try (var out = new DataOutputStream(bytes)) {
+                out.writeUTF(player.getName());
+                out.writeUTF(player.getPasswordHash());
+            }
+            final var buffer = ByteBuffer.wrap(bytes.toByteArray());
+            while (buffer.hasRemaining()) {
+                this.channel.write(buffer);
+            }
+            this.channel.force(false);
+            this.saved.add(player.getName());
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.channel.close();
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.kalah.rest;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import pro.zavodnikov.kalah.player.Player;
+
+/**
+ * Filter and page of player boards.
+ *
+ * @author Dmitry Zavodnikov
+ */
+public class BoardsQuery {
+
+    /**
+     * Status of the game.
+     */
+    public enum Status {
+        ALL, ACTIVE, FINISHED;
+    }
+
+    private final Status status;
+    private final Player opponent;
+    private final long updatedSinceMs;
+    private final long cursor;
+    private final int limit;
+
+    /**
+     * @param status         status of games;
+     * @param opponent       another player of games or <code>null</code> for
+     *                       any;
+     * @param updatedSinceMs minimal time of last change of the board or
+     *                       <code>0</code> for any;
+     * @param cursor         cursor of previous page or <code>0</code> for the
+     *                       first page;
+     * @param limit          maximal number of boards in the page.
+     */
+    public BoardsQuery(final Status status, final Player opponent, final long updatedSinceMs, final long cursor,
+            final int limit) {
+        if (limit <= 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Limit should be positive");
+        }
+        if (cursor < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Wrong cursor");
+        }
+        this.status = status != null ? status : Status.ALL;
+        this.opponent = opponent;
+        this.updatedSinceMs = updatedSinceMs;
+        this.cursor = cursor;
+        this.limit = limit;
+    }
+
+    public Status getStatus() {
+        return this.status;
+    }
+
+    public Player getOpponent() {
+        return this.opponent;
+    }
+
+    public long getUpdatedSinceMs() {
+        return this.updatedSinceMs;
+    }
+
+    public long getCursor() {
+        return this.cursor;
+    }
+
+    public int getLimit() {
+        return this.limit;
+    }
+}
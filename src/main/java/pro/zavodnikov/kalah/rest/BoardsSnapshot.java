@@ -0,0 +1,241 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.kalah.rest;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import pro.zavodnikov.kalah.game.Board;
+import pro.zavodnikov.kalah.game.BoardCodec;
+import pro.zavodnikov.kalah.player.Player;
+
+/**
+ * Binary snapshot of all boards, one record per board. Format:
+ *
+ * <pre>
+ * header:  int magic "KBS1"
+ * blocks:  records of up to {@value #BLOCK_SIZE} boards, record is [short length][long sequence number][board]
+ * trailer: long offset of every block, int number of blocks, long number of boards, int magic
+ * </pre>
+ *
+ * Boards are written by {@link BoardCodec}. Snapshot is written by
+ * memory-mapped segments into temporary file which replaces previous snapshot
+ * only when all boards are written. Blocks are decoded in parallel on load.
+ *
+ * @author Dmitry Zavodnikov
+ */
+class BoardsSnapshot {
+
+    private static final int MAGIC = 0x4B425331; // "KBS1"
+    private static final int BLOCK_SIZE = 4096;
+    private static final int SEGMENT_SIZE = 64 * 1024 * 1024;
+    private static final int MAX_RECORD_SIZE = Short.MAX_VALUE;
+    private static final int TRAILER_SIZE = 16;
+
+    private BoardsSnapshot() {
+    }
+
+    /**
+     * Writes snapshot into temporary file; {@link #commit()} replaces the
+     * snapshot by it, {@link #close()} without commit removes it.
+     */
+    static class Writer implements Closeable {
+
+        private final Path path;
+        private final Path tmpPath;
+        private final FileChannel channel;
+        private final List<Long> blocks = new ArrayList<>();
+
+        private MappedByteBuffer segment;
+        private long segmentStart;
+        private long boardsNum;
+        private boolean committed;
+
+        private Writer(final Path path) throws IOException {
+            this.path = path;
+            this.tmpPath = path.resolveSibling(path.getFileName() + ".tmp");
+            this.channel = FileChannel.open(this.tmpPath, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.segment = this.channel.map(FileChannel.MapMode.READ_WRITE, 0, SEGMENT_SIZE);
+            this.segment.putInt(MAGIC);
+        }
+
+        private long position() {
+            return this.segmentStart + this.segment.position();
+        }
+
+        /**
+         * Add the board to the snapshot.
+         *
+         * @param seqNum sequence number of the board;
+         * @param board  game board.
+         * @throws IOException if the board can not be written.
+         */
+        void add(final long seqNum, final Board board) throws IOException {
+            if (this.segment.remaining() < Short.BYTES + MAX_RECORD_SIZE) {
+                this.segmentStart = position();
+                this.segment.force();
+                this.segment = this.channel.map(FileChannel.MapMode.READ_WRITE, this.segmentStart, SEGMENT_SIZE);
+            }
+            final var start = this.segment.position();
+            this.segment.position(start + Short.BYTES);
+            this.segment.putLong(seqNum);
+            BoardCodec.write(this.segment, board);
+            final var length = this.segment.position() - start - Short.BYTES;
+            if (length > MAX_RECORD_SIZE) {
+                throw new IllegalArgumentException("Board is too big");
+            }
+            this.segment.putShort(start, (short) length);
+
+            if (this.boardsNum % BLOCK_SIZE == 0) {
+                this.blocks.add(this.segmentStart + start);
+            }
+            ++this.boardsNum;
+        }
+
+        /**
+         * Save all added boards and replace previous snapshot.
+         *
+         * @throws IOException if the snapshot can not be saved.
+         */
+        void commit() throws IOException {
+            final var end = position();
+            this.segment.force();
+
+            final var trailer = ByteBuffer.allocate(this.blocks.size() * Long.BYTES + TRAILER_SIZE);
+            for (var block : this.blocks) {
+                trailer.putLong(block);
+            }
+            trailer.putInt(this.blocks.size());
+            trailer.putLong(this.boardsNum);
+            trailer.putInt(MAGIC);
+            trailer.flip();
+            this.channel.truncate(end);
+            while (trailer.hasRemaining()) {
+                this.channel.write(trailer, end + trailer.position());
+            }
+            this.channel.force(true);
+            this.channel.close();
+
+            Files.move(this.tmpPath, this.path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            this.committed = true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.channel.close();
+            if (!this.committed) {
+                Files.deleteIfExists(this.tmpPath);
+            }
+        }
+    }
+
+    /**
+     * Start new snapshot.
+     *
+     * @param path of the snapshot file;
+     * @return writer of the snapshot.
+     * @throws IOException if temporary file can not be created.
+     */
+    static Writer create(final Path path) throws IOException {
+        return new Writer(path);
+    }
+
+    /**
+     * Read boards from the snapshot. Blocks of boards are decoded in parallel.
+     *
+     * @param path    of the snapshot file;
+     * @param players finds player by name, should be thread-safe and return the
+     *                same instance for the same name;
+     * @return boards by sequence numbers in adding order; empty if file does not
+     *         exist.
+     * @throws IOException if file can not be read or is corrupted.
+     */
+    static Map<Long, Board> load(final Path path, final Function<String, Player> players) throws IOException {
+        final var boards = new LinkedHashMap<Long, Board>();
+        if (!Files.exists(path)) {
+            return boards;
+        }
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final var size = channel.size();
+            final var trailer = ByteBuffer.allocate(TRAILER_SIZE);
+            channel.read(trailer, size - TRAILER_SIZE);
+            trailer.flip();
+            final var blocksNum = trailer.getInt();
+            final var boardsNum = trailer.getLong();
+            if (trailer.getInt() != MAGIC || blocksNum < 0 || boardsNum < 0) {
+                throw new IOException(String.format("Snapshot '%s' is corrupted", path));
+            }
+
+            final var offsets = ByteBuffer.allocate(blocksNum * Long.BYTES);
+            final var blocksEnd = size - TRAILER_SIZE - offsets.capacity();
+            channel.read(offsets, blocksEnd);
+            offsets.flip();
+            final var blockStarts = new long[blocksNum + 1];
+            for (var i = 0; i < blocksNum; ++i) {
+                blockStarts[i] = offsets.getLong();
+            }
+            blockStarts[blocksNum] = blocksEnd;
+
+            final var seqNums = new long[(int) boardsNum];
+            final var decoded = new Board[(int) boardsNum];
+            try {
+                IntStream.range(0, blocksNum).parallel().forEach(block -> {
+                    try {
+                        final var in = channel.map(FileChannel.MapMode.READ_ONLY, blockStarts[block],
+                                blockStarts[block + 1] - blockStarts[block]);
+                        for (var i = block * BLOCK_SIZE; in.hasRemaining(); ++i) {
+                            final var length = in.getShort();
+                            final var record = in.slice(in.position(), length);
+                            in.position(in.position() + length);
+                            seqNums[i] = record.getLong();
+                            decoded[i] = BoardCodec.read(record, players);
+                        }
+                    } catch (IOException e) {
+                        throw new IllegalStateException(e);
+                    }
+                });
+            } catch (RuntimeException e) {
+                throw new IOException(String.format("Snapshot '%s' is corrupted", path), e);
+            }
+            for (var i = 0; i < decoded.length; ++i) {
+                boards.put(seqNums[i], decoded[i]);
+            }
+        }
+        return boards;
+    }
+}
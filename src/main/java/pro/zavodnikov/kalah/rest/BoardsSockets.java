@@ -0,0 +1,337 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.kalah.rest;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.ServletContextAware;
+import org.springframework.web.server.ResponseStatusException;
+
+import jakarta.servlet.ServletContext;
+import jakarta.websocket.CloseReason;
+import jakarta.websocket.DeploymentException;
+import jakarta.websocket.Endpoint;
+import jakarta.websocket.EndpointConfig;
+import jakarta.websocket.MessageHandler;
+import jakarta.websocket.Session;
+import jakarta.websocket.server.ServerContainer;
+import jakarta.websocket.server.ServerEndpointConfig;
+import pro.zavodnikov.kalah.game.Board;
+import pro.zavodnikov.kalah.player.Player;
+
+/**
+ * WebSocket channel of one board: <code>/v1/board/{boardId}/socket?token=...</code>.
+ * Access token is validated once when connection is opened; then every binary
+ * frame from the client is a turn:
+ *
+ * <pre>
+ * byte   pit number
+ * </pre>
+ *
+ * After every change of the board its position is sent to all connections of
+ * the board (both players) as binary frame, first frame is sent on connection:
+ *
+ * <pre>
+ * byte   {@value #POSITION_FRAME}
+ * byte   active player: 0 if game is over, 1 or 2 (order of players of the board)
+ * int    turn number
+ * byte   number of regular pits of every player
+ * short  stones of every pit: regular and big pits of first player, then of second player
+ * </pre>
+ *
+ * Rejected turn is answered by frame with the reason:
+ *
+ * <pre>
+ * byte   {@value #ERROR_FRAME}
+ * bytes  UTF-8 message
+ * </pre>
+ *
+ * Turns are made by the pool of computer turns, not by threads of WebSocket
+ * container, so computer turns that follow the turn do not block them. Frames
+ * are sent asynchronously from bounded queue of every connection; slow
+ * connection is closed when its queue is full.
+ *
+ * @author Dmitry Zavodnikov
+ */
+@Component
+public class BoardsSockets implements BoardsListener, ServletContextAware {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BoardsSockets.class);
+
+    public static final String PATH = "/" + AbstractController.API_V1 + "/board/{boardId}/socket";
+
+    public static final byte POSITION_FRAME = 1;
+    public static final byte ERROR_FRAME = 2;
+
+    private static final String TOKEN_PARAM = "token";
+
+    private final Map<String, Set<Connection>> connections = new ConcurrentHashMap<>();
+
+    @Autowired
+    private SecurityStorage security;
+
+    @Autowired
+    @Lazy // Storage notifies listeners, so it depends on this class.
+    private BoardsStorage games;
+
+    @Value("${kalah.boards.socket-queue-size:64}")
+    private int queueSize;
+
+    /**
+     * Open connection of the player to the board.
+     */
+    private final class Connection {
+
+        private final String boardId;
+        private final Session session;
+        private final ArrayBlockingQueue<ByteBuffer> queue;
+        private final AtomicBoolean sending = new AtomicBoolean();
+
+        private Connection(final String boardId, final Session session) {
+            this.boardId = boardId;
+            this.session = session;
+            this.queue = new ArrayBlockingQueue<>(BoardsSockets.this.queueSize);
+        }
+
+        private void send(final ByteBuffer frame) {
+            if (!this.queue.offer(frame)) {
+                close(new CloseReason(CloseReason.CloseCodes.TRY_AGAIN_LATER, "Connection is too slow"));
+                return;
+            }
+            sendNext();
+        }
+
+        private void sendNext() {
+            if (this.queue.isEmpty() || !this.sending.compareAndSet(false, true)) {
+                return;
+            }
+            final var frame = this.queue.poll();
+            if (frame == null) {
+                this.sending.set(false);
+                sendNext(); // Frame could be added after the check.
+                return;
+            }
+            try {
+                this.session.getAsyncRemote().sendBinary(frame, result -> {
+                    this.sending.set(false);
+                    if (result.isOK()) {
+                        sendNext();
+                    } else {
+                        close(new CloseReason(CloseReason.CloseCodes.CLOSED_ABNORMALLY, "Frame is not sent"));
+                    }
+                });
+            } catch (RuntimeException e) {
+                this.sending.set(false);
+                close(new CloseReason(CloseReason.CloseCodes.CLOSED_ABNORMALLY, "Frame is not sent"));
+            }
+        }
+
+        private void close(final CloseReason reason) {
+            remove(this);
+            try {
+                this.session.close(reason);
+            } catch (IOException e) {
+                LOG.debug("Connection is not closed", e);
+            }
+        }
+    }
+
+    /**
+     * Endpoint of one connection.
+     */
+    private final class BoardEndpoint extends Endpoint {
+
+        private Connection connection;
+
+        @Override
+        public void onOpen(final Session session, final EndpointConfig config) {
+            final var boardId = session.getPathParameters().get("boardId");
+            final List<String> tokens = session.getRequestParameterMap().get(TOKEN_PARAM);
+
+            final Player player;
+            final Board board;
+            try {
+                player = BoardsSockets.this.security.validateAccessToken(tokens != null ? tokens.get(0) : null);
+                board = BoardsSockets.this.games.getGameBoard(boardId); // Copy taken under the board lock.
+                if (!board.getPlayers().contains(player)) {
+                    throw new IllegalArgumentException("Player does not play on the board");
+                }
+            } catch (ResponseStatusException | IllegalArgumentException e) {
+                closeSession(session, e.getMessage());
+                return;
+            }
+
+            this.connection = new Connection(boardId, session);
+            add(this.connection);
+            this.connection.send(positionFrame(board)); // Can be sent after newer position; client checks turn.
+
+            session.addMessageHandler(ByteBuffer.class, new MessageHandler.Whole<ByteBuffer>() {
+
+                @Override
+                public void onMessage(final ByteBuffer frame) {
+                    if (frame.remaining() != 1) {
+                        BoardEndpoint.this.connection.send(errorFrame("Frame should have only pit number"));
+                        return;
+                    }
+                    BoardsSockets.this.games.submitTurn(boardId, player, frame.get()).whenComplete((result, e) -> {
+                        if (e != null) {
+                            BoardEndpoint.this.connection.send(errorFrame(turnError(e)));
+                        }
+                    });
+                }
+            });
+        }
+
+        @Override
+        public void onClose(final Session session, final CloseReason closeReason) {
+            if (this.connection != null) {
+                remove(this.connection);
+            }
+        }
+
+        @Override
+        public void onError(final Session session, final Throwable thr) {
+            LOG.debug("WebSocket error", thr);
+        }
+    }
+
+    private static String turnError(final Throwable e) {
+        if (e instanceof ResponseStatusException) {
+            return ((ResponseStatusException) e).getReason();
+        }
+        if (e instanceof IllegalArgumentException) {
+            return e.getMessage();
+        }
+        LOG.warn("Turn is not made", e);
+        return "Turn is not made";
+    }
+
+    private static void closeSession(final Session session, final String reason) {
+        try {
+            session.close(new CloseReason(CloseReason.CloseCodes.VIOLATED_POLICY, reason));
+        } catch (IOException e) {
+            LOG.debug("Connection is not closed", e);
+        }
+    }
+
+    /**
+     * @param board game board;
+     * @return frame with position of the board.
+     */
+    static ByteBuffer positionFrame(final Board board) {
+        final var players = board.getPlayers().iterator();
+        final var player1 = players.next();
+        final var player2 = players.next();
+        final var activePlayer = board.getActivePlayer();
+
+        final var frame = ByteBuffer.allocate(1 + 1 + Integer.BYTES + 1 + (2 * board.getPitsNum() + 2) * Short.BYTES);
+        frame.put(POSITION_FRAME);
+        frame.put((byte) (activePlayer == null ? 0 : activePlayer == player1 ? 1 : 2));
+        frame.putInt(board.getTurnNum());
+        frame.put((byte) board.getPitsNum());
+        for (var player : List.of(player1, player2)) {
+            for (var i = 0; i < board.getPitsNum(); ++i) {
+                frame.putShort((short) board.getRegularPitStones(player, i));
+            }
+            frame.putShort((short) board.getBigPitStones(player));
+        }
+        return frame.flip();
+    }
+
+    /**
+     * @param message reason of rejected turn;
+     * @return frame with the message.
+     */
+    static ByteBuffer errorFrame(final String message) {
+        final var bytes = (message != null ? message : "").getBytes(StandardCharsets.UTF_8);
+        final var frame = ByteBuffer.allocate(1 + bytes.length);
+        frame.put(ERROR_FRAME);
+        frame.put(bytes);
+        return frame.flip();
+    }
+
+    private void add(final Connection connection) {
+        this.connections.compute(connection.boardId, (id, boardConnections) -> {
+            final Set<Connection> result = boardConnections != null ? boardConnections
+                    : ConcurrentHashMap.newKeySet();
+            result.add(connection);
+            return result;
+        });
+    }
+
+    private void remove(final Connection connection) {
+        this.connections.computeIfPresent(connection.boardId, (id, boardConnections) -> {
+            boardConnections.remove(connection);
+            return boardConnections.isEmpty() ? null : boardConnections;
+        });
+    }
+
+    @Override
+    public void boardChanged(final Board board) {
+        final var boardConnections = this.connections.get(board.getId());
+        if (boardConnections == null) {
+            return;
+        }
+        final var frame = positionFrame(board);
+        for (var connection : boardConnections) {
+            connection.send(frame.duplicate());
+        }
+    }
+
+    @Override
+    public void setServletContext(final ServletContext servletContext) {
+        final var container = (ServerContainer) servletContext.getAttribute(ServerContainer.class.getName());
+        if (container == null) {
+            LOG.info("WebSocket is not supported by the server"); // E.g. mock servlet environment of tests.
+            return;
+        }
+        final var config = ServerEndpointConfig.Builder.create(BoardEndpoint.class, PATH)
+                .configurator(new ServerEndpointConfig.Configurator() {
+
+                    @Override
+                    public <T> T getEndpointInstance(final Class<T> endpointClass) {
+                        return endpointClass.cast(new BoardEndpoint());
+                    }
+                }).build();
+        try {
+            container.addEndpoint(config);
+        } catch (DeploymentException e) {
+            throw new IllegalStateException("WebSocket endpoint is not registered", e);
+        }
+    }
+}
@@ -24,13 +24,15 @@
 package pro.zavodnikov.kalah.rest;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import pro.zavodnikov.kalah.game.Board;
 import pro.zavodnikov.kalah.player.Player;
 import pro.zavodnikov.kalah.player.RandomPlayer;
 
 /**
- * Games boards storage.
+ * Games boards storage. Returned boards are copies that are not changed by
+ * later turns, so they can be read and serialized without locks.
  *
  * @author Dmitry Zavodnikov
  */
@@ -38,16 +40,48 @@ public interface BoardsStorage {
 
     /**
      * @param boardName name of existing board;
-     * @return board of game.
+     * @return copy of board of game.
      */
     Board getGameBoard(String boardName);
 
+    /**
+     * @param boardId ID of existing board;
+     * @param player  player of the board;
+     * @return pit numbers of all turns of the board.
+     */
+    BoardHistory getBoardHistory(String boardId, Player player);
+
+    /**
+     * @param boardId ID of existing board;
+     * @param player  player of the board;
+     * @param turnNum number of turns from the start of the game;
+     * @return position of the board after provided number of turns.
+     */
+    Board getGameBoard(String boardId, Player player, int turnNum);
+
     /**
      * @param player that plays in some boards;
-     * @return list of user game boards sorted by adding order.
+     * @return list of copies of user game boards sorted by adding order.
      */
     List<Board> getPlayerBoards(Player player);
 
+    /**
+     * @param player that plays in some boards;
+     * @param query  filter and page of boards;
+     * @return page of copies of user game boards sorted by adding order.
+     */
+    BoardsPage getPlayerBoards(Player player, BoardsQuery query);
+
+    /**
+     * Version is read before the boards, so the boards read after it are not
+     * older than the version.
+     *
+     * @param player that plays in some boards;
+     * @return version of player boards which is changed after every change of
+     *         the boards (new board or turn).
+     */
+    long getPlayerBoardsVersion(Player player);
+
     /**
      * Create new game.
      *
@@ -67,4 +101,15 @@ public interface BoardsStorage {
      * @param nextTurnPitNum pit number for next turn.
      */
     void nextTurn(String boardId, Player player, int nextTurnPitNum);
+
+    /**
+     * Perform next turn like {@link #nextTurn(String, Player, int)}, but in the
+     * pool of computer turns instead of the calling thread.
+     *
+     * @param boardId        ID of game board;
+     * @param player         player who wants to make the turn;
+     * @param nextTurnPitNum pit number for next turn.
+     * @return completed when the turn is made or rejected.
+     */
+    CompletableFuture<Void> submitTurn(String boardId, Player player, int nextTurnPitNum);
 }
@@ -0,0 +1,270 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.kalah.rest;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.server.ResponseStatusException;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import pro.zavodnikov.kalah.player.ComputerPlayer;
+import pro.zavodnikov.kalah.player.ConsolePlayer;
+import pro.zavodnikov.kalah.player.Player;
+
+/**
+ * Save data in memory and in the append-only log defined by
+ * <code>kalah.boards.log-path</code>. Request that changes the board is answered
+ * only after the change is written to the disk.
+ * <p>
+ * Every <code>kalah.boards.snapshot-period-ms</code> all boards are saved into
+ * {@link BoardsSnapshot} (<code>.snapshot</code> file next to the log) and the
+ * log is rotated, so it keeps only changes made after the snapshot was started.
+ * On start the snapshot is loaded, the logs are replayed over it and boards are
+ * added to the storage in parallel.
+ * <p>
+ * Human players of the boards are saved into {@link BoardsPlayers}
+ * (<code>.players</code> file next to the log) and restored with their
+ * passwords. Player of restored board without saved password is not equal to
+ * any new player, so nobody gets the boards by registering the same name.
+ *
+ * @author Dmitry Zavodnikov
+ */
+@Controller
+@ConditionalOnExpression("!'${kalah.boards.log-path:}'.isEmpty()")
+public class BoardsStorageFile extends BoardsStorageMemory {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BoardsStorageFile.class);
+
+    /**
+     * Player of restored board whose password is not saved. It is equal only to
+     * itself, so it is not confused with new player with the same name.
+     */
+    private static final class UnknownPlayer implements Player {
+
+        private final String name;
+
+        private UnknownPlayer(final String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String getName() {
+            return this.name;
+        }
+
+        @Override
+        public String toString() {
+            return this.name;
+        }
+    }
+
+    @Autowired
+    private SecurityStorage security;
+
+    @Value("${kalah.boards.log-path}")
+    private String logPath;
+
+    @Value("${kalah.boards.snapshot-period-ms:600000}")
+    private long snapshotPeriodMs;
+
+    /**
+     * New boards are created under read lock, log is rotated under write lock, so
+     * every board with records in rotated log is already in the storage when the
+     * snapshot is taken.
+     */
+    private final ReentrantReadWriteLock rotationLock = new ReentrantReadWriteLock();
+
+    private Path snapshotPath;
+    private Path rotatedLogPath;
+    private BoardsLog log;
+    private BoardsPlayers players;
+    private ScheduledExecutorService snapshotExecutor;
+
+    @PostConstruct
+    public void openLog() {
+        final var path = Paths.get(this.logPath);
+        this.snapshotPath = path.resolveSibling(path.getFileName() + ".snapshot");
+        this.rotatedLogPath = path.resolveSibling(path.getFileName() + ".old");
+
+        final var playersPath = path.resolveSibling(path.getFileName() + ".players");
+        try {
+            final var savedPlayers = BoardsPlayers.load(playersPath);
+            for (var player : savedPlayers) {
+                this.security.addPlayer(player);
+            }
+            this.players = BoardsPlayers.open(playersPath, savedPlayers);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        final var names = new HashSet<>(this.security.getPlayersNames());
+        final Map<String, Player> playersCache = new ConcurrentHashMap<>();
+        final Function<String, Player> players = name -> playersCache.computeIfAbsent(name, n -> {
+            final Player player = names.contains(n) ? this.security.findPlayerByName(n) : null;
+            return player instanceof ComputerPlayer || player instanceof ConsolePlayer ? player : new UnknownPlayer(n);
+        });
+        try {
+            final var start = System.currentTimeMillis();
+            final var boards = BoardsSnapshot.load(this.snapshotPath, players);
+            BoardsLog.replay(this.rotatedLogPath, boards, players);
+            BoardsLog.replay(path, boards, players);
+
+            this.log = BoardsLog.open(path);
+            restoreBoards(boards);
+            LOG.info("{} boards are restored in {} ms", boards.size(), System.currentTimeMillis() - start);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        if (this.snapshotPeriodMs > 0) {
+            this.snapshotExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+                final var thread = new Thread(r, "boards-snapshot");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.snapshotExecutor.scheduleWithFixedDelay(() -> {
+                try {
+                    takeSnapshot();
+                } catch (IOException | RuntimeException e) {
+                    LOG.error("Snapshot is not saved", e);
+                }
+            }, this.snapshotPeriodMs, this.snapshotPeriodMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void closeLog() throws IOException {
+        if (this.snapshotExecutor != null) {
+            this.snapshotExecutor.shutdownNow();
+        }
+        this.log.close();
+        this.players.close();
+    }
+
+    /**
+     * Save all boards into the snapshot and remove log records saved by it.
+     *
+     * @return number of saved boards.
+     * @throws IOException if the snapshot can not be saved.
+     */
+    int takeSnapshot() throws IOException {
+        // Rotated log is left by failed snapshot; it will be removed by this one.
+        if (!Files.exists(this.rotatedLogPath)) {
+            this.rotationLock.writeLock().lock();
+            try {
+                this.log.rotate(this.rotatedLogPath);
+            } finally {
+                this.rotationLock.writeLock().unlock();
+            }
+        }
+
+        var boardsNum = 0;
+        try (var writer = BoardsSnapshot.create(this.snapshotPath)) {
+            for (var entry : getEntries()) {
+                final var lock = entry.getLock();
+                lock.lock();
+                try {
+                    writer.add(entry.getSeqNum(), entry.getFullBoard());
+                } finally {
+                    lock.unlock();
+                }
+                ++boardsNum;
+            }
+            writer.commit();
+        }
+        Files.delete(this.rotatedLogPath);
+        return boardsNum;
+    }
+
+    @Override
+    public String createNewBoard(final Player firstPlayer, final Player secondPlayer) {
+        this.rotationLock.readLock().lock();
+        try {
+            return super.createNewBoard(firstPlayer, secondPlayer);
+        } finally {
+            this.rotationLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    protected long boardCreated(final BoardEntry entry) {
+        try {
+            for (var player : entry.getBoard().getPlayers()) {
+                if (player instanceof ConsolePlayer) {
+                    this.players.add((ConsolePlayer) player);
+                }
+            }
+            return this.log.appendCreate(entry.getSeqNum(), entry.getBoard());
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
+        }
+    }
+
+    @Override
+    protected void checkSaving() {
+        try {
+            this.log.check();
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
+        }
+    }
+
+    @Override
+    protected long turnMade(final BoardEntry entry, final int pitNum) {
+        try {
+            return this.log.appendTurn(entry.getSeqNum(), entry.getBoard().getTurnNum() - 1, pitNum);
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
+        }
+    }
+
+    @Override
+    protected void awaitSaved(final long position) {
+        try {
+            this.log.await(position);
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
+        }
+    }
+}
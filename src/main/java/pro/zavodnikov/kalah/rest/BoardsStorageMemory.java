@@ -23,19 +23,37 @@
  */
 package pro.zavodnikov.kalah.rest;
 
-import java.util.LinkedHashMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.server.ResponseStatusException;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import pro.zavodnikov.kalah.game.Board;
 import pro.zavodnikov.kalah.player.ComputerPlayer;
 import pro.zavodnikov.kalah.player.Player;
@@ -43,36 +61,466 @@ import pro.zavodnikov.kalah.player.RandomPlayer;
 
 /**
  * Save data in memory.
+ * <p>
+ * Storage is thread-safe: every board has own lock and all turns of the board
+ * (including computer turns) are made under it, so turns of different boards
+ * do not wait each other. {@link ReentrantLock} is used instead of
+ * <code>synchronized</code> to not pin virtual threads during long computer
+ * turns.
+ * <p>
+ * When request is handled by virtual thread
+ * (<code>spring.threads.virtual.enabled</code>), computer turns are computed by
+ * bounded pool of platform threads (<code>kalah.computer.turn-threads</code>):
+ * virtual thread waits for the turn without carrier thread, so long search does
+ * not block carrier threads shared by all requests.
+ * <p>
+ * With <code>kalah.computer.async-turns</code> turn of human player returns
+ * without waiting for computer: computer turns are scheduled into the same pool
+ * one by one (next turn of the board is scheduled by previous one, so turns of
+ * the board are ordered), boards that wait longer are served first. Turns of
+ * board that is not accessed during <code>kalah.computer.abandoned-ms</code> are
+ * cancelled and scheduled again when the human player returns to own boards.
+ * Failed computer turn is scheduled again after
+ * <code>kalah.computer.turn-retry-ms</code>, doubled for every next failure;
+ * after <code>kalah.computer.turn-retries</code> failures in a row computer
+ * does not play the board anymore.
+ * <p>
+ * Finished boards are archived (replaced by {@link ArchivedBoard}) after
+ * <code>kalah.boards.finished-ttl-ms</code> or earlier, in order of last access,
+ * if there are more than <code>kalah.boards.max-live</code> not archived
+ * boards. Archived boards are still available by ID.
+ * <p>
+ * {@link BoardsListener}s are notified about new boards and turns.
+ * <p>
+ * Used when <code>kalah.boards.log-path</code> is not defined; otherwise boards
+ * are saved by {@link BoardsStorageFile}.
  *
  * @author Dmitry Zavodnikov
  */
 @Controller
+@ConditionalOnExpression("'${kalah.boards.log-path:}'.isEmpty()")
 public class BoardsStorageMemory implements BoardsStorage {
 
-    private final Map<String, Board> boards = new LinkedHashMap<>();
+    private static final Logger LOG = LoggerFactory.getLogger(BoardsStorageMemory.class);
+
+    private final Map<String, BoardEntry> boards = new ConcurrentHashMap<>();
+    private final PlayerBoardsIndex playerBoards = new PlayerBoardsIndex();
+    private final AtomicLong seqNum = new AtomicLong();
+    private final AtomicInteger liveBoards = new AtomicInteger();
+    private final AtomicBoolean evictionScheduled = new AtomicBoolean();
+    private final Map<Player, Set<BoardEntry>> cancelledTurns = new ConcurrentHashMap<>();
 
     @Autowired
     private Supplier<Random> random;
 
+    @Autowired(required = false)
+    private List<BoardsListener> listeners = List.of();
+
+    @Value("${kalah.boards.finished-ttl-ms:600000}")
+    private long finishedTtlMs;
+
+    @Value("${kalah.boards.max-live:10000}")
+    private int maxLiveBoards;
+
+    @Value("${kalah.boards.eviction-period-ms:60000}")
+    private long evictionPeriodMs;
+
+    @Value("${kalah.computer.turn-threads:0}")
+    private int computerTurnThreads;
+
+    @Value("${kalah.computer.async-turns:false}")
+    private boolean asyncComputerTurns;
+
+    @Value("${kalah.computer.abandoned-ms:600000}")
+    private long abandonedMs;
+
+    @Value("${kalah.computer.turn-retries:5}")
+    private int computerTurnRetries;
+
+    @Value("${kalah.computer.turn-retry-ms:1000}")
+    private long computerTurnRetryMs;
+
+    private ScheduledExecutorService evictionExecutor;
+    private ComputerTurns computerTurns;
+
+    @PostConstruct
+    public void startEviction() {
+        this.evictionExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+            final var thread = new Thread(r, "boards-eviction");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.evictionExecutor.scheduleWithFixedDelay(() -> evictBoards(System.currentTimeMillis()),
+                this.evictionPeriodMs, this.evictionPeriodMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stopEviction() {
+        this.evictionExecutor.shutdownNow();
+    }
+
+    @PostConstruct
+    public void startComputerTurns() {
+        final var threads = this.computerTurnThreads > 0 ? this.computerTurnThreads
+                : Runtime.getRuntime().availableProcessors();
+        this.computerTurns = new ComputerTurns(threads);
+    }
+
+    /**
+     * Not started computer turns are lost; they are made again when boards are
+     * restored.
+     */
+    @PreDestroy
+    public void stopComputerTurns() {
+        this.computerTurns.shutdown();
+    }
+
+    private boolean archive(final BoardEntry entry) {
+        final var lock = entry.getLock();
+        lock.lock();
+        try {
+            if (!entry.isLive() || !entry.isGameOver()) {
+                return false;
+            }
+            entry.archive();
+            this.liveBoards.decrementAndGet();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Archive finished boards by the eviction policy.
+     *
+     * @param nowMs current time;
+     * @return number of archived boards.
+     */
+    int evictBoards(final long nowMs) {
+        this.evictionScheduled.set(false);
+
+        final var finished = new ArrayList<BoardEntry>();
+        for (var entry : this.boards.values()) {
+            if (entry.isLive() && entry.isGameOver()) {
+                finished.add(entry);
+            }
+        }
+        finished.sort(Comparator.comparingLong(BoardEntry::getAccessTimeMs));
+
+        var archived = 0;
+        for (var entry : finished) {
+            final var expired = entry.getUpdateTimeMs() <= nowMs - this.finishedTtlMs;
+            if ((expired || this.liveBoards.get() > this.maxLiveBoards) && archive(entry)) {
+                ++archived;
+            }
+        }
+        return archived;
+    }
+
+    private BoardEntry getEntry(final String boardId) {
+        final var entry = this.boards.get(boardId);
+        if (entry == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Board not found");
+        }
+        return entry;
+    }
+
+    /**
+     * @return all boards of the storage.
+     */
+    protected Collection<BoardEntry> getEntries() {
+        return this.boards.values();
+    }
+
     @Override
     public Board getGameBoard(final String boardId) {
-        final var board = this.boards.get(boardId);
-        if (board == null) {
-            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Board not found");
+        final var entry = getEntry(boardId);
+        entry.setAccessTimeMs(System.currentTimeMillis());
+        final var board = entry.snapshot();
+        for (var player : board.getPlayers()) {
+            resumeComputerTurns(player);
+        }
+        return board;
+    }
+
+    private Board getPlayerBoard(final BoardEntry entry, final Player player) {
+        entry.setAccessTimeMs(System.currentTimeMillis());
+        resumeComputerTurns(player);
+        final var board = entry.getFullBoard();
+        if (!board.getPlayers().contains(player)) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Player does not play on the board");
+        }
+        if (!board.hasHistory()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "History of the board is unknown");
         }
         return board;
     }
 
+    @Override
+    public BoardHistory getBoardHistory(final String boardId, final Player player) {
+        final var entry = getEntry(boardId);
+        final var lock = entry.getLock();
+        lock.lock();
+        try {
+            return BoardHistory.of(getPlayerBoard(entry, player));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Board getGameBoard(final String boardId, final Player player, final int turnNum) {
+        final var entry = getEntry(boardId);
+        final var lock = entry.getLock();
+        lock.lock();
+        try {
+            final var board = getPlayerBoard(entry, player);
+            if (turnNum < 0 || turnNum > board.getTurnNum()) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Wrong turn number");
+            }
+            return board.getPosition(turnNum);
+        } finally {
+            lock.unlock();
+        }
+    }
+
     @Override
     public List<Board> getPlayerBoards(final Player player) {
-        return this.boards.values().stream().filter(b -> b.getPlayers().contains(player)).collect(Collectors.toList());
+        resumeComputerTurns(player);
+        return this.playerBoards.get(player);
+    }
+
+    @Override
+    public BoardsPage getPlayerBoards(final Player player, final BoardsQuery query) {
+        resumeComputerTurns(player);
+        return this.playerBoards.find(player, query);
+    }
+
+    @Override
+    public long getPlayerBoardsVersion(final Player player) {
+        resumeComputerTurns(player);
+        return this.playerBoards.getVersion(player);
+    }
+
+    /**
+     * Called when new board is created (before turns of computer players).
+     *
+     * @param entry of new board;
+     * @return position to wait by {@link #awaitSaved(long)}.
+     */
+    protected long boardCreated(final BoardEntry entry) {
+        return 0;
+    }
+
+    /**
+     * Called under the lock of the board before every turn, so the turn is not
+     * made when it can not be saved.
+     */
+    protected void checkSaving() {
+    }
+
+    /**
+     * Called after every turn of human or computer player.
+     *
+     * @param entry  of the board;
+     * @param pitNum pit number of the turn;
+     * @return position to wait by {@link #awaitSaved(long)}.
+     */
+    protected long turnMade(final BoardEntry entry, final int pitNum) {
+        return 0;
     }
 
-    private void preparedAllComputerTurn(final Board board) {
-        while (!board.isGameOver() && board.getActivePlayer() instanceof ComputerPlayer) {
+    /**
+     * Wait while changes are saved. Called after the board is unlocked.
+     *
+     * @param position returned by {@link #boardCreated(BoardEntry)} or
+     *                 {@link #turnMade(BoardEntry, int)}.
+     */
+    protected void awaitSaved(final long position) {
+    }
+
+    /**
+     * Add boards restored from the saved data. Pending turns of computer players
+     * are made, finished boards are archived at once. Boards are prepared in
+     * parallel.
+     *
+     * @param boards restored boards by sequence numbers.
+     */
+    protected void restoreBoards(final Map<Long, Board> boards) {
+        final var nowMs = System.currentTimeMillis();
+        final var entries = boards.entrySet().stream().map(e -> new BoardEntry(e.getKey(), e.getValue(), nowMs))
+                .toList();
+        final var position = entries.parallelStream().mapToLong(this::preparedAllComputerTurn).max().orElse(0);
+
+        this.playerBoards.addAll(entries);
+        entries.parallelStream().forEach(entry -> {
+            this.seqNum.accumulateAndGet(entry.getSeqNum(), Math::max);
+            this.boards.put(entry.getBoard().getId(), entry);
+            if (entry.isGameOver()) {
+                entry.archive();
+            } else {
+                this.liveBoards.incrementAndGet();
+            }
+        });
+
+        awaitSaved(position);
+    }
+
+    private long preparedAllComputerTurn(final BoardEntry entry) {
+        final var board = entry.getBoard();
+        var position = 0L;
+        while (isComputerActive(board)) {
             final var player = (ComputerPlayer) board.getActivePlayer();
-            final var turn = player.getNextTurnPitNum(board);
+            final var turn = computerTurn(player, board);
+            checkSaving();
             board.turn(turn);
+            position = turnMade(entry, turn);
+        }
+        return position;
+    }
+
+    private int computerTurn(final ComputerPlayer player, final Board board) {
+        if (!Thread.currentThread().isVirtual()) {
+            return player.getNextTurnPitNum(board);
+        }
+        final var turn = this.computerTurns.submit(System.currentTimeMillis(), () -> player.getNextTurnPitNum(board));
+        try {
+            return turn.get();
+        } catch (InterruptedException e) {
+            turn.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Computer turn is interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static boolean isComputerActive(final Board board) {
+        return !board.isGameOver() && board.getActivePlayer() instanceof ComputerPlayer;
+    }
+
+    /**
+     * @param entry   of the board with active computer player;
+     * @param sinceMs time since human player waits for the turn.
+     */
+    private void scheduleComputerTurn(final BoardEntry entry, final long sinceMs) {
+        this.computerTurns.submit(sinceMs, () -> {
+            makeComputerTurn(entry, sinceMs);
+            return null;
+        });
+    }
+
+    private void makeComputerTurn(final BoardEntry entry, final long sinceMs) {
+        final var lock = entry.getLock();
+        lock.lock();
+        var changed = false;
+        try {
+            final var board = entry.getBoard();
+            if (!isComputerActive(board)) {
+                return;
+            }
+            if (System.currentTimeMillis() - entry.getAccessTimeMs() > this.abandonedMs) {
+                cancelComputerTurns(entry);
+                return;
+            }
+            final var turn = ((ComputerPlayer) board.getActivePlayer()).getNextTurnPitNum(board);
+            checkSaving();
+            board.turn(turn);
+            changed = true;
+            entry.computerTurnMade();
+            turnMade(entry, turn); // Not awaited: not saved turn is made again when boards are restored.
+
+            if (isComputerActive(board)) {
+                scheduleComputerTurn(entry, sinceMs);
+            }
+        } catch (RuntimeException e) {
+            retryComputerTurn(entry, sinceMs, e);
+        } finally {
+            if (changed) {
+                boardChanged(entry);
+            }
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Schedule failed turn again after delay that grows with every failure.
+     * Should be called under the lock of the board.
+     *
+     * @param entry   of the board with active computer player;
+     * @param sinceMs time since human player waits for the turn;
+     * @param e       error of the turn.
+     */
+    private void retryComputerTurn(final BoardEntry entry, final long sinceMs, final RuntimeException e) {
+        final var boardId = entry.getBoard().getId();
+        final var failures = entry.computerTurnFailed();
+        if (failures > this.computerTurnRetries) {
+            LOG.error("Computer turn of board '{}' is not made, board is not played anymore", boardId, e);
+            return; // Not cancelled, so it is not resumed by the player.
+        }
+        final var delayMs = this.computerTurnRetryMs << Math.min(failures - 1, 16);
+        LOG.warn("Computer turn of board '{}' is not made, retry {} in {} ms", boardId, failures, delayMs, e);
+        // Eviction thread only puts the turn into the queue.
+        this.evictionExecutor.schedule(() -> scheduleComputerTurn(entry, sinceMs), delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Cancel turns of abandoned board until a human player returns. Should be
+     * called under the lock of the board.
+     */
+    private void cancelComputerTurns(final BoardEntry entry) {
+        for (var player : entry.getBoard().getPlayers()) {
+            if (!(player instanceof ComputerPlayer)) {
+                this.cancelledTurns.compute(player, (p, entries) -> {
+                    final var result = entries != null ? entries : ConcurrentHashMap.<BoardEntry>newKeySet();
+                    result.add(entry);
+                    return result;
+                });
+            }
+        }
+    }
+
+    private void resumeComputerTurns(final Player player) {
+        if (this.cancelledTurns.isEmpty()) {
+            return;
+        }
+        final var entries = this.cancelledTurns.remove(player);
+        if (entries == null) {
+            return;
+        }
+        final var nowMs = System.currentTimeMillis();
+        for (var entry : entries) {
+            entry.setAccessTimeMs(nowMs);
+            scheduleComputerTurn(entry, nowMs);
+        }
+    }
+
+    /**
+     * Should be called under the lock of the board after every turn.
+     */
+    private void boardChanged(final BoardEntry entry) {
+        final var prevUpdateTimeMs = entry.getUpdateTimeMs();
+        entry.setUpdateTimeMs(System.currentTimeMillis());
+        this.playerBoards.update(entry, prevUpdateTimeMs);
+        notifyListeners(entry.getBoard());
+    }
+
+    private void notifyListeners(final Board board) {
+        for (var listener : this.listeners) {
+            listener.boardChanged(board);
+        }
+    }
+
+    private void notifyListeners(final BoardEntry entry) {
+        final var lock = entry.getLock();
+        lock.lock();
+        try {
+            notifyListeners(entry.getBoard());
+        } finally {
+            lock.unlock();
         }
     }
 
@@ -89,20 +537,76 @@ public class BoardsStorageMemory implements BoardsStorage {
         final var board = new Board(firstPlayer, secondPlayer, statPlayer);
         board.init();
 
-        preparedAllComputerTurn(board);
+        final var entry = new BoardEntry(this.seqNum.incrementAndGet(), board, System.currentTimeMillis());
+        final var position = Math.max(boardCreated(entry),
+                this.asyncComputerTurns ? 0 : preparedAllComputerTurn(entry)); // Board is not visible.
+        entry.setUpdateTimeMs(System.currentTimeMillis());
+        entry.setAccessTimeMs(entry.getUpdateTimeMs());
+
+        this.playerBoards.add(entry);
+        this.boards.put(board.getId(), entry);
+        notifyListeners(entry);
+        if (this.asyncComputerTurns && isComputerActive(board)) {
+            scheduleComputerTurn(entry, entry.getUpdateTimeMs());
+        }
 
-        this.boards.put(board.getId(), board);
+        if (this.liveBoards.incrementAndGet() > this.maxLiveBoards
+                && this.evictionScheduled.compareAndSet(false, true)) {
+            this.evictionExecutor.execute(() -> evictBoards(System.currentTimeMillis()));
+        }
+
+        awaitSaved(position);
         return board.getId();
     }
 
     @Override
     public void nextTurn(final String boardId, final Player player, final int nextTurnPitNum) {
-        final var board = getGameBoard(boardId);
-        if (!Objects.equals(player, board.getActivePlayer())) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Player is not active");
+        final var entry = getEntry(boardId);
+        final var lock = entry.getLock();
+        lock.lock();
+        var changed = false;
+        long position;
+        try {
+            final var board = entry.getBoard();
+            if (!Objects.equals(player, board.getActivePlayer())) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Player is not active");
+            }
+            checkSaving();
+            board.turn(nextTurnPitNum);
+            changed = true;
+            position = turnMade(entry, nextTurnPitNum);
+
+            if (!this.asyncComputerTurns) {
+                position = Math.max(position, preparedAllComputerTurn(entry));
+            } else if (isComputerActive(board)) {
+                scheduleComputerTurn(entry, System.currentTimeMillis()); // Waits for the lock.
+            }
+        } finally {
+            if (changed) {
+                entry.setAccessTimeMs(System.currentTimeMillis());
+                boardChanged(entry);
+            }
+            lock.unlock();
         }
-        board.turn(nextTurnPitNum);
+        awaitSaved(position);
+    }
 
-        preparedAllComputerTurn(board);
+    @Override
+    public CompletableFuture<Void> submitTurn(final String boardId, final Player player, final int nextTurnPitNum) {
+        final var result = new CompletableFuture<Void>();
+        try {
+            this.computerTurns.submit(System.currentTimeMillis(), () -> {
+                try {
+                    nextTurn(boardId, player, nextTurnPitNum);
+                    result.complete(null);
+                } catch (RuntimeException e) {
+                    result.completeExceptionally(e);
+                }
+                return null;
+            });
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e); // Pool is stopped.
+        }
+        return result;
     }
 }
@@ -0,0 +1,298 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.kalah.rest;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import pro.zavodnikov.kalah.game.Board;
+import pro.zavodnikov.kalah.player.Player;
+
+/**
+ * Push changed boards to subscribed players.
+ * <p>
+ * Changes are passed to one dispatcher thread, so turns are not delayed by
+ * subscribers. Dispatcher writes JSON of the board once (not cached, so boards
+ * cached for polling are not replaced) and puts it into
+ * bounded queues of subscribers of both players. Queues are sent by a small
+ * pool of sender threads; idle subscriber does not use any thread. Subscriber
+ * with full queue is too slow: it is closed and should subscribe again (and
+ * reload all boards). Subscriber that does not receive a board during
+ * <code>kalah.boards.stream-send-timeout-ms</code> is aborted by watchdog
+ * thread, so stuck connections do not hold sender threads.
+ *
+ * @author Dmitry Zavodnikov
+ */
+@Component
+public class BoardsStream implements BoardsListener {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BoardsStream.class);
+
+    private static final int DISPATCHER_QUEUE_SIZE = 64 * 1024;
+
+    /**
+     * Connection of subscribed player.
+     */
+    public interface Connection {
+
+        /**
+         * @param boardJson JSON of changed board.
+         * @throws Exception if board is not sent; connection is closed in this
+         *                   case.
+         */
+        void send(String boardJson) throws Exception;
+
+        /**
+         * Close the connection.
+         */
+        void close();
+
+        /**
+         * Close the connection with error when the board is not sent in time;
+         * blocked {@link #send(String)} should fail.
+         */
+        void abort();
+    }
+
+    /**
+     * Subscription of a player with queue of not sent boards.
+     */
+    public final class Subscription {
+
+        private final Player player;
+        private final Connection connection;
+        private final ArrayBlockingQueue<String> queue;
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private volatile boolean closed;
+
+        private Subscription(final Player player, final Connection connection) {
+            this.player = player;
+            this.connection = connection;
+            this.queue = new ArrayBlockingQueue<>(BoardsStream.this.queueSize);
+        }
+
+        private void offer(final String boardJson) {
+            if (this.closed) {
+                return;
+            }
+            if (!this.queue.offer(boardJson)) {
+                LOG.debug("Slow subscriber of player '{}' is closed", this.player);
+                close();
+                return;
+            }
+            scheduleSend();
+        }
+
+        private void scheduleSend() {
+            if (!this.queue.isEmpty() && this.sending.compareAndSet(false, true)) {
+                try {
+                    BoardsStream.this.senders.execute(this::send);
+                } catch (RejectedExecutionException e) {
+                    close();
+                }
+            }
+        }
+
+        private void send() {
+            try {
+                String boardJson;
+                while (!this.closed && (boardJson = this.queue.poll()) != null) {
+                    final var watchdog = BoardsStream.this.watchdog.schedule(this::abort,
+                            BoardsStream.this.sendTimeoutMs, TimeUnit.MILLISECONDS);
+                    try {
+                        this.connection.send(boardJson);
+                    } finally {
+                        watchdog.cancel(false);
+                    }
+                }
+            } catch (Exception e) {
+                close();
+            } finally {
+                this.sending.set(false);
+            }
+            scheduleSend(); // Board could be added after the last poll.
+        }
+
+        private void abort() {
+            if (remove()) {
+                LOG.debug("Subscriber of player '{}' does not receive boards and is aborted", this.player);
+                this.connection.abort();
+            }
+        }
+
+        private synchronized boolean remove() {
+            if (this.closed) {
+                return false;
+            }
+            this.closed = true;
+            BoardsStream.this.subscriptions.computeIfPresent(this.player, (p, playerSubscriptions) -> {
+                playerSubscriptions.remove(this);
+                return playerSubscriptions.isEmpty() ? null : playerSubscriptions;
+            });
+            this.queue.clear();
+            return true;
+        }
+
+        /**
+         * Remove the subscription and close the connection. Can be called many
+         * times.
+         */
+        public void close() {
+            if (remove()) {
+                this.connection.close();
+            }
+        }
+    }
+
+    private final Map<Player, Set<Subscription>> subscriptions = new ConcurrentHashMap<>();
+
+    @Value("${kalah.boards.stream-queue-size:64}")
+    private int queueSize;
+
+    @Value("${kalah.boards.stream-senders:4}")
+    private int sendersNum;
+
+    @Value("${kalah.boards.stream-send-timeout-ms:10000}")
+    private long sendTimeoutMs;
+
+    private ExecutorService dispatcher;
+    private ExecutorService senders;
+    private ScheduledThreadPoolExecutor watchdog;
+
+    /**
+     * Used by Spring.
+     */
+    public BoardsStream() {
+    }
+
+    /**
+     * @param queueSize     maximal number of not sent boards of one subscriber;
+     * @param sendersNum    number of threads that send boards;
+     * @param sendTimeoutMs maximal time of sending of one board.
+     */
+    BoardsStream(final int queueSize, final int sendersNum, final long sendTimeoutMs) {
+        this.queueSize = queueSize;
+        this.sendersNum = sendersNum;
+        this.sendTimeoutMs = sendTimeoutMs;
+    }
+
+    @PostConstruct
+    public void start() {
+        this.dispatcher = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(DISPATCHER_QUEUE_SIZE), r -> {
+                    final var thread = new Thread(r, "boards-stream-dispatcher");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.senders = Executors.newFixedThreadPool(this.sendersNum, r -> {
+            final var thread = new Thread(r, "boards-stream-sender");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.watchdog = new ScheduledThreadPoolExecutor(1, r -> {
+            final var thread = new Thread(r, "boards-stream-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.watchdog.setRemoveOnCancelPolicy(true); // Almost all sends are finished in time.
+    }
+
+    @PreDestroy
+    public void stop() {
+        this.dispatcher.shutdownNow();
+        this.senders.shutdownNow();
+        this.watchdog.shutdownNow();
+        this.subscriptions.values().forEach(playerSubscriptions -> playerSubscriptions.forEach(Subscription::close));
+    }
+
+    /**
+     * @param player     subscribed player;
+     * @param connection to send boards of the player;
+     * @return subscription that should be closed when connection is closed.
+     */
+    public Subscription subscribe(final Player player, final Connection connection) {
+        final var subscription = new Subscription(player, connection);
+        this.subscriptions.compute(player, (p, playerSubscriptions) -> {
+            final Set<Subscription> result = playerSubscriptions != null ? playerSubscriptions
+                    : ConcurrentHashMap.newKeySet();
+            result.add(subscription);
+            return result;
+        });
+        return subscription;
+    }
+
+    /**
+     * @param player some player;
+     * @return number of subscriptions of the player.
+     */
+    int getSubscriptionsNum(final Player player) {
+        final var playerSubscriptions = this.subscriptions.get(player);
+        return playerSubscriptions != null ? playerSubscriptions.size() : 0;
+    }
+
+    @Override
+    public void boardChanged(final Board board) {
+        var subscribed = false;
+        for (var player : board.getPlayers()) {
+            subscribed |= this.subscriptions.containsKey(player);
+        }
+        if (!subscribed) {
+            return;
+        }
+
+        final var copy = board.copy(); // Board can be changed before dispatching.
+        try {
+            this.dispatcher.execute(() -> dispatch(copy));
+        } catch (RejectedExecutionException e) {
+            LOG.warn("Change of board {} is not dispatched", board.getId());
+        }
+    }
+
+    private void dispatch(final Board board) {
+        final var boardJson = BoardJsonSerializer.writeJson(board);
+        for (var player : board.getPlayers()) {
+            final var playerSubscriptions = this.subscriptions.get(player);
+            if (playerSubscriptions != null) {
+                playerSubscriptions.forEach(subscription -> subscription.offer(boardJson));
+            }
+        }
+    }
+}
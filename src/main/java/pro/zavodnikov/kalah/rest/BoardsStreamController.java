@@ -0,0 +1,92 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.kalah.rest;
+
+import java.io.IOException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+/**
+ * Server-Sent Events REST controller.
+ *
+ * @author Dmitry Zavodnikov
+ */
+@RestController
+@RequestMapping(AbstractController.API_V1 + "/board")
+@Tag(name = "Boards")
+public class BoardsStreamController extends AbstractController {
+
+    public static final String BOARD_EVENT = "board";
+
+    @Autowired
+    private SecurityStorage security;
+
+    @Autowired
+    private BoardsStream stream;
+
+    @Value("${kalah.boards.stream-timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream changes of game boards of player with provided token", description = "Every new "
+            + "board and every turn sends '" + BOARD_EVENT + "' event with the changed board. Token is a parameter "
+            + "because EventSource of browsers can not set headers. Connection of slow client is closed; after "
+            + "reconnection client should reload all boards.")
+    public SseEmitter stream(@RequestParam(value = "token") String token) {
+        final var player = this.security.validateAccessToken(token);
+
+        final var emitter = new SseEmitter(this.timeoutMs);
+        final var subscription = this.stream.subscribe(player, new BoardsStream.Connection() {
+
+            @Override
+            public void send(final String boardJson) throws Exception {
+                emitter.send(SseEmitter.event().name(BOARD_EVENT).data(boardJson, MediaType.APPLICATION_JSON));
+            }
+
+            @Override
+            public void close() {
+                emitter.complete();
+            }
+
+            @Override
+            public void abort() {
+                emitter.completeWithError(new IOException("Board is not sent in time"));
+            }
+        });
+        emitter.onCompletion(subscription::close);
+        emitter.onTimeout(subscription::close);
+        emitter.onError(e -> subscription.close());
+        return emitter;
+    }
+}
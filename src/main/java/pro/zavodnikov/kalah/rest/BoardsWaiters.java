@@ -0,0 +1,131 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.kalah.rest;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import pro.zavodnikov.kalah.game.Board;
+
+/**
+ * Requests that wait for a change of the board.
+ * <p>
+ * Waiting request is parked as {@link DeferredResult}, so it does not use any
+ * thread. Waiter is added before the board is read to check its version, so
+ * change is not lost: either the change sees the waiter or the check sees new
+ * version.
+ *
+ * @author Dmitry Zavodnikov
+ */
+@Component
+public class BoardsWaiters implements BoardsListener {
+
+    private final Map<String, Set<DeferredResult<ResponseEntity<Board>>>> waiters = new ConcurrentHashMap<>();
+
+    @Value("${kalah.boards.await-timeout-ms:30000}")
+    private long timeoutMs;
+
+    /**
+     * Used by Spring.
+     */
+    public BoardsWaiters() {
+    }
+
+    /**
+     * @param timeoutMs time of waiting for a change.
+     */
+    BoardsWaiters(final long timeoutMs) {
+        this.timeoutMs = timeoutMs;
+    }
+
+    /**
+     * @param boardId      ID of the board;
+     * @param boards       reads the board by ID after the waiter is added;
+     * @param sinceVersion version of the board known by client;
+     * @return result with the board when its version differs from provided one
+     *         or with 304 (Not Modified) after timeout.
+     */
+    public DeferredResult<ResponseEntity<Board>> await(final String boardId, final Function<String, Board> boards,
+            final long sinceVersion) {
+        final var result = new DeferredResult<ResponseEntity<Board>>(this.timeoutMs,
+                () -> ResponseEntity.status(HttpStatus.NOT_MODIFIED).build());
+        result.onCompletion(() -> remove(boardId, result));
+
+        this.waiters.compute(boardId, (id, boardWaiters) -> {
+            final var added = boardWaiters != null ? boardWaiters
+                    : ConcurrentHashMap.<DeferredResult<ResponseEntity<Board>>>newKeySet();
+            added.add(result); // Inside of compute(), so removed waiters of changed board are not modified.
+            return added;
+        });
+        final Board board;
+        try {
+            board = boards.apply(boardId);
+        } catch (RuntimeException e) {
+            remove(boardId, result);
+            throw e;
+        }
+        // Version can be reset by restart of the application, so any other version is new.
+        if (board.getVersion() != sinceVersion) {
+            remove(boardId, result);
+            result.setResult(ResponseEntity.ok(board));
+        }
+        return result;
+    }
+
+    private void remove(final String boardId, final DeferredResult<ResponseEntity<Board>> result) {
+        this.waiters.computeIfPresent(boardId, (id, boardWaiters) -> {
+            boardWaiters.remove(result);
+            return boardWaiters.isEmpty() ? null : boardWaiters;
+        });
+    }
+
+    /**
+     * @param boardId ID of the board;
+     * @return number of requests that wait for a change of the board.
+     */
+    int getWaitersNum(final String boardId) {
+        final var boardWaiters = this.waiters.get(boardId);
+        return boardWaiters != null ? boardWaiters.size() : 0;
+    }
+
+    @Override
+    public void boardChanged(final Board board) {
+        final var boardWaiters = this.waiters.remove(board.getId());
+        if (boardWaiters == null) {
+            return;
+        }
+        final var response = ResponseEntity.ok(board.copy()); // Board is changed after the lock is released.
+        for (var result : boardWaiters) {
+            result.setResult(response);
+        }
+    }
+}
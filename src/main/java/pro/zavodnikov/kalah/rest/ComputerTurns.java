@@ -0,0 +1,100 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.kalah.rest;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded pool of platform threads for computer turns. All computer players
+ * share it, so CPU used by computer turns is limited by number of threads.
+ * <p>
+ * Tasks wait in priority queue ordered by the time since the player waits for
+ * the turn: task of the player that waits longer runs first, tasks with the
+ * same time run in submission order.
+ *
+ * @author Dmitry Zavodnikov
+ */
+class ComputerTurns {
+
+    /**
+     * Task with the time since the player waits.
+     */
+    private static final class Task<T> extends FutureTask<T> implements Comparable<Task<?>> {
+
+        private final long sinceMs;
+        private final long order;
+
+        private Task(final Callable<T> callable, final long sinceMs, final long order) {
+            super(callable);
+            this.sinceMs = sinceMs;
+            this.order = order;
+        }
+
+        @Override
+        public int compareTo(final Task<?> other) {
+            final var result = Long.compare(this.sinceMs, other.sinceMs);
+            return result != 0 ? result : Long.compare(this.order, other.order);
+        }
+    }
+
+    private final AtomicLong order = new AtomicLong();
+    private final ExecutorService executor;
+
+    /**
+     * @param threads number of threads.
+     */
+    ComputerTurns(final int threads) {
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new PriorityBlockingQueue<>(), r -> {
+                    final var thread = new Thread(r, "computer-turn");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * @param sinceMs time since the player waits for the task;
+     * @param task    computation of computer turn;
+     * @return result of the task.
+     */
+    <T> Future<T> submit(final long sinceMs, final Callable<T> task) {
+        final var future = new Task<>(task, sinceMs, this.order.incrementAndGet());
+        this.executor.execute(future);
+        return future;
+    }
+
+    /**
+     * Stop all threads, not started tasks are not executed.
+     */
+    void shutdown() {
+        this.executor.shutdownNow();
+    }
+}
@@ -0,0 +1,269 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.kalah.rest;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import pro.zavodnikov.kalah.game.Board;
+import pro.zavodnikov.kalah.player.Player;
+
+/**
+ * Index of boards of every player sorted by adding order. Active and finished
+ * boards, boards with every opponent and boards by time of last change are
+ * indexed separately, so a page of boards is found in time proportional to the
+ * page size. Thread-safe; changes of the same board should not be concurrent.
+ *
+ * Every change of boards of a player sets new version of player boards. Versions
+ * are taken from one counter, so the same version never means different boards.
+ *
+ * @author Dmitry Zavodnikov
+ */
+class PlayerBoardsIndex {
+
+    /**
+     * Key of the board in index by time of last change.
+     */
+    private static class UpdateKey implements Comparable<UpdateKey> {
+
+        private final long updateTimeMs;
+        private final long seqNum;
+
+        UpdateKey(final long updateTimeMs, final long seqNum) {
+            this.updateTimeMs = updateTimeMs;
+            this.seqNum = seqNum;
+        }
+
+        @Override
+        public int compareTo(final UpdateKey other) {
+            final var result = Long.compare(this.updateTimeMs, other.updateTimeMs);
+            return result != 0 ? result : Long.compare(this.seqNum, other.seqNum);
+        }
+    }
+
+    /**
+     * Indexes of boards of one player.
+     */
+    private static class PlayerBoards {
+
+        private final NavigableMap<Long, BoardEntry> all = new ConcurrentSkipListMap<>();
+        private final NavigableMap<Long, BoardEntry> active = new ConcurrentSkipListMap<>();
+        private final NavigableMap<Long, BoardEntry> finished = new ConcurrentSkipListMap<>();
+        private final Map<Player, NavigableMap<Long, BoardEntry>> byOpponent = new ConcurrentHashMap<>();
+        private final NavigableMap<UpdateKey, BoardEntry> byUpdate = new ConcurrentSkipListMap<>();
+
+        private volatile long version;
+
+        void add(final BoardEntry entry, final Player opponent) {
+            final var seqNum = entry.getSeqNum();
+            this.all.put(seqNum, entry);
+            (entry.isGameOver() ? this.finished : this.active).put(seqNum, entry);
+            this.byOpponent.computeIfAbsent(opponent, o -> new ConcurrentSkipListMap<>()).put(seqNum, entry);
+            this.byUpdate.put(new UpdateKey(entry.getUpdateTimeMs(), seqNum), entry);
+        }
+
+        void update(final BoardEntry entry, final long prevUpdateTimeMs) {
+            final var seqNum = entry.getSeqNum();
+            this.byUpdate.remove(new UpdateKey(prevUpdateTimeMs, seqNum));
+            this.byUpdate.put(new UpdateKey(entry.getUpdateTimeMs(), seqNum), entry);
+            if (entry.isGameOver() && this.active.remove(seqNum) != null) {
+                this.finished.put(seqNum, entry);
+            }
+        }
+
+        private NavigableMap<Long, BoardEntry> source(final BoardsQuery query) {
+            if (query.getOpponent() != null) {
+                final var boards = this.byOpponent.get(query.getOpponent());
+                return boards != null ? boards : new ConcurrentSkipListMap<>();
+            }
+            switch (query.getStatus()) {
+            case ACTIVE:
+                return this.active;
+            case FINISHED:
+                return this.finished;
+            default:
+                return this.all;
+            }
+        }
+
+        private static boolean matches(final BoardEntry entry, final BoardsQuery query) {
+            // Board can be finished after the check of index.
+            switch (query.getStatus()) {
+            case ACTIVE:
+                return !entry.isGameOver();
+            case FINISHED:
+                return entry.isGameOver();
+            default:
+                return true;
+            }
+        }
+
+        BoardsPage find(final BoardsQuery query) {
+            final Collection<BoardEntry> candidates;
+            if (query.getUpdatedSinceMs() > 0) {
+                // Only boards changed since that time are checked.
+                final var changed = new ArrayList<BoardEntry>();
+                final var source = source(query);
+                for (var entry : this.byUpdate.tailMap(new UpdateKey(query.getUpdatedSinceMs(), Long.MIN_VALUE))
+                        .values()) {
+                    if (entry.getSeqNum() > query.getCursor() && source.containsKey(entry.getSeqNum())) {
+                        changed.add(entry);
+                    }
+                }
+                changed.sort(Comparator.comparingLong(BoardEntry::getSeqNum));
+                candidates = changed;
+            } else {
+                candidates = source(query).tailMap(query.getCursor(), false).values();
+            }
+
+            final var boards = new ArrayList<Board>();
+            var lastSeqNum = query.getCursor();
+            for (var entry : candidates) {
+                if (!matches(entry, query)) {
+                    continue;
+                }
+                if (boards.size() == query.getLimit()) {
+                    return new BoardsPage(boards, lastSeqNum); // There are more boards.
+                }
+                boards.add(entry.snapshot());
+                lastSeqNum = entry.getSeqNum();
+            }
+            return new BoardsPage(boards, null);
+        }
+    }
+
+    private final Map<Player, PlayerBoards> boards = new ConcurrentHashMap<>();
+    private final AtomicLong versions = new AtomicLong();
+
+    private static Player opponent(final Board board, final Player player) {
+        for (var p : board.getPlayers()) {
+            if (!p.equals(player)) {
+                return p;
+            }
+        }
+        return player;
+    }
+
+    /**
+     * Add new board. Board should not be changed during adding.
+     *
+     * @param entry board in the storage.
+     */
+    void add(final BoardEntry entry) {
+        for (var player : entry.getBoard().getPlayers()) {
+            final var opponent = opponent(entry.getBoard(), player);
+            this.boards.compute(player, (p, playerBoards) -> {
+                final var result = playerBoards != null ? playerBoards : new PlayerBoards();
+                result.add(entry, opponent);
+                result.version = this.versions.incrementAndGet();
+                return result;
+            });
+        }
+    }
+
+    /**
+     * Add many boards at once, e.g. restored on start. Boards of every player are
+     * added together and players are processed in parallel, which is much faster
+     * than adding boards one by one.
+     *
+     * @param entries boards in the storage sorted by adding order.
+     */
+    void addAll(final List<BoardEntry> entries) {
+        final Map<Player, List<BoardEntry>> byPlayer = new HashMap<>();
+        for (var entry : entries) {
+            for (var player : entry.getBoard().getPlayers()) {
+                byPlayer.computeIfAbsent(player, p -> new ArrayList<>()).add(entry);
+            }
+        }
+        byPlayer.entrySet().parallelStream().forEach(playerEntries -> {
+            this.boards.compute(playerEntries.getKey(), (player, playerBoards) -> {
+                final var result = playerBoards != null ? playerBoards : new PlayerBoards();
+                for (var entry : playerEntries.getValue()) {
+                    result.add(entry, opponent(entry.getBoard(), player));
+                }
+                result.version = this.versions.incrementAndGet();
+                return result;
+            });
+        });
+    }
+
+    /**
+     * Update index after turns of the board.
+     *
+     * @param entry            board in the storage;
+     * @param prevUpdateTimeMs previous time of last change of the board.
+     */
+    void update(final BoardEntry entry, final long prevUpdateTimeMs) {
+        for (var player : entry.getBoard().getPlayers()) {
+            this.boards.computeIfPresent(player, (p, playerBoards) -> {
+                playerBoards.update(entry, prevUpdateTimeMs);
+                playerBoards.version = this.versions.incrementAndGet();
+                return playerBoards;
+            });
+        }
+    }
+
+    /**
+     * @param player that plays in some boards;
+     * @return version of boards of the player: it is changed after every change
+     *         of the boards; <code>0</code> if player has no boards.
+     */
+    long getVersion(final Player player) {
+        final var playerBoards = this.boards.get(player);
+        return playerBoards != null ? playerBoards.version : 0;
+    }
+
+    /**
+     * @param player that plays in some boards;
+     * @return copies of boards of the player sorted by adding order.
+     */
+    List<Board> get(final Player player) {
+        final var result = new ArrayList<Board>();
+        final var playerBoards = this.boards.get(player);
+        if (playerBoards != null) {
+            for (var entry : playerBoards.all.values()) {
+                result.add(entry.snapshot());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param player that plays in some boards;
+     * @param query  filter and page;
+     * @return page of copies of boards of the player sorted by adding order.
+     */
+    BoardsPage find(final Player player, final BoardsQuery query) {
+        final var playerBoards = this.boards.get(player);
+        return playerBoards != null ? playerBoards.find(query) : new BoardsPage(new ArrayList<>(), null);
+    }
+}
@@ -27,11 +27,14 @@ import java.security.NoSuchAlgorithmException;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -57,10 +60,15 @@ public class SecurityController extends AbstractController {
     }
 
     @GetMapping("/players")
-    @Operation(summary = "Return players that can play")
-    public List<String> getPlayers(@RequestHeader(value = ACCESS_TOKEN_HEADER) String token) {
+    @Operation(summary = "Return players that can play", description = "Response has ETag: if players are not "
+            + "changed 304 (Not Modified) is returned.")
+    public ResponseEntity<List<String>> getPlayers(WebRequest request,
+            @RequestHeader(value = ACCESS_TOKEN_HEADER) String token) {
         this.security.validateAccessToken(token);
 
-        return this.security.getPlayersNames();
+        if (request.checkNotModified(etag(this.security.getPlayersVersion()))) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(this.security.getPlayersNames());
     }
 }
@@ -27,6 +27,7 @@ import java.util.List;
 
 import org.springframework.stereotype.Controller;
 
+import pro.zavodnikov.kalah.player.ConsolePlayer;
 import pro.zavodnikov.kalah.player.Player;
 
 /**
@@ -42,12 +43,25 @@ public interface SecurityStorage {
      */
     List<String> getPlayersNames();
 
+    /**
+     * @return version of players list which is changed after every new player.
+     */
+    long getPlayersVersion();
+
     /**
      * @param name of player.
      * @return player with defined name.
      */
     Player findPlayerByName(String name);
 
+    /**
+     * Add saved player, so the player can log in with the same password. Player
+     * with the same name is not replaced.
+     *
+     * @param player restored player.
+     */
+    void addPlayer(ConsolePlayer player);
+
     /**
      * Create new access token for provided credentials. If player not exists it
      * will be created; otherwise provided
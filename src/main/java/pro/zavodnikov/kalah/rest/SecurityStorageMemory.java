@@ -23,6 +23,9 @@
  */
 package pro.zavodnikov.kalah.rest;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
 import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -31,17 +34,28 @@ import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.server.ResponseStatusException;
 
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import pro.zavodnikov.kalah.game.book.OpeningBook;
+import pro.zavodnikov.kalah.game.tablebase.Tablebase;
+import pro.zavodnikov.kalah.player.AlphaBetaPlayer;
+import pro.zavodnikov.kalah.player.ComputerPlayer;
 import pro.zavodnikov.kalah.player.ConsolePlayer;
+import pro.zavodnikov.kalah.player.MctsPlayer;
+import pro.zavodnikov.kalah.player.OpeningBookPlayer;
 import pro.zavodnikov.kalah.player.Player;
 import pro.zavodnikov.kalah.player.RandomPlayer;
+import pro.zavodnikov.kalah.player.TranspositionTable;
 
 /**
  * Save data in memory.
@@ -53,10 +67,31 @@ public class SecurityStorageMemory implements SecurityStorage {
 
     private final Map<String, ConsolePlayer> tokens = new HashMap<>();
     private final Map<String, Player> players = new HashMap<>();
+    private final AtomicLong playersVersion = new AtomicLong();
 
     @Autowired
     private Supplier<Random> random;
 
+    @Value("${kalah.computer.move-time-ms:200}")
+    private long computerMoveTimeMs;
+
+    @Value("${kalah.computer.table-size-mb:64}")
+    private long computerTableSizeMb;
+
+    @Value("${kalah.computer.pool-threads:0}")
+    private int computerPoolThreads;
+
+    @Value("${kalah.computer.search-threads:1}")
+    private int computerSearchThreads;
+
+    @Value("${kalah.computer.tablebase:}")
+    private String computerTablebase;
+
+    @Value("${kalah.computer.opening-book:}")
+    private String computerOpeningBook;
+
+    private ForkJoinPool computerPool;
+
     enum ComputerPlayerName {
         RANDOM;
     }
@@ -65,6 +100,51 @@ public class SecurityStorageMemory implements SecurityStorage {
     public void initComputerPlayers() {
         final var computerPlayer = new RandomPlayer("Computer", this.random.get());
         this.players.put(computerPlayer.getName(), computerPlayer);
+        this.playersVersion.incrementAndGet();
+
+        final var table = new TranspositionTable(this.computerTableSizeMb * 1024 * 1024); // Shared by all games.
+        final var tablebase = openTablebase();
+        final var book = openOpeningBook(); // Shared by all computer players, read on first turn.
+        this.computerPool = new ForkJoinPool(this.computerPoolThreads > 0 ? this.computerPoolThreads
+                : Runtime.getRuntime().availableProcessors());
+        final var alphaBetaPlayer = new AlphaBetaPlayer("Smart Computer", this.computerMoveTimeMs, table, tablebase,
+                this.computerPool, this.computerSearchThreads);
+        addComputerPlayer(alphaBetaPlayer, book);
+
+        final var mctsPlayer = new MctsPlayer("MCTS Computer", this.computerMoveTimeMs, 0, this.random.get());
+        addComputerPlayer(mctsPlayer, book);
+    }
+
+    private void addComputerPlayer(final ComputerPlayer player, final OpeningBook book) {
+        this.players.put(player.getName(), book != null ? new OpeningBookPlayer(player, book) : player);
+        this.playersVersion.incrementAndGet();
+    }
+
+    private OpeningBook openOpeningBook() {
+        if (this.computerOpeningBook.isBlank()) {
+            return null;
+        }
+        try {
+            return OpeningBook.open(Paths.get(this.computerOpeningBook));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Tablebase openTablebase() {
+        if (this.computerTablebase.isBlank()) {
+            return null;
+        }
+        try {
+            return Tablebase.open(Paths.get(this.computerTablebase));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdownComputerPlayers() {
+        this.computerPool.shutdownNow();
     }
 
     @Override
@@ -74,6 +154,11 @@ public class SecurityStorageMemory implements SecurityStorage {
         return names;
     }
 
+    @Override
+    public long getPlayersVersion() {
+        return this.playersVersion.get();
+    }
+
     @Override
     public Player findPlayerByName(final String name) {
         final var player = this.players.get(name);
@@ -84,6 +169,13 @@ public class SecurityStorageMemory implements SecurityStorage {
         return player;
     }
 
+    @Override
+    public void addPlayer(final ConsolePlayer player) {
+        if (this.players.putIfAbsent(player.getName(), player) == null) {
+            this.playersVersion.incrementAndGet();
+        }
+    }
+
     private ConsolePlayer createNewConsolePlayer(final String name, final String pass) {
         if (this.players.containsKey(name)) {
             throw new ResponseStatusException(HttpStatus.CONFLICT,
@@ -92,6 +184,7 @@ public class SecurityStorageMemory implements SecurityStorage {
         try {
             final var player = new ConsolePlayer(name, pass);
             this.players.put(player.getName(), player);
+            this.playersVersion.incrementAndGet();
             return player;
         } catch (NoSuchAlgorithmException e) {
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
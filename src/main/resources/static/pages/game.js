@@ -55,6 +55,20 @@ function StartNewGame(props) {
   );
 }
 
+// Replace boards by changed ones with the same or newer version, add new boards to the end.
+function mergeBoards(boards, changed) {
+  const result = boards.slice();
+  for (const board of changed) {
+    const idx = result.findIndex((b) => b.id === board.id);
+    if (idx < 0) {
+      result.push(board);
+    } else if (result[idx].version <= board.version) {
+      result[idx] = board;
+    }
+  }
+  return result;
+}
+
 class Game extends React.Component {
   constructor(props) {
     super(props);
@@ -67,6 +81,33 @@ class Game extends React.Component {
     };
   }
 
+  loadBoards = () => {
+    rest(this.props.accessToken, "GET", "/v1/board/list")
+      .then((r) => r.json())
+      .then((boards) =>
+        this.setState((state) => {
+          // Boards received from the stream during loading can be newer.
+          const update = { boards: state.boards ? mergeBoards(boards, state.boards) : boards };
+          // Initial load select last game.
+          if (state.boardIdx === null) {
+            update["boardIdx"] = boards.length ? boards.length - 1 : 0;
+          }
+          return update;
+        })
+      );
+  };
+
+  startPolling = () => {
+    if (!this.boardsTimeId) {
+      this.boardsTimeId = setInterval(this.loadBoards, SYNC_MS);
+    }
+  };
+
+  stopPolling = () => {
+    clearInterval(this.boardsTimeId);
+    this.boardsTimeId = null;
+  };
+
   componentDidMount() {
     this.playerTimeId = setInterval(() => {
       rest(this.props.accessToken, "GET", "/v1/security/players")
@@ -75,23 +116,30 @@ class Game extends React.Component {
         .then((players) => this.setState({ players: players }));
     }, SYNC_MS);
 
-    this.boardsTimeId = setInterval(() => {
-      rest(this.props.accessToken, "GET", "/v1/board/list")
-        .then((r) => r.json())
-        .then((boards) => {
-          const update = { boards: boards };
-          // Initial load select last game.
-          if (this.state.boardIdx === null) {
-            update["boardIdx"] = boards.length ? boards.length - 1 : 0;
-          }
-          this.setState(update);
-        });
-    }, SYNC_MS);
+    this.loadBoards();
+    if (!window.EventSource) {
+      this.startPolling();
+      return;
+    }
+    // Changed boards are pushed by the server; polling is used while the stream is not connected.
+    this.boardsStream = new EventSource(`/v1/board/stream?token=${encodeURIComponent(this.props.accessToken)}`);
+    this.boardsStream.onopen = () => {
+      this.stopPolling();
+      this.loadBoards(); // Changes could be missed before connection.
+    };
+    this.boardsStream.onerror = this.startPolling; // Browser reconnects the stream by itself.
+    this.boardsStream.addEventListener("board", (e) => {
+      const board = JSON.parse(e.data);
+      this.setState((state) => (state.boards ? { boards: mergeBoards(state.boards, [board]) } : null));
+    });
   }
 
   componentWillUnmount() {
     clearInterval(this.playerTimeId);
-    clearInterval(this.boardsTimeId);
+    this.stopPolling();
+    if (this.boardsStream) {
+      this.boardsStream.close();
+    }
   }
 
   handleBoardIdx = (idx) => this.setState({ boardIdx: idx });
@@ -0,0 +1,99 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.kalah.game;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import pro.zavodnikov.kalah.player.ComputerPlayer;
+import pro.zavodnikov.kalah.player.RandomPlayer;
+
+/**
+ * Simple microbenchmark for {@link Board#turn(int)}. It is not a test and is
+ * not executed during the build; run it manually with test classpath:
+ *
+ * <pre>
+ * $ java -cp target/classes:target/test-classes pro.zavodnikov.kalah.game.BoardBenchmark
+ * </pre>
+ *
+ * Pit numbers of the games are prepared before measurement, so only board
+ * creation and turns are measured.
+ *
+ * @author Dmitry Zavodnikov
+ */
+public class BoardBenchmark {
+
+    private static final int GAMES = 1_000;
+    private static final int ROUNDS = 10;
+    private static final long ROUND_NS = 1_000_000_000L;
+
+    private static int[] recordGame(final RandomPlayer player1, final RandomPlayer player2) {
+        final var board = new Board(player1, player2, player1);
+        board.init();
+
+        final List<Integer> turns = new ArrayList<>();
+        while (!board.isGameOver()) {
+            final var pitNum = ((ComputerPlayer) board.getActivePlayer()).getNextTurnPitNum(board);
+            board.turn(pitNum);
+            turns.add(pitNum);
+        }
+        return turns.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static long playGames(final RandomPlayer player1, final RandomPlayer player2, final int[][] games) {
+        long turns = 0;
+        for (var game : games) {
+            final var board = new Board(player1, player2, player1);
+            board.init();
+            for (var pitNum : game) {
+                board.turn(pitNum);
+            }
+            turns += board.getTurnNum();
+        }
+        return turns;
+    }
+
+    public static void main(String[] args) {
+        final var rand = new Random(0L); // Generate same games in all runs.
+        final var player1 = new RandomPlayer("Player 1", rand);
+        final var player2 = new RandomPlayer("Player 2", rand);
+
+        final var games = new int[GAMES][];
+        for (var i = 0; i < GAMES; ++i) {
+            games[i] = recordGame(player1, player2);
+        }
+
+        for (var r = 0; r < ROUNDS; ++r) {
+            long turns = 0;
+            final var start = System.nanoTime();
+            long time;
+            do {
+                turns += playGames(player1, player2, games);
+                time = System.nanoTime() - start;
+            } while (time < ROUND_NS);
+            System.out.println(String.format("Round %2d: %,d turns/sec", r, turns * 1_000_000_000L / time));
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.kalah.game;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+import pro.zavodnikov.kalah.player.ComputerPlayer;
+import pro.zavodnikov.kalah.player.Player;
+import pro.zavodnikov.kalah.player.RandomPlayer;
+
+/**
+ * Simple microbenchmark for {@link BoardCodec}. It is not a test and is not
+ * executed during the build; run it manually with test classpath:
+ *
+ * <pre>
+ * $ java -cp target/classes:target/test-classes pro.zavodnikov.kalah.game.BoardCodecBenchmark
+ * </pre>
+ *
+ * Boards are written into one reused buffer and read back from it.
+ *
+ * @author Dmitry Zavodnikov
+ */
+public class BoardCodecBenchmark {
+
+    private static final int BOARDS = 1_000;
+    private static final int ROUNDS = 10;
+    private static final long ROUND_NS = 1_000_000_000L;
+
+    public static void main(String[] args) {
+        final var rand = new Random(0L);
+        final var player1 = new RandomPlayer("Player 1", rand);
+        final var player2 = new RandomPlayer("Player 2", rand);
+        final List<Board> boards = new ArrayList<>();
+        for (var i = 0; i < BOARDS; ++i) {
+            final var board = new Board(player1, player2, player1);
+            board.init();
+            for (var turn = rand.nextInt(60); turn > 0 && !board.isGameOver(); --turn) {
+                board.turn(((ComputerPlayer) board.getActivePlayer()).getNextTurnPitNum(board));
+            }
+            boards.add(board);
+        }
+        final var buffer = ByteBuffer.allocateDirect(256 * BOARDS);
+        final Function<String, Player> players = name -> name.equals(player1.getName()) ? player1 : player2;
+
+        for (var r = 0; r < ROUNDS; ++r) {
+            long written = 0;
+            var start = System.nanoTime();
+            long time;
+            do {
+                buffer.clear();
+                for (var board : boards) {
+                    BoardCodec.write(buffer, board);
+                }
+                written += BOARDS;
+                time = System.nanoTime() - start;
+            } while (time < ROUND_NS);
+            final var size = buffer.position();
+            final var writeRate = written * 1_000_000_000L / time;
+
+            long read = 0;
+            start = System.nanoTime();
+            do {
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    BoardCodec.read(buffer, players);
+                }
+                buffer.position(size);
+                read += BOARDS;
+                time = System.nanoTime() - start;
+            } while (time < ROUND_NS);
+            System.out.println(String.format("Round %2d: write %,d boards/sec, read %,d boards/sec (%d bytes/board)",
+                    r, writeRate, read * 1_000_000_000L / time, size / BOARDS));
+        }
+    }
+}
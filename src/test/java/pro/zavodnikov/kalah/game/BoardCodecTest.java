@@ -0,0 +1,172 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.kalah.game;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import pro.zavodnikov.kalah.player.ComputerPlayer;
+import pro.zavodnikov.kalah.player.Player;
+import pro.zavodnikov.kalah.player.RandomPlayer;
+
+/**
+ * Tests for {@link BoardCodec}.
+ *
+ * @author Dmitry Zavodnikov
+ */
+class BoardCodecTest {
+
+    private final RandomPlayer player1 = new RandomPlayer("Player 1", new Random(0L));
+    private final RandomPlayer player2 = new RandomPlayer("Игрок 2 €\u0000", new Random(1L));
+    private final Map<String, Player> players = Map.of(this.player1.getName(), this.player1,
+            this.player2.getName(), this.player2);
+
+    private Board roundTrip(final ByteBuffer buffer, final Board board) {
+        buffer.clear();
+        BoardCodec.write(buffer, board);
+        buffer.flip();
+        final var result = BoardCodec.read(buffer, this.players::get);
+        assertEquals(0, buffer.remaining());
+        return result;
+    }
+
+    private static void assertBoard(final Board expected, final Board actual) {
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getPlayers(), actual.getPlayers());
+        assertSame(expected.getActivePlayer(), actual.getActivePlayer());
+        assertEquals(expected.getTurnNum(), actual.getTurnNum());
+        assertEquals(expected.toString(), actual.toString());
+        assertEquals(expected.getBigPits(), actual.getBigPits());
+        assertEquals(expected.isGameOver(), actual.isGameOver());
+        assertEquals(expected.getWinner(), actual.getWinner());
+    }
+
+    @Test
+    void testRoundTrip() {
+        final var buffer = ByteBuffer.allocate(256); // Reused for all states.
+        final var board = new Board(this.player1, this.player2, this.player2);
+        board.init();
+        assertBoard(board, roundTrip(buffer, board));
+
+        while (!board.isGameOver()) {
+            board.turn(((ComputerPlayer) board.getActivePlayer()).getNextTurnPitNum(board));
+            assertBoard(board, roundTrip(buffer, board));
+        }
+        assertNull(roundTrip(buffer, board).getActivePlayer());
+    }
+
+    @Test
+    void testHistory() {
+        final var buffer = ByteBuffer.allocate(256);
+        final var board = new Board(this.player1, this.player2, this.player1);
+        board.init(new int[] { 1, 0, 3 }, 2, new int[] { 0, 5, 1 }, 10);
+        board.turn(2);
+        board.turn(1);
+
+        final var restored = roundTrip(buffer, board);
+        assertTrue(restored.hasHistory());
+        assertEquals(2, restored.getMove(0));
+        assertEquals(1, restored.getMove(1));
+        assertBoard(board.getPosition(0), restored.getPosition(0));
+        assertBoard(board.getPosition(1), restored.getPosition(1));
+
+        final var noHistory = Board.restore("board", this.player1, this.player2, this.player2, 1, new int[] { 0, 1 },
+                2, new int[] { 3, 4 }, 5);
+        assertFalse(roundTrip(buffer, noHistory).hasHistory());
+    }
+
+    @Test
+    void testPreviousVersion() {
+        final var board = Board.restore("board", this.player1, this.player2, this.player2, 1, new int[] { 0, 1 }, 2,
+                new int[] { 3, 4 }, 5);
+        final var buffer = ByteBuffer.allocate(256);
+        BoardCodec.write(buffer, board);
+        buffer.flip();
+        buffer.put(0, (byte) 1); // Version 1 is the same without history flag.
+        buffer.limit(buffer.limit() - 1);
+
+        final var restored = BoardCodec.read(buffer, this.players::get);
+        assertEquals(0, buffer.remaining());
+        assertBoard(board, restored);
+        assertFalse(restored.hasHistory());
+    }
+
+    @Test
+    void testCustomPits() {
+        final var board = new Board(this.player1, this.player2, this.player1);
+        board.init(new int[] { 1, 0, 300 }, 2, new int[] { 0, 5, 0 }, 1000);
+        assertBoard(board, roundTrip(ByteBuffer.allocate(256), board));
+    }
+
+    @Test
+    void testWrongData() {
+        final var board = new Board(this.player1, this.player2, this.player1);
+        board.init();
+        final var buffer = ByteBuffer.allocate(256);
+        BoardCodec.write(buffer, board);
+        buffer.flip();
+
+        buffer.put(0, (byte) (BoardCodec.VERSION + 1));
+        assertThrows(IllegalArgumentException.class, () -> BoardCodec.read(buffer.duplicate(), this.players::get));
+
+        assertThrows(BufferOverflowException.class, () -> BoardCodec.write(ByteBuffer.allocate(10), board));
+    }
+
+    @Test
+    void testOutOfRange() {
+        final var buffer = ByteBuffer.allocate(2048);
+
+        final var manyStones = new Board(this.player1, this.player2, this.player1);
+        manyStones.init(new int[] { 1, Short.MAX_VALUE + 1 }, 0, new int[] { 1, 1 }, 0);
+        assertThrows(IllegalArgumentException.class, () -> BoardCodec.write(buffer, manyStones));
+        assertEquals(0, buffer.position()); // Nothing is written.
+
+        final var bigPit = new Board(this.player1, this.player2, this.player1);
+        bigPit.init(new int[] { 1, 1 }, 0, new int[] { 1, 1 }, 70_000);
+        assertThrows(IllegalArgumentException.class, () -> BoardCodec.write(buffer, bigPit));
+
+        final var manyPits = new Board(this.player1, this.player2, this.player1);
+        final var pits = new int[Byte.MAX_VALUE + 1];
+        manyPits.init(pits, 0, pits, 0);
+        assertThrows(IllegalArgumentException.class, () -> BoardCodec.write(buffer, manyPits));
+        assertEquals(0, buffer.position());
+
+        final var maxPits = new Board(this.player1, this.player2, this.player1);
+        final var pits2 = new int[Byte.MAX_VALUE];
+        pits2[0] = Short.MAX_VALUE;
+        maxPits.init(pits2, 0, pits2, 0);
+        assertBoard(maxPits, roundTrip(buffer, maxPits));
+    }
+}
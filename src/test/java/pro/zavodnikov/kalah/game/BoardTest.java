@@ -30,6 +30,7 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.ArrayList;
 import java.util.Random;
 
 import org.junit.jupiter.api.Test;
@@ -256,6 +257,36 @@ class BoardTest {
         assertThrows(IllegalArgumentException.class, () -> board.turn(0));
     }
 
+    @Test
+    void testTurnWrongPitNum() {
+        final var rand = new Random(1L);
+        final var player1 = new RandomPlayer("Player 1", rand);
+        final var player2 = new RandomPlayer("Player 2", rand);
+        final var board = new Board(player1, player2, player1);
+        assertThrows(IllegalArgumentException.class, () -> board.turn(0)); // Not initialized.
+
+        board.init(new int[] { 1, 1 }, 2, new int[] { 3, 4 }, 5);
+        assertThrows(IllegalArgumentException.class, () -> board.turn(-1));
+        assertThrows(IllegalArgumentException.class, () -> board.turn(2));
+    }
+
+    @Test
+    void testTurnSkipOpponentBigPit() {
+        final var rand = new Random(1L);
+        final var player1 = new RandomPlayer("Player 1", rand);
+        final var player2 = new RandomPlayer("Player 2", rand);
+        final var board = new Board(player1, player2, player1);
+        board.init(new int[] { 1, 6 }, 0, new int[] { 1, 1 }, 0);
+
+        board.turn(1);
+
+        assertEquals(player1, board.getActivePlayer()); // Last stone in own big pit.
+        assertPlayerRegularPits(board, player1, 2, 1);
+        assertPlayerRegularPits(board, player2, 2, 2);
+        assertPlayerBigPit(board, player1, 2);
+        assertPlayerBigPit(board, player2, 0); // Opponent big pit never receives stones.
+    }
+
     @Test
     void testLastTurn() {
         final var rand = new Random(1L);
@@ -304,6 +335,144 @@ class BoardTest {
         assertPlayerBigPit(board, player2, 3);
     }
 
+    private String boardState(final Board board) {
+        return String.format("%s%s%d%s%s", board, board.getActivePlayer(), board.getTurnNum(), board.isGameOver(),
+                board.getWinner());
+    }
+
+    private int walkTree(final Board board, final int depth) {
+        if (depth == 0 || board.isGameOver()) {
+            return 1;
+        }
+        var nodes = 1;
+        final var player = board.getActivePlayer();
+        for (var pitNum = 0; pitNum < board.getPitsNum(); ++pitNum) {
+            if (board.getRegularPitStones(player, pitNum) == 0) {
+                continue;
+            }
+            final var before = boardState(board);
+
+            final var turnBoard = board.copy();
+            turnBoard.turn(pitNum);
+            board.makeMove(pitNum);
+            assertEquals(boardState(turnBoard), boardState(board)); // Same as simple turn.
+
+            nodes += walkTree(board, depth - 1);
+
+            board.unmakeMove();
+            assertEquals(before, boardState(board));
+        }
+        return nodes;
+    }
+
+    @Test
+    void testMakeUnmakeMove() {
+        final var rand = new Random(1L);
+        final var player1 = new RandomPlayer("Player 1", rand);
+        final var player2 = new RandomPlayer("Player 2", rand);
+
+        final var board = new Board(player1, player2, player1);
+        board.init();
+        assertTrue(walkTree(board, 5) > 1);
+
+        final var smallBoard = new Board(player1, player2, player2);
+        smallBoard.init(new int[] { 0, 15, 1 }, 2, new int[] { 2, 0, 1 }, 3);
+        assertTrue(walkTree(smallBoard, 20) > 1);
+
+        assertThrows(IllegalStateException.class, () -> board.unmakeMove());
+    }
+
+    @Test
+    void testCopy() {
+        final var rand = new Random(1L);
+        final var player1 = new RandomPlayer("Player 1", rand);
+        final var player2 = new RandomPlayer("Player 2", rand);
+        final var board = new Board(player1, player2, player1);
+        board.init();
+
+        final var copy = board.copy();
+        assertEquals(board, copy);
+        copy.turn(0);
+        assertPlayerRegularPits(board, player1, 6, 6, 6, 6, 6, 6);
+        assertPlayerRegularPits(copy, player1, 0, 7, 7, 7, 7, 7);
+        assertEquals(0, board.getTurnNum());
+        assertEquals(1, copy.getTurnNum());
+        assertEquals(1, board.getVersion());
+        assertEquals(2, copy.getVersion());
+    }
+
+    @Test
+    void testRestore() {
+        final var player1 = new RandomPlayer("Player 1", null);
+        final var player2 = new RandomPlayer("Player 2", null);
+
+        final var board = Board.restore("board", player1, player2, player2, 7, new int[] { 1, 2, 3, 4, 5, 6 }, 10,
+                new int[] { 6, 5, 4, 3, 2, 1 }, 11);
+        assertEquals("board", board.getId());
+        assertEquals(player2, board.getActivePlayer());
+        assertEquals(7, board.getTurnNum());
+        assertEquals(8, board.getVersion());
+        assertPlayerRegularPits(board, player1, 1, 2, 3, 4, 5, 6);
+        assertEquals(11, board.getBigPitStones(player2));
+        board.turn(5);
+        assertEquals(8, board.getTurnNum());
+
+        final var finished = Board.restore("finished", player1, player2, null, 40, new int[6], 40, new int[6], 32);
+        assertTrue(finished.isGameOver());
+        assertNull(finished.getActivePlayer());
+        assertEquals(player1, finished.getWinner());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> Board.restore("board", player1, player2, null, 7, new int[] { 1 }, 0, new int[] { 1 }, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> Board.restore("board", player1, player2, player1, 7, new int[] { 0 }, 0, new int[] { 1 }, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> Board.restore("board", player1, player2, player1, -1, new int[] { 1 }, 0, new int[] { 1 }, 0));
+    }
+
+    @Test
+    void testHistory() {
+        final var rand = new Random(0L);
+        final var player1 = new RandomPlayer("Player 1", rand);
+        final var player2 = new RandomPlayer("Player 2", rand);
+        final var board = new Board(player1, player2, player2);
+        board.init();
+        assertTrue(board.hasHistory());
+
+        final var positions = new ArrayList<String>();
+        final var pitNums = new ArrayList<Integer>();
+        while (!board.isGameOver()) {
+            positions.add(board.toString());
+            final var pitNum = ((ComputerPlayer) board.getActivePlayer()).getNextTurnPitNum(board);
+            pitNums.add(pitNum);
+            board.turn(pitNum);
+        }
+        positions.add(board.toString());
+
+        for (var i = 0; i < pitNums.size(); ++i) {
+            assertEquals((int) pitNums.get(i), board.getMove(i));
+        }
+        for (var i = 0; i < positions.size(); ++i) {
+            final var position = board.getPosition(i);
+            assertEquals(board.getId(), position.getId());
+            assertEquals(i, position.getTurnNum());
+            assertEquals(positions.get(i), position.toString());
+        }
+        assertEquals(board.getWinner(), board.getPosition(board.getTurnNum()).getWinner());
+        assertThrows(IllegalArgumentException.class, () -> board.getMove(board.getTurnNum()));
+        assertThrows(IllegalArgumentException.class, () -> board.getPosition(-1));
+        assertThrows(IllegalArgumentException.class, () -> board.getPosition(board.getTurnNum() + 1));
+
+        final var copy = board.getPosition(3).copy();
+        copy.turn(((ComputerPlayer) copy.getActivePlayer()).getNextTurnPitNum(copy));
+        assertEquals(positions.get(3), copy.getPosition(3).toString());
+
+        final var restored = Board.restore("board", player1, player2, null, 40, new int[6], 40, new int[6], 32);
+        assertFalse(restored.hasHistory());
+        assertThrows(IllegalStateException.class, () -> restored.getMove(0));
+        assertThrows(IllegalStateException.class, () -> restored.getPosition(0));
+    }
+
     @Test
     void testGame() {
         final Random rand = new Random(0L); // Generate same values in all runs.
@@ -0,0 +1,76 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.kalah.game.book;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import pro.zavodnikov.kalah.game.Board;
+import pro.zavodnikov.kalah.player.ComputerPlayer;
+import pro.zavodnikov.kalah.player.RandomPlayer;
+
+/**
+ * Tests for {@link OpeningBookGenerator}.
+ *
+ * @author Dmitry Zavodnikov
+ */
+class OpeningBookGeneratorTest {
+
+    @Test
+    void testCreate() {
+        assertThrows(IllegalArgumentException.class, () -> new OpeningBookGenerator(0, 10));
+    }
+
+    @Test
+    void testGenerate() {
+        final var book = new OpeningBookGenerator(4, 5).generate();
+        assertTrue(book.size() > 0);
+
+        // Book player has turns in all positions of first turns with any opponent.
+        final var random = new Random(0);
+        for (var game = 0; game < 20; ++game) {
+            final var player1 = new RandomPlayer("player1", random);
+            final var player2 = new RandomPlayer("player2", random);
+            final var bookPlayer = game % 2 == 0 ? player1 : player2;
+            final var board = new Board(player1, player2, player1);
+            board.init();
+            while (board.getTurnNum() < 4) {
+                final int pitNum;
+                if (board.getActivePlayer() == bookPlayer) {
+                    pitNum = book.lookup(board);
+                    assertNotEquals(OpeningBook.NOT_FOUND, pitNum);
+                    assertTrue(board.getRegularPitStones(bookPlayer, pitNum) > 0);
+                } else {
+                    pitNum = ((ComputerPlayer) board.getActivePlayer()).getNextTurnPitNum(board);
+                }
+                board.turn(pitNum);
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.kalah.game.book;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import pro.zavodnikov.kalah.game.Board;
+import pro.zavodnikov.kalah.game.packed.PackedBoard;
+import pro.zavodnikov.kalah.player.RandomPlayer;
+
+/**
+ * Tests for {@link OpeningBook}.
+ *
+ * @author Dmitry Zavodnikov
+ */
+class OpeningBookTest {
+
+    @Test
+    void testOpenWrongFile() throws IOException {
+        assertThrows(IOException.class, () -> OpeningBook.open(Paths.get("not-existing-file.book")));
+
+        final var path = Files.createTempFile("kalah", ".book");
+        try {
+            Files.write(path, new byte[64]);
+            final var book = OpeningBook.open(path); // File is read later.
+            assertThrows(UncheckedIOException.class, () -> book.size());
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    void testLookup() throws IOException {
+        final var player1 = new RandomPlayer("player1", null);
+        final var player2 = new RandomPlayer("player2", null);
+        final var board = new Board(player1, player2, player1);
+        board.init();
+        final var initial = PackedBoard.STANDARD.fromBoard(board);
+        board.turn(0);
+        final var second = PackedBoard.STANDARD.fromBoard(board);
+
+        final var path = Files.createTempFile("kalah", ".book");
+        try {
+            final var keys = new long[] { initial, second };
+            Arrays.sort(keys);
+            final var pitNums = keys[0] == initial ? new byte[] { 3, 1 } : new byte[] { 1, 3 };
+            new OpeningBook(keys, pitNums).write(path);
+
+            final var book = OpeningBook.open(path);
+            assertEquals(2, book.size());
+            assertEquals(3, book.lookup(initial));
+            assertEquals(1, book.lookup(board));
+            assertEquals(OpeningBook.NOT_FOUND, book.lookup(0L));
+
+            board.init(new int[] { 1, 2, 3 }, 0, new int[] { 1, 2, 3 }, 0);
+            assertEquals(OpeningBook.NOT_FOUND, book.lookup(board));
+        } finally {
+            Files.delete(path);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.kalah.game.packed;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import pro.zavodnikov.kalah.game.Board;
+import pro.zavodnikov.kalah.player.ComputerPlayer;
+import pro.zavodnikov.kalah.player.RandomPlayer;
+
+/**
+ * Tests for {@link PackedBoard}.
+ *
+ * @author Dmitry Zavodnikov
+ */
+class PackedBoardTest {
+
+    @Test
+    void testPackUnpack() {
+        final var packed = PackedBoard.STANDARD;
+        final var pits = packed.pack(new int[] { 1, 2, 3, 4, 5, 31 }, new int[] { 0, 7, 8, 9, 10, 11 });
+        assertEquals(31, packed.stones(pits, 5));
+        assertEquals(7, packed.stones(pits, 7));
+        assertEquals(46, packed.rowSeeds(pits, true));
+        assertEquals(45, packed.rowSeeds(pits, false));
+        assertEquals(91, packed.seeds(pits));
+
+        final var moverPits = new int[6];
+        final var opponentPits = new int[6];
+        packed.unpack(packed.flip(pits), moverPits, opponentPits);
+        assertArrayEquals(new int[] { 0, 7, 8, 9, 10, 11 }, moverPits);
+        assertArrayEquals(new int[] { 1, 2, 3, 4, 5, 31 }, opponentPits);
+
+        assertThrows(IllegalArgumentException.class, () -> packed.pack(new int[] { 32, 0, 0, 0, 0, 0 }, new int[6]));
+        assertThrows(IllegalArgumentException.class, () -> new PackedBoard(7, 5));
+    }
+
+    @Test
+    void testMove() {
+        final var packed = new PackedBoard(3, 5);
+
+        final var extra = packed.move(packed.pack(new int[] { 3, 1, 0 }, new int[] { 3, 4, 6 }), 0);
+        assertTrue(PackedBoard.isExtraTurn(extra));
+        assertEquals(packed.pack(new int[] { 0, 2, 1 }, new int[] { 3, 4, 6 }), PackedBoard.position(extra));
+
+        final var capture = packed.move(packed.pack(new int[] { 5, 1, 0 }, new int[] { 3, 4, 6 }), 1);
+        assertFalse(PackedBoard.isExtraTurn(capture));
+        assertEquals(packed.pack(new int[] { 0, 4, 6 }, new int[] { 5, 0, 0 }), capture);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> packed.move(packed.pack(new int[] { 0, 1, 0 }, new int[] { 3, 4, 6 }), 0));
+        assertEquals(PackedBoard.OVERFLOW, packed.move(packed.pack(new int[] { 1, 31, 0 }, new int[] { 3, 4, 6 }), 0));
+    }
+
+    @Test
+    void testSameAsBoard() {
+        final var packed = PackedBoard.STANDARD;
+        for (var game = 0; game < 100; ++game) {
+            final var rand = new Random(game);
+            final var player1 = new RandomPlayer("Player 1", rand);
+            final var player2 = new RandomPlayer("Player 2", rand);
+            final var board = new Board(player1, player2, player1);
+            board.init();
+
+            var pits = packed.fromBoard(board);
+            while (!board.isGameOver()) {
+                final var mover = board.getActivePlayer();
+                final var moverBigPit = board.getBigPits().get(mover);
+                final var pitNum = ((ComputerPlayer) mover).getNextTurnPitNum(board);
+                board.turn(pitNum);
+
+                final var result = packed.move(pits, pitNum);
+                final var next = PackedBoard.position(result);
+                if (packed.isOver(next)) {
+                    assertTrue(board.isGameOver());
+                    final var moverRow = PackedBoard.isExtraTurn(result);
+                    final var moverSeeds = packed.rowSeeds(next, moverRow);
+                    assertEquals(moverBigPit + packed.seeds(pits) - packed.seeds(next) + moverSeeds,
+                            board.getBigPits().get(mover));
+                    break;
+                }
+                assertEquals(PackedBoard.isExtraTurn(result), mover == board.getActivePlayer());
+                assertEquals(moverBigPit + packed.seeds(pits) - packed.seeds(next), board.getBigPits().get(mover));
+                assertEquals(packed.fromBoard(board), next);
+                pits = next;
+            }
+            assertTrue(board.isGameOver());
+        }
+    }
+
+    @Test
+    void testToBoard() {
+        final var packed = PackedBoard.STANDARD;
+        final var rand = new Random(1L);
+        final var player1 = new RandomPlayer("Player 1", rand);
+        final var player2 = new RandomPlayer("Player 2", rand);
+        final var pits = packed.pack(new int[] { 1, 2, 3, 4, 5, 6 }, new int[] { 6, 5, 4, 3, 2, 1 });
+
+        final var board = packed.toBoard(pits, player2, player1, 7, 8);
+        assertEquals(player2, board.getActivePlayer());
+        assertArrayEquals(new int[] { 1, 2, 3, 4, 5, 6 }, board.getRegularPits().get(player2));
+        assertArrayEquals(new int[] { 6, 5, 4, 3, 2, 1 }, board.getRegularPits().get(player1));
+        assertEquals(7, board.getBigPits().get(player2));
+        assertEquals(8, board.getBigPits().get(player1));
+        assertTrue(packed.fits(board));
+        assertEquals(pits, packed.fromBoard(board));
+    }
+}
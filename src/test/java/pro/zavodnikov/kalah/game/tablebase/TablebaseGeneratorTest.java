@@ -0,0 +1,134 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.kalah.game.tablebase;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.HashSet;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import pro.zavodnikov.kalah.game.Board;
+import pro.zavodnikov.kalah.player.Player;
+import pro.zavodnikov.kalah.player.RandomPlayer;
+
+/**
+ * Tests for {@link TablebaseGenerator}.
+ *
+ * @author Dmitry Zavodnikov
+ */
+class TablebaseGeneratorTest {
+
+    private static int negamax(final Board board, final Player player1, final Player player2) {
+        final var player = board.getActivePlayer();
+        final var opponent = player == player1 ? player2 : player1;
+        var best = Integer.MIN_VALUE;
+        for (var pitNum = 0; pitNum < board.getPitsNum(); ++pitNum) {
+            if (board.getRegularPitStones(player, pitNum) == 0) {
+                continue;
+            }
+            board.makeMove(pitNum);
+            final int score;
+            if (board.isGameOver()) {
+                score = board.getBigPitStones(player) - board.getBigPitStones(opponent);
+            } else if (board.getActivePlayer() == player) {
+                score = negamax(board, player1, player2);
+            } else {
+                score = -negamax(board, player1, player2);
+            }
+            board.unmakeMove();
+            best = Math.max(best, score);
+        }
+        return best;
+    }
+
+    @Test
+    void testCreate() {
+        assertThrows(IllegalArgumentException.class, () -> new TablebaseGenerator(0, 4));
+        assertThrows(IllegalArgumentException.class, () -> new TablebaseGenerator(6, 200));
+    }
+
+    @Test
+    void testPositionIndex() {
+        final var index = new PositionIndex(2, 6);
+        assertEquals(210, index.size()); // C(6 + 4, 4)
+
+        final var ranks = new HashSet<Long>();
+        for (var a = 0; a <= 6; ++a) {
+            for (var b = 0; a + b <= 6; ++b) {
+                for (var c = 0; a + b + c <= 6; ++c) {
+                    for (var d = 0; a + b + c + d <= 6; ++d) {
+                        final var cells = new int[] { a, b, c, d };
+                        var rank = 0L;
+                        var seeds = 0;
+                        for (var i = 0; i < cells.length; ++i) {
+                            seeds += cells[i];
+                            rank += index.rankStep(i, seeds);
+                        }
+                        assertTrue(rank < index.offset(seeds + 1) - index.offset(seeds));
+                        ranks.add(index.offset(seeds) + rank);
+                    }
+                }
+            }
+        }
+        assertEquals(210, ranks.size());
+    }
+
+    @Test
+    void testGenerate() throws IOException {
+        final var path = Files.createTempFile("kalah", ".tb");
+        try {
+            final var generator = new TablebaseGenerator(6, 8);
+            generator.generate();
+            generator.write(path);
+            assertEquals(Tablebase.HEADER_SIZE + 125_970, Files.size(path)); // C(8 + 12, 12)
+            final var tablebase = Tablebase.open(path);
+
+            final var rand = new Random(0);
+            final var player1 = new RandomPlayer("player1", rand);
+            final var player2 = new RandomPlayer("player2", rand);
+            for (var test = 0; test < 200; ++test) {
+                final var pits1 = new int[6];
+                final var pits2 = new int[6];
+                pits1[rand.nextInt(6)] = 1;
+                pits2[rand.nextInt(6)] = 1;
+                for (var i = 2 + rand.nextInt(7); i > 2; --i) {
+                    (rand.nextBoolean() ? pits1 : pits2)[rand.nextInt(6)] += 1;
+                }
+                final var board = new Board(player1, player2, player1);
+                board.init(pits1, 5, pits2, 3);
+
+                final var expected = negamax(board, player1, player2) - 2;
+                assertEquals(expected, tablebase.probe(board, player1, player2));
+            }
+        } finally {
+            Files.delete(path);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.kalah.game.tablebase;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.junit.jupiter.api.Test;
+
+import pro.zavodnikov.kalah.game.Board;
+import pro.zavodnikov.kalah.game.packed.PackedBoard;
+import pro.zavodnikov.kalah.player.RandomPlayer;
+
+/**
+ * Tests for {@link Tablebase}.
+ *
+ * @author Dmitry Zavodnikov
+ */
+class TablebaseTest {
+
+    @Test
+    void testOpenWrongFile() throws IOException {
+        final var path = Files.createTempFile("kalah", ".tb");
+        try {
+            Files.write(path, new byte[64]);
+            assertThrows(IOException.class, () -> Tablebase.open(path));
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    void testProbe() throws IOException {
+        final var path = Files.createTempFile("kalah", ".tb");
+        try {
+            final var generator = new TablebaseGenerator(6, 4);
+            generator.generate();
+            generator.write(path);
+            final var tablebase = Tablebase.open(path);
+            assertEquals(6, tablebase.getPitsNum());
+            assertEquals(4, tablebase.getMaxSeeds());
+
+            final var player1 = new RandomPlayer("player1", null);
+            final var player2 = new RandomPlayer("player2", null);
+            final var board = new Board(player1, player2, player1);
+
+            // Extra turn and capture of own stone, the opponent keeps the last stone.
+            board.init(new int[] { 0, 0, 0, 0, 1, 1 }, 0, new int[] { 0, 0, 0, 0, 0, 1 }, 0);
+            assertEquals(1, tablebase.probe(board, player1, player2));
+            final var pits = PackedBoard.STANDARD.fromBoard(board);
+            assertEquals(1, tablebase.probe(PackedBoard.STANDARD, pits));
+
+            board.init(new int[] { 0, 0, 0, 0, 3, 1 }, 0, new int[] { 0, 0, 0, 0, 0, 1 }, 0);
+            assertEquals(Tablebase.NOT_FOUND, tablebase.probe(board, player1, player2));
+            assertEquals(Tablebase.NOT_FOUND, tablebase.probe(new PackedBoard(5, 5), 0L));
+        } finally {
+            Files.delete(path);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.kalah.player;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+import pro.zavodnikov.kalah.game.Board;
+import pro.zavodnikov.kalah.game.tablebase.Tablebase;
+import pro.zavodnikov.kalah.game.tablebase.TablebaseGenerator;
+
+/**
+ * Tests for {@link AlphaBetaPlayer}.
+ *
+ * @author Dmitry Zavodnikov
+ */
+class AlphaBetaPlayerTest {
+
+    @Test
+    void testCreate() {
+        assertThrows(IllegalArgumentException.class, () -> new AlphaBetaPlayer("alphabeta", 0));
+        assertEquals(100, new AlphaBetaPlayer("alphabeta", 100).getMoveTimeMs());
+        assertThrows(IllegalArgumentException.class, () -> new AlphaBetaPlayer("alphabeta", 100, null, null, 0));
+    }
+
+    @Test
+    void testOrderedMoves() {
+        final var player1 = new AlphaBetaPlayer("alphabeta1", 100);
+        final var player2 = new AlphaBetaPlayer("alphabeta2", 100);
+        final var board = new Board(player1, player2, player1);
+        board.init(new int[] { 0, 3, 1, 0, 2, 0 }, 0, new int[] { 1, 0, 5, 0, 0, 0 }, 0);
+
+        final var moves = new int[6];
+        final var size = AlphaBetaPlayer.orderedMoves(board, player2, moves, new int[6]);
+        assertEquals(3, size);
+        // Extra turn, capture of 5 stones, regular turn.
+        assertArrayEquals(new int[] { 4, 2, 1 }, Arrays.copyOf(moves, size));
+    }
+
+    @Test
+    void testTakeExtraTurnAndCapture() {
+        final var player1 = new AlphaBetaPlayer("alphabeta1", 100);
+        final var player2 = new AlphaBetaPlayer("alphabeta2", 100);
+        final var board = new Board(player1, player2, player1);
+        board.init(new int[] { 0, 0, 0, 1, 0, 1 }, 0, new int[] { 3, 9, 0, 0, 0, 1 }, 0);
+
+        while (board.getActivePlayer() == player1) {
+            board.turn(player1.getNextTurnPitNum(board));
+        }
+        assertEquals(0, board.getRegularPitStones(player2, 1)); // Stones are captured.
+        assertTrue(board.getBigPitStones(player1) >= 10);
+    }
+
+    @Test
+    void testWinRandomPlayer() {
+        for (var game = 0; game < 4; ++game) {
+            final var alphaBeta = new AlphaBetaPlayer("alphabeta", 20);
+            final var random = new RandomPlayer("random", new Random(game));
+            final var board = new Board(alphaBeta, random, game % 2 == 0 ? alphaBeta : random);
+            board.init();
+            while (!board.isGameOver()) {
+                final var player = (ComputerPlayer) board.getActivePlayer();
+                board.turn(player.getNextTurnPitNum(board));
+            }
+            assertEquals(alphaBeta, board.getWinner());
+        }
+    }
+
+    @Test
+    void testWinRandomPlayerWithTable() {
+        final var table = new TranspositionTable(1 << 20);
+        for (var game = 0; game < 4; ++game) {
+            final var alphaBeta = new AlphaBetaPlayer("alphabeta", 20, table);
+            final var random = new RandomPlayer("random", new Random(game));
+            final var board = new Board(alphaBeta, random, game % 2 == 0 ? alphaBeta : random);
+            board.init();
+            while (!board.isGameOver()) {
+                final var player = (ComputerPlayer) board.getActivePlayer();
+                board.turn(player.getNextTurnPitNum(board));
+            }
+            assertEquals(alphaBeta, board.getWinner());
+        }
+    }
+
+    @Test
+    void testWinRandomPlayerParallel() {
+        final var pool = new ForkJoinPool(4);
+        try {
+            final var table = new TranspositionTable(1 << 20);
+            for (var game = 0; game < 2; ++game) {
+                final var alphaBeta = new AlphaBetaPlayer("alphabeta", 20, table, pool, 4);
+                final var random = new RandomPlayer("random", new Random(game));
+                final var board = new Board(alphaBeta, random, game % 2 == 0 ? alphaBeta : random);
+                board.init();
+                while (!board.isGameOver()) {
+                    final var player = (ComputerPlayer) board.getActivePlayer();
+                    board.turn(player.getNextTurnPitNum(board));
+                }
+                assertEquals(alphaBeta, board.getWinner());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void testTablebase() throws IOException {
+        final var path = Files.createTempFile("kalah", ".tb");
+        try {
+            final var generator = new TablebaseGenerator(6, 8);
+            generator.generate();
+            generator.write(path);
+            final var tablebase = Tablebase.open(path);
+
+            final var player1 = new AlphaBetaPlayer("alphabeta1", 100, null, tablebase, null, 1);
+            final var player2 = new AlphaBetaPlayer("alphabeta2", 100, null, tablebase, null, 1);
+            final var board = new Board(player1, player2, player1);
+            board.init(new int[] { 2, 0, 1, 0, 0, 2 }, 10, new int[] { 0, 1, 0, 2, 0, 0 }, 12);
+
+            // Every turn keeps the best result.
+            final var expected = tablebase.probe(board, player1, player2) + 10 - 12;
+            while (!board.isGameOver()) {
+                final var player = (ComputerPlayer) board.getActivePlayer();
+                board.turn(player.getNextTurnPitNum(board));
+            }
+            assertEquals(expected, board.getBigPitStones(player1) - board.getBigPitStones(player2));
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    void testMoveTime() {
+        final var player1 = new AlphaBetaPlayer("alphabeta1", 50);
+        final var player2 = new AlphaBetaPlayer("alphabeta2", 50);
+        final var board = new Board(player1, player2, player1);
+        board.init();
+
+        final var start = System.currentTimeMillis();
+        final var pitNum = player1.getNextTurnPitNum(board);
+        assertTrue(System.currentTimeMillis() - start < 1_000);
+        assertEquals(0, board.getTurnNum()); // Board is not changed.
+        assertTrue(0 <= pitNum && pitNum < 6);
+    }
+}
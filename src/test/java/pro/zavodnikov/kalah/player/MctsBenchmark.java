@@ -0,0 +1,67 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.kalah.player;
+
+import java.util.Random;
+
+import pro.zavodnikov.kalah.game.Board;
+
+/**
+ * Simple microbenchmark for playouts of {@link MctsPlayer}. It is not a test and
+ * is not executed during the build; run it manually with test classpath:
+ *
+ * <pre>
+ * $ java -cp target/classes:target/test-classes pro.zavodnikov.kalah.player.MctsBenchmark
+ * </pre>
+ *
+ * Playouts are made in one thread, so result is a number of playouts per core.
+ *
+ * @author Dmitry Zavodnikov
+ */
+public class MctsBenchmark {
+
+    private static final int PLAYOUTS = 10_000;
+    private static final int ROUNDS = 10;
+    private static final long ROUND_NS = 1_000_000_000L;
+
+    public static void main(String[] args) {
+        final var player1 = new MctsPlayer("Player 1", 0, PLAYOUTS, new Random(0L));
+        final var player2 = new MctsPlayer("Player 2", 0, PLAYOUTS, new Random(0L));
+        final var board = new Board(player1, player2, player1);
+        board.init();
+
+        var seed = 0L;
+        for (var r = 0; r < ROUNDS; ++r) {
+            long playouts = 0;
+            final var start = System.nanoTime();
+            long time;
+            do {
+                MctsPlayer.playouts(board, PLAYOUTS, ++seed);
+                playouts += PLAYOUTS;
+                time = System.nanoTime() - start;
+            } while (time < ROUND_NS);
+            System.out.println(String.format("Round %2d: %,d playouts/sec", r, playouts * 1_000_000_000L / time));
+        }
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.kalah.player;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Test;
+
+import pro.zavodnikov.kalah.game.Board;
+
+/**
+ * Tests for {@link MctsPlayer}.
+ *
+ * @author Dmitry Zavodnikov
+ */
+class MctsPlayerTest {
+
+    private static Player playGame(final ComputerPlayer player1, final ComputerPlayer player2, final int pitsNum,
+            final int stonesNum) {
+        final var board = new Board(player1, player2, player1);
+        final var pits = new int[pitsNum];
+        Arrays.fill(pits, stonesNum);
+        board.init(pits, 0, pits.clone(), 0);
+        while (!board.isGameOver()) {
+            final var player = (ComputerPlayer) board.getActivePlayer();
+            board.turn(player.getNextTurnPitNum(board));
+        }
+        return board.getWinner();
+    }
+
+    @Test
+    void testCreate() {
+        assertThrows(IllegalArgumentException.class, () -> new MctsPlayer("mcts", 0, 0, new Random()));
+        assertThrows(IllegalArgumentException.class, () -> new MctsPlayer("mcts", -1, 100, new Random()));
+
+        final var player = new MctsPlayer("mcts", 0, 100, new Random());
+        assertEquals(0, player.getMoveTimeMs());
+        assertEquals(100, player.getMaxPlayouts());
+    }
+
+    @Test
+    void testTakeExtraTurnAndCapture() {
+        final var player1 = new MctsPlayer("mcts1", 0, 2_000, new Random(0));
+        final var player2 = new MctsPlayer("mcts2", 0, 2_000, new Random(1));
+        final var board = new Board(player1, player2, player1);
+        board.init(new int[] { 0, 0, 0, 1, 0, 1 }, 0, new int[] { 3, 9, 0, 0, 0, 1 }, 0);
+
+        while (board.getActivePlayer() == player1) {
+            board.turn(player1.getNextTurnPitNum(board));
+        }
+        assertEquals(0, board.getRegularPitStones(player2, 1)); // Stones are captured.
+        assertTrue(board.getBigPitStones(player1) >= 10);
+    }
+
+    @Test
+    void testPlayouts() {
+        final var player1 = new MctsPlayer("mcts1", 0, 100, new Random());
+        final var player2 = new MctsPlayer("mcts2", 0, 100, new Random());
+        final var board = new Board(player1, player2, player1);
+        board.init();
+
+        final var wins = MctsPlayer.playouts(board, 100, 0L);
+        assertTrue(0.0 <= wins && wins <= 100.0);
+        assertEquals(0, board.getTurnNum()); // All turns are reverted.
+    }
+
+    @Test
+    void testWinRandomPlayer() {
+        for (var game = 0; game < 4; ++game) {
+            final var mcts = new MctsPlayer("mcts", 0, 2_000, new Random(game));
+            final var random = new RandomPlayer("random", new Random(game));
+            final var winner = game % 2 == 0 ? playGame(mcts, random, 6, 6) : playGame(random, mcts, 6, 6);
+            assertEquals(mcts, winner);
+        }
+    }
+
+    @Test
+    void testWinRandomPlayerNonStandardBoard() {
+        // Not a standard number of pits and stones.
+        final var mcts = new MctsPlayer("mcts", 0, 2_000, new Random(0));
+        final var random = new RandomPlayer("random", new Random(0));
+        assertEquals(mcts, playGame(mcts, random, 8, 20));
+    }
+
+    @Test
+    void testMoveTime() {
+        final var player1 = new MctsPlayer("mcts1", 50, 0, new Random());
+        final var player2 = new MctsPlayer("mcts2", 50, 0, new Random());
+        final var board = new Board(player1, player2, player1);
+        board.init();
+
+        final var start = System.currentTimeMillis();
+        final var pitNum = player1.getNextTurnPitNum(board);
+        assertTrue(System.currentTimeMillis() - start < 1_000);
+        assertEquals(0, board.getTurnNum()); // Board is not changed.
+        assertTrue(0 <= pitNum && pitNum < 6);
+    }
+
+    @Test
+    void testTreesArePooled() throws Exception {
+        final var player1 = new MctsPlayer("mcts1", 0, 200, new Random(0));
+        final var player2 = new MctsPlayer("mcts2", 0, 200, new Random(1));
+        final var board = new Board(player1, player2, player1);
+        board.init();
+
+        final var searchesNum = 2 * MctsPlayer.TREES_NUM + 1; // More searches than trees.
+        final var searches = new ArrayList<Callable<Integer>>();
+        for (var i = 0; i < searchesNum; ++i) {
+            searches.add(() -> player1.getNextTurnPitNum(board));
+        }
+        final var executor = Executors.newFixedThreadPool(searchesNum);
+        try {
+            for (final var pitNum : executor.invokeAll(searches)) {
+                assertTrue(0 <= pitNum.get() && pitNum.get() < 6);
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertTrue(MctsPlayer.getCreatedTreesNum() <= MctsPlayer.TREES_NUM);
+        assertEquals(0, board.getTurnNum()); // Board is not changed.
+    }
+}
@@ -21,30 +21,47 @@
  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
  * THE SOFTWARE.
  */
-package pro.zavodnikov.kalah.game.pit;
+package pro.zavodnikov.kalah.player;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Random;
+
 import org.junit.jupiter.api.Test;
 
+import pro.zavodnikov.kalah.game.Board;
+import pro.zavodnikov.kalah.game.book.OpeningBook;
+import pro.zavodnikov.kalah.game.book.OpeningBookGenerator;
+
 /**
- * Tests for {@link BigPit}.
+ * Tests for {@link OpeningBookPlayer}.
  *
  * @author Dmitry Zavodnikov
  */
-class BigPitTest {
+class OpeningBookPlayerTest {
 
     @Test
-    void testGetStones() {
-        final var p = new BigPit(4);
-        assertEquals(4, p.getStones());
-    }
+    void testGetNextTurnPitNum() throws IOException {
+        final var path = Files.createTempFile("kalah", ".book");
+        try {
+            new OpeningBookGenerator(1, 5).generate().write(path);
+            final var book = OpeningBook.open(path);
 
-    @Test
-    void testAddStones() {
-        final var p = new BigPit(2);
-        assertEquals(2, p.getStones());
-        p.addStones(3);
-        assertEquals(5, p.getStones());
+            final var player1 = new OpeningBookPlayer(new AlphaBetaPlayer("alphabeta", 10), book);
+            final var player2 = new RandomPlayer("random", new Random(0));
+            assertEquals("alphabeta", player1.getName());
+
+            final var board = new Board(player1, player2, player1);
+            board.init();
+            assertEquals(book.lookup(board), player1.getNextTurnPitNum(board));
+
+            // Position is not in the book.
+            board.init(new int[] { 0, 0, 0, 0, 0, 1 }, 0, new int[] { 1, 0, 0, 0, 0, 0 }, 0);
+            assertEquals(5, player1.getNextTurnPitNum(board));
+        } finally {
+            Files.delete(path);
+        }
     }
 }
@@ -0,0 +1,121 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.kalah.player;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import pro.zavodnikov.kalah.game.Board;
+
+/**
+ * Tests for {@link TranspositionTable} and {@link Zobrist}.
+ *
+ * @author Dmitry Zavodnikov
+ */
+class TranspositionTableTest {
+
+    @Test
+    void testSize() {
+        assertThrows(IllegalArgumentException.class, () -> new TranspositionTable(8));
+        assertEquals(1, new TranspositionTable(16).getSize());
+        assertEquals(64, new TranspositionTable(1024).getSize());
+        assertEquals(64, new TranspositionTable(2000).getSize());
+    }
+
+    @Test
+    void testStoreProbe() {
+        final var table = new TranspositionTable(1024);
+        final var hash = 0x1234_5678_9ABC_DEF0L;
+        assertEquals(TranspositionTable.MISS, table.probe(hash));
+
+        table.store(hash, 7, TranspositionTable.BOUND_LOWER, 5, -42);
+        final var entry = table.probe(hash);
+        assertEquals(7, TranspositionTable.depth(entry));
+        assertEquals(TranspositionTable.BOUND_LOWER, TranspositionTable.bound(entry));
+        assertEquals(5, TranspositionTable.pitNum(entry));
+        assertEquals(-42, TranspositionTable.score(entry));
+
+        table.store(hash + 64, 3, TranspositionTable.BOUND_EXACT, -1, 0); // Same entry, not so deep.
+        assertEquals(TranspositionTable.MISS, table.probe(hash + 64));
+        assertEquals(-42, TranspositionTable.score(table.probe(hash)));
+
+        table.store(hash + 64, 9, TranspositionTable.BOUND_EXACT, -1, 3); // Same entry, deeper.
+        assertEquals(TranspositionTable.MISS, table.probe(hash));
+        assertEquals(-1, TranspositionTable.pitNum(table.probe(hash + 64)));
+
+        table.clear();
+        assertEquals(TranspositionTable.MISS, table.probe(hash + 64));
+    }
+
+    @Test
+    void testStaleEntries() {
+        final var table = new TranspositionTable(1024);
+        final var hash = 0x1234_5678_9ABC_DEF0L;
+
+        table.newSearch();
+        table.store(hash, 20, TranspositionTable.BOUND_EXACT, 1, 5);
+        assertEquals(1, TranspositionTable.generation(table.probe(hash)));
+
+        for (var i = 0; i < TranspositionTable.STALE_GENERATIONS; ++i) {
+            table.newSearch();
+        }
+        table.store(hash + 64, 2, TranspositionTable.BOUND_EXACT, 2, 6); // Deep entry is not stale yet.
+        assertEquals(TranspositionTable.MISS, table.probe(hash + 64));
+
+        table.newSearch();
+        table.store(hash + 64, 2, TranspositionTable.BOUND_EXACT, 2, 6); // Deep entry is stale.
+        assertEquals(TranspositionTable.MISS, table.probe(hash));
+        assertEquals(6, TranspositionTable.score(table.probe(hash + 64)));
+        assertEquals(TranspositionTable.STALE_GENERATIONS + 2,
+                TranspositionTable.generation(table.probe(hash + 64)));
+    }
+
+    @Test
+    void testZobrist() {
+        final var rand = new Random(1L);
+        final var player1 = new RandomPlayer("Player 1", rand);
+        final var player2 = new RandomPlayer("Player 2", rand);
+        final var board = new Board(player1, player2, player1);
+        board.init();
+
+        final var hash = Zobrist.hash(board, player1, player2);
+        board.makeMove(2);
+        assertNotEquals(hash, Zobrist.hash(board, player1, player2));
+        board.unmakeMove();
+        assertEquals(hash, Zobrist.hash(board, player1, player2));
+
+        final var sameBoard = new Board(player1, player2, player1);
+        sameBoard.init();
+        assertEquals(hash, Zobrist.hash(sameBoard, player1, player2));
+
+        final var anotherPlayerBoard = new Board(player1, player2, player2);
+        anotherPlayerBoard.init();
+        assertNotEquals(hash, Zobrist.hash(anotherPlayerBoard, player1, player2));
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.kalah.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import pro.zavodnikov.kalah.game.Board;
+import pro.zavodnikov.kalah.player.ComputerPlayer;
+import pro.zavodnikov.kalah.player.RandomPlayer;
+
+/**
+ * Tests for {@link ArchivedBoard}.
+ *
+ * @author Dmitry Zavodnikov
+ */
+class ArchivedBoardTest {
+
+    @Test
+    void testArchiveAndRestore() {
+        final var rand = new Random(0L);
+        final var player1 = new RandomPlayer("Player 1", rand);
+        final var player2 = new RandomPlayer("Player 2", rand);
+        final var board = new Board(player1, player2, player1);
+        board.init();
+        assertThrows(IllegalArgumentException.class, () -> ArchivedBoard.of(board));
+
+        while (!board.isGameOver()) {
+            board.turn(((ComputerPlayer) board.getActivePlayer()).getNextTurnPitNum(board));
+        }
+
+        final var archived = ArchivedBoard.of(board);
+        final var summary = archived.summary();
+        assertEquals(board.getId(), summary.getId());
+        assertEquals(board.getVersion(), summary.getVersion());
+        assertEquals(board.getWinner(), summary.getWinner());
+        assertEquals(board.toString(), summary.toString());
+        assertFalse(summary.hasHistory());
+        assertNotSame(summary, archived.summary());
+
+        final var restored = archived.restore();
+        assertEquals(board.getId(), restored.getId());
+        assertEquals(board.getTurnNum(), restored.getTurnNum());
+        assertEquals(board.getWinner(), restored.getWinner());
+        assertNull(restored.getActivePlayer());
+        assertEquals(board.toString(), restored.toString());
+        assertSame(board.initialPits(), restored.initialPits()); // Standard initial pits are shared.
+        for (var i = 0; i <= board.getTurnNum(); ++i) {
+            assertEquals(board.getPosition(i).toString(), restored.getPosition(i).toString());
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.kalah.rest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+import pro.zavodnikov.kalah.game.Board;
+import pro.zavodnikov.kalah.player.ComputerPlayer;
+import pro.zavodnikov.kalah.player.RandomPlayer;
+
+/**
+ * Simple microbenchmark for {@link BoardJsonSerializer}. It is not a test and
+ * is not executed during the build; run it manually with test classpath:
+ *
+ * <pre>
+ * $ java -cp target/classes:target/test-classes:... pro.zavodnikov.kalah.rest.BoardJsonBenchmark
+ * </pre>
+ *
+ * List of boards is written by default Jackson serialization, by the
+ * serializer without cache hits (every board is changed) and by the serializer
+ * with cache (boards are not changed between polls).
+ *
+ * @author Dmitry Zavodnikov
+ */
+public class BoardJsonBenchmark {
+
+    private static final int BOARDS = 100;
+    private static final int ROUNDS = 5;
+    private static final long ROUND_NS = 1_000_000_000L;
+
+    private static ObjectMapper mapper(final BoardJsonSerializer serializer) {
+        return new ObjectMapper().registerModule(new SimpleModule().addSerializer(Board.class, serializer));
+    }
+
+    private static long rate(final ObjectMapper mapper, final Supplier<List<Board>> boards)
+            throws JsonProcessingException {
+        long written = 0;
+        final var start = System.nanoTime();
+        long time;
+        do {
+            mapper.writeValueAsBytes(boards.get());
+            written += BOARDS;
+            time = System.nanoTime() - start;
+        } while (time < ROUND_NS);
+        return written * 1_000_000_000L / time;
+    }
+
+    public static void main(String[] args) throws JsonProcessingException {
+        final var rand = new Random(0L);
+        final var player1 = new RandomPlayer("Player 1", rand);
+        final var player2 = new RandomPlayer("Player 2", rand);
+        final List<Board> boards = new ArrayList<>();
+        for (var i = 0; i < BOARDS; ++i) {
+            final var board = new Board(player1, player2, player1);
+            board.init();
+            for (var turn = rand.nextInt(60); turn > 0 && !board.isGameOver(); --turn) {
+                board.turn(((ComputerPlayer) board.getActivePlayer()).getNextTurnPitNum(board));
+            }
+            boards.add(board);
+        }
+
+        // Copies have the same IDs, so switching between them replaces every cached board.
+        final var copies = List.of(boards, boards.stream().map(Board::copy).toList());
+
+        final var defaultMapper = new ObjectMapper();
+        final var mapper = mapper(new BoardJsonSerializer());
+        for (var r = 0; r < ROUNDS; ++r) {
+            final var defaultRate = rate(defaultMapper, () -> boards);
+            final var counter = new int[1];
+            final var uncachedRate = rate(mapper, () -> copies.get(counter[0]++ & 1));
+            final var cachedRate = rate(mapper, () -> boards);
+            System.out.println(String.format("Round %d: default %,d boards/sec, streaming %,d boards/sec, "
+                    + "cached %,d boards/sec", r, defaultRate, uncachedRate, cachedRate));
+        }
+    }
+}
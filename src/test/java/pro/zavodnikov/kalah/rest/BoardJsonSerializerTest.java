@@ -0,0 +1,115 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.kalah.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+import pro.zavodnikov.kalah.game.Board;
+import pro.zavodnikov.kalah.player.NamedPlayer;
+import pro.zavodnikov.kalah.player.RandomPlayer;
+
+/**
+ * Tests for {@link BoardJsonSerializer}.
+ *
+ * @author Dmitry Zavodnikov
+ */
+class BoardJsonSerializerTest {
+
+    private final BoardJsonSerializer serializer = new BoardJsonSerializer();
+    private final ObjectMapper defaultMapper = new ObjectMapper();
+    private final ObjectMapper mapper = new ObjectMapper()
+            .registerModule(new SimpleModule().addSerializer(Board.class, this.serializer));
+
+    private void assertSameAsDefault(final Board board) throws Exception {
+        final var expected = this.defaultMapper.readTree(this.defaultMapper.writeValueAsString(board));
+        final var actual = this.mapper.readTree(this.mapper.writeValueAsString(board));
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void testSameAsDefault() throws Exception {
+        final var rand = new Random(0L);
+        final var player1 = new NamedPlayer("Player 1");
+        final var player2 = new NamedPlayer("Игрок \"2\"");
+        final var emulator = new RandomPlayer("Emulator", rand);
+        final var board = new Board(player1, player2, player2);
+        board.init();
+        assertSameAsDefault(board);
+
+        while (!board.isGameOver()) {
+            board.turn(emulator.getNextTurnPitNum(board));
+            assertSameAsDefault(board);
+        }
+    }
+
+    @Test
+    void testCache() throws Exception {
+        final var rand = new Random(0L);
+        final var player1 = new RandomPlayer("Player 1", rand);
+        final var player2 = new RandomPlayer("Player 2", rand);
+        final var board = new Board(player1, player2, player1);
+        board.init();
+
+        final var json = this.serializer.toJson(board);
+        assertSame(json, this.serializer.toJson(board));
+        assertSame(json, this.serializer.toJson(board.copy())); // Copy has the same ID and version.
+
+        board.turn(player1.getNextTurnPitNum(board));
+        final var changed = this.serializer.toJson(board);
+        assertNotSame(json, changed);
+        assertSame(changed, this.serializer.toJson(board));
+        assertEquals(this.mapper.writeValueAsString(board.getPosition(1)), changed);
+
+        final var list = this.mapper.readTree(this.mapper.writeValueAsString(new Board[] { board, board }));
+        assertEquals(this.mapper.readTree(changed), list.get(1));
+    }
+
+    @Test
+    void testCacheArchived() throws Exception {
+        final var rand = new Random(0L);
+        final var player1 = new RandomPlayer("Player 1", rand);
+        final var player2 = new RandomPlayer("Player 2", rand);
+        final var board = new Board(player1, player2, player1);
+        board.init();
+        while (!board.isGameOver()) {
+            board.turn(((RandomPlayer) board.getActivePlayer()).getNextTurnPitNum(board));
+        }
+
+        final var archived = ArchivedBoard.of(board);
+        final var json = this.serializer.toJson(archived.summary());
+        assertSame(json, this.serializer.toJson(archived.summary())); // Cached by the first write.
+        assertEquals(json, this.mapper.writeValueAsString(archived.summary()));
+        assertSame(json, this.serializer.toJson(archived.restore()));
+        assertSame(json, this.serializer.toJson(board));
+    }
+}
@@ -26,10 +26,13 @@ package pro.zavodnikov.kalah.rest;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.util.Arrays;
@@ -89,6 +92,45 @@ class BoardsControllerTest extends AbstractControllerTest {
         validatePlayerBoards(token3, "$", hasSize(1));
     }
 
+    @Test
+    void testGetPlayerBoardsPage() throws Exception {
+        final var playerName1 = "Page Player 1";
+        final var playerName2 = "Page Player 2";
+        final var playerName3 = "Page Player 3";
+
+        final var token1 = accessToken(playerName1, "pass");
+        accessToken(playerName2, "pass");
+        accessToken(playerName3, "pass");
+
+        final var boardName1 = startNewGame(token1, playerName2);
+        final var boardName2 = startNewGame(token1, playerName3);
+        final var boardName3 = startNewGame(token1, playerName2);
+
+        final var cursor = this.mvc
+                .perform(get("/v1/board/list").param("limit", "2").header("access-token", token1)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk()).andExpect(jsonPath("$[*].id", is(Arrays.asList(boardName1, boardName2))))
+                .andExpect(header().exists("next-cursor")).andReturn().getResponse().getHeader("next-cursor");
+
+        this.mvc.perform(get("/v1/board/list").param("limit", "2").param("cursor", cursor)
+                .header("access-token", token1).contentType(MediaType.APPLICATION_JSON)).andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", is(Arrays.asList(boardName3))))
+                .andExpect(header().doesNotExist("next-cursor"));
+
+        this.mvc.perform(get("/v1/board/list").param("opponent", playerName2).param("status", "ACTIVE")
+                .header("access-token", token1).contentType(MediaType.APPLICATION_JSON)).andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", is(Arrays.asList(boardName1, boardName3))));
+
+        this.mvc.perform(get("/v1/board/list").param("status", "FINISHED").header("access-token", token1)
+                .contentType(MediaType.APPLICATION_JSON)).andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+
+        this.mvc.perform(get("/v1/board/list").param("limit", "0").header("access-token", token1)
+                .contentType(MediaType.APPLICATION_JSON)).andExpect(status().isBadRequest());
+        this.mvc.perform(get("/v1/board/list").param("opponent", "wrongPlayer").header("access-token", token1)
+                .contentType(MediaType.APPLICATION_JSON)).andExpect(status().isNotFound());
+    }
+
     @Test
     void testStartNewGameNoAccessToken() throws Exception {
         final var playerName1 = "Player 1";
@@ -252,4 +294,91 @@ class BoardsControllerTest extends AbstractControllerTest {
                 .param("nextTurnPitNum", Integer.toString(1)).contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isNotFound());
     }
+
+    @Test
+    void testHistory() throws Exception {
+        final var playerName1 = "Historian 1";
+        final var playerName2 = "Historian 2";
+        final var playerName3 = "Historian 3";
+
+        final var token1 = accessToken(playerName1, "pass");
+        accessToken(playerName2, "pass");
+        final var token3 = accessToken(playerName3, "pass");
+
+        final var boardName = startNewGame(token1, playerName2);
+
+        this.mvc.perform(get("/v1/board/{boardName}/history", boardName).header("access-token", token1)
+                .contentType(MediaType.APPLICATION_JSON)).andExpect(status().isOk())
+                .andExpect(jsonPath("$.boardId", is(boardName))).andExpect(jsonPath("$.moves", hasSize(0)));
+        this.mvc.perform(get("/v1/board/{boardName}/history/{turnNum}", boardName, 0).header("access-token", token1)
+                .contentType(MediaType.APPLICATION_JSON)).andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", is(boardName))).andExpect(jsonPath("$.turnNum", is(0)));
+
+        this.mvc.perform(get("/v1/board/{boardName}/history/{turnNum}", boardName, 1).header("access-token", token1)
+                .contentType(MediaType.APPLICATION_JSON)).andExpect(status().isBadRequest());
+        this.mvc.perform(get("/v1/board/{boardName}/history", boardName).header("access-token", token3)
+                .contentType(MediaType.APPLICATION_JSON)).andExpect(status().isForbidden());
+        this.mvc.perform(get("/v1/board/{boardName}/history", "wrongBoard").header("access-token", token1)
+                .contentType(MediaType.APPLICATION_JSON)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testGetPlayerBoardsNotModified() throws Exception {
+        final var playerName1 = "ETag Player 1";
+        final var playerName2 = "ETag Player 2";
+
+        final var token1 = accessToken(playerName1, "pass");
+        final var token2 = accessToken(playerName2, "pass");
+
+        startNewGame(token1, playerName2);
+        final var etag = this.mvc
+                .perform(get("/v1/board/list").header("access-token", token1).contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk()).andExpect(header().exists("ETag")).andReturn().getResponse()
+                .getHeader("ETag");
+
+        this.mvc.perform(get("/v1/board/list").header("access-token", token1).header("If-None-Match", etag)
+                .contentType(MediaType.APPLICATION_JSON)).andExpect(status().isNotModified());
+        this.mvc.perform(get("/v1/board/list").header("access-token", token2).header("If-None-Match", etag)
+                .contentType(MediaType.APPLICATION_JSON)).andExpect(status().isOk());
+
+        startNewGame(token2, playerName1);
+        this.mvc.perform(get("/v1/board/list").header("access-token", token1).header("If-None-Match", etag)
+                .contentType(MediaType.APPLICATION_JSON)).andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)));
+    }
+
+    @Test
+    void testAwait() throws Exception {
+        final var playerName1 = "Waiter 1";
+        final var playerName2 = "Waiter 2";
+        final var playerName3 = "Waiter 3";
+
+        final var token1 = accessToken(playerName1, "pass");
+        final var token2 = accessToken(playerName2, "pass");
+        final var token3 = accessToken(playerName3, "pass");
+
+        final var boardName = startNewGame(token1, playerName2);
+
+        // Client does not know the board yet.
+        final var known = this.mvc.perform(get("/v1/board/{boardName}/await", boardName).header("access-token", token1)
+                .param("sinceVersion", "0").contentType(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted()).andReturn();
+        this.mvc.perform(asyncDispatch(known)).andExpect(status().isOk()).andExpect(jsonPath("$.turnNum", is(0)))
+                .andExpect(jsonPath("$.version", is(1)));
+
+        // Client waits for the turn of opponent.
+        final var waiting = this.mvc.perform(get("/v1/board/{boardName}/await", boardName)
+                .header("access-token", token1).param("sinceVersion", "1").contentType(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted()).andReturn();
+        turn(token2, boardName, 1);
+        this.mvc.perform(asyncDispatch(waiting)).andExpect(status().isOk()).andExpect(jsonPath("$.turnNum", is(1)))
+                .andExpect(jsonPath("$.version", is(2)));
+
+        this.mvc.perform(get("/v1/board/{boardName}/await", boardName).header("access-token", token3)
+                .param("sinceVersion", "1").contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isForbidden());
+        this.mvc.perform(get("/v1/board/{boardName}/await", "wrongBoard").header("access-token", token1)
+                .param("sinceVersion", "1").contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound());
+    }
 }
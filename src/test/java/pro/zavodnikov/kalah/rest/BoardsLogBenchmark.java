@@ -0,0 +1,78 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.kalah.rest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Simple benchmark for {@link BoardsLog}: every thread appends turn and waits
+ * while it is saved, as request to the storage does. It is not a test and is not
+ * executed during the build; run it manually with test classpath:
+ *
+ * <pre>
+ * $ java -cp target/classes:target/test-classes pro.zavodnikov.kalah.rest.BoardsLogBenchmark [threads]
+ * </pre>
+ *
+ * With one thread every turn waits for own <code>fsync</code>; with many threads
+ * turns are saved together.
+ *
+ * @author Dmitry Zavodnikov
+ */
+public class BoardsLogBenchmark {
+
+    private static final long ROUND_MS = 3_000L;
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        final var threadsNum = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        final var path = Files.createTempFile("boards", ".log");
+        try (var log = BoardsLog.open(path)) {
+            final var turns = new AtomicLong();
+            final var end = System.currentTimeMillis() + ROUND_MS;
+            final var threads = new ArrayList<Thread>();
+            for (var t = 0; t < threadsNum; ++t) {
+                final var seqNum = t;
+                threads.add(Thread.ofPlatform().start(() -> {
+                    try {
+                        while (System.currentTimeMillis() < end) {
+                            log.await(log.appendTurn(seqNum, 0, 0));
+                            turns.incrementAndGet();
+                        }
+                    } catch (IOException e) {
+                        throw new RuntimeException(e);
+                    }
+                }));
+            }
+            for (var thread : threads) {
+                thread.join();
+            }
+            System.out.println(String.format("%d threads: %,d turns/sec", threadsNum,
+                    turns.get() * 1000L / ROUND_MS));
+        } finally {
+            Files.delete(path);
+        }
+    }
+}
@@ -0,0 +1,246 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.kalah.rest;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import pro.zavodnikov.kalah.game.Board;
+import pro.zavodnikov.kalah.player.ComputerPlayer;
+import pro.zavodnikov.kalah.player.NamedPlayer;
+import pro.zavodnikov.kalah.player.RandomPlayer;
+
+/**
+ * Tests for {@link BoardsLog}.
+ *
+ * @author Dmitry Zavodnikov
+ */
+class BoardsLogTest {
+
+    private static List<Board> writeGames(final Path path, final int gamesNum) throws IOException {
+        final var rand = new Random(0L);
+        final var player1 = new RandomPlayer("Player 1", rand);
+        final var player2 = new RandomPlayer("Player 2", rand);
+        final var boards = new ArrayList<Board>();
+        try (var log = BoardsLog.open(path)) {
+            var position = 0L;
+            for (var i = 0; i < gamesNum; ++i) {
+                final var board = new Board(player1, player2, i % 2 == 0 ? player1 : player2);
+                board.init();
+                position = log.appendCreate(i + 1, board);
+                boards.add(board);
+            }
+            // Interleave turns of different boards; the last one is not finished.
+            for (var turn = 0; turn < 1000; ++turn) {
+                for (var i = 0; i < gamesNum; ++i) {
+                    final var board = boards.get(i);
+                    if (!board.isGameOver() && (i < gamesNum - 1 || turn < 3)) {
+                        final var pitNum = ((ComputerPlayer) board.getActivePlayer()).getNextTurnPitNum(board);
+                        position = log.appendTurn(i + 1, board.getTurnNum(), pitNum);
+                        board.turn(pitNum);
+                    }
+                }
+            }
+            log.await(position);
+        }
+        return boards;
+    }
+
+    private static Map<Long, Board> load(final Path path) throws IOException {
+        return BoardsLog.load(path, NamedPlayer::new);
+    }
+
+    private static void assertBoard(final Board expected, final Board actual) {
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getTurnNum(), actual.getTurnNum());
+        assertEquals(expected.isGameOver(), actual.isGameOver());
+        assertEquals(expected.getActivePlayer(), actual.getActivePlayer());
+        assertEquals(expected.getPlayers(), actual.getPlayers());
+        for (var player : expected.getPlayers()) {
+            assertArrayEquals(expected.getRegularPits().get(player), actual.getRegularPits().get(player));
+            assertEquals(expected.getBigPits().get(player), actual.getBigPits().get(player));
+        }
+    }
+
+    @Test
+    void testReplay() throws IOException {
+        final var path = Files.createTempFile("boards", ".log");
+        try {
+            final var boards = writeGames(path, 5);
+            final var loaded = load(path);
+            assertEquals(List.of(1L, 2L, 3L, 4L, 5L), new ArrayList<>(loaded.keySet()));
+            for (var i = 0; i < boards.size(); ++i) {
+                assertBoard(boards.get(i), loaded.get(i + 1L));
+            }
+            assertTrue(loaded.get(1L).isGameOver());
+            assertEquals(3, loaded.get(5L).getTurnNum());
+
+            // Records are appended to existing log.
+            try (var log = BoardsLog.open(path)) {
+                final var board = loaded.get(5L);
+                final var pitNum = board.getRegularPitStones(board.getActivePlayer(), 0) > 0 ? 0 : 1;
+                log.await(log.appendTurn(5, board.getTurnNum(), pitNum));
+                board.turn(pitNum);
+            }
+            assertBoard(loaded.get(5L), load(path).get(5L));
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    void testRotate() throws IOException {
+        final var path = Files.createTempFile("boards", ".log");
+        final var rotated = path.resolveSibling(path.getFileName() + ".old");
+        try {
+            final var boards = writeGames(path, 2);
+            final var board = boards.get(1);
+            final var loaded = load(path);
+
+            try (var log = BoardsLog.open(path)) {
+                log.rotate(rotated);
+                final var pitNum = ((ComputerPlayer) board.getActivePlayer()).getNextTurnPitNum(board);
+                log.await(log.appendTurn(2, board.getTurnNum(), pitNum));
+                board.turn(pitNum);
+            }
+            assertEquals(loaded.size(), load(rotated).size());
+
+            // Replay is idempotent, so changes can be applied to more recent state.
+            BoardsLog.replay(rotated, loaded, NamedPlayer::new);
+            assertBoard(boards.get(0), loaded.get(1L));
+            assertEquals(board.getTurnNum() - 1, loaded.get(2L).getTurnNum());
+            BoardsLog.replay(path, loaded, NamedPlayer::new);
+            assertBoard(boards.get(0), loaded.get(1L));
+            assertBoard(board, loaded.get(2L));
+        } finally {
+            Files.delete(path);
+            Files.deleteIfExists(rotated);
+        }
+    }
+
+    @Test
+    void testTornTail() throws IOException {
+        final var path = Files.createTempFile("boards", ".log");
+        try {
+            final var boards = writeGames(path, 1);
+            final var size = Files.size(path);
+            try (var channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                channel.truncate(size - 3); // Last turn is written partially.
+            }
+
+            final var board = load(path).get(1L);
+            assertEquals(boards.get(0).getTurnNum() - 1, board.getTurnNum());
+            assertTrue(Files.size(path) < size - 3);
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    private static void flipByte(final Path path, final long position) throws IOException {
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            final var buffer = ByteBuffer.allocate(1);
+            channel.read(buffer, position);
+            buffer.put(0, (byte) (buffer.get(0) ^ 0xFF));
+            channel.write(buffer.rewind(), position);
+        }
+    }
+
+    @Test
+    void testBrokenRecord() throws IOException {
+        final var path = Files.createTempFile("boards", ".log");
+        try {
+            final var boards = writeGames(path, 1);
+            final var size = Files.size(path);
+
+            flipByte(path, size - 1); // Last record is broken.
+            final var board = load(path).get(1L);
+            assertEquals(boards.get(0).getTurnNum() - 1, board.getTurnNum());
+            final var truncated = Files.size(path);
+            assertTrue(truncated < size);
+
+            flipByte(path, truncated / 2); // Other records follow the broken one.
+            assertThrows(IOException.class, () -> load(path));
+            assertEquals(truncated, Files.size(path));
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    void testZeroTail() throws IOException {
+        final var path = Files.createTempFile("boards", ".log");
+        try {
+            final var boards = writeGames(path, 1);
+            final var size = Files.size(path);
+            try (var channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                channel.write(ByteBuffer.allocate(100));
+            }
+
+            assertBoard(boards.get(0), load(path).get(1L));
+            assertEquals(size, Files.size(path));
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    void testWriteError() throws IOException {
+        final var path = Files.createTempFile("boards", ".log");
+        final var rotated = path.resolveSibling("missing").resolve(path.getFileName());
+        try (var log = BoardsLog.open(path)) {
+            assertThrows(IOException.class, () -> log.rotate(rotated));
+            // Records are not accepted after the writer is stopped.
+            assertThrows(IOException.class, () -> log.check());
+            assertThrows(IOException.class, () -> log.appendTurn(1, 0, 0));
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    void testCorrupted() throws IOException {
+        final var path = Files.createTempFile("boards", ".log");
+        try (var log = BoardsLog.open(path)) {
+            log.await(log.appendTurn(1, 0, 0)); // Board is not created.
+            assertThrows(IOException.class, () -> load(path));
+        } finally {
+            Files.delete(path);
+        }
+    }
+}
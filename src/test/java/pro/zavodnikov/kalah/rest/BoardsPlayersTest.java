@@ -0,0 +1,98 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.kalah.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import pro.zavodnikov.kalah.player.ConsolePlayer;
+
+/**
+ * Tests for {@link BoardsPlayers}.
+ *
+ * @author Dmitry Zavodnikov
+ */
+class BoardsPlayersTest {
+
+    @Test
+    void testSaveAndLoad() throws IOException, NoSuchAlgorithmException {
+        final var path = Files.createTempFile("boards", ".players");
+        try {
+            try (var players = BoardsPlayers.open(path, List.of())) {
+                players.add(new ConsolePlayer("Player 1", "pass 1"));
+                players.add(new ConsolePlayer("Игрок 2", "pass 2"));
+                players.add(new ConsolePlayer("Player 1", "other")); // Already saved.
+            }
+
+            final var loaded = BoardsPlayers.load(path);
+            assertEquals(2, loaded.size());
+            assertEquals("Player 1", loaded.get(0).getName());
+            assertTrue(loaded.get(0).isPasswordValid("pass 1"));
+            assertFalse(loaded.get(0).isPasswordValid("other"));
+            assertEquals("Игрок 2", loaded.get(1).getName());
+            assertTrue(loaded.get(1).isPasswordValid("pass 2"));
+
+            // Players saved before are not written again.
+            final var size = Files.size(path);
+            try (var players = BoardsPlayers.open(path, loaded)) {
+                players.add(new ConsolePlayer("Player 1", "pass 1"));
+            }
+            assertEquals(size, Files.size(path));
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    void testTornTail() throws IOException, NoSuchAlgorithmException {
+        final var path = Files.createTempFile("boards", ".players");
+        try {
+            try (var players = BoardsPlayers.open(path, List.of())) {
+                players.add(new ConsolePlayer("Player 1", "pass 1"));
+                players.add(new ConsolePlayer("Player 2", "pass 2"));
+            }
+            final var size = Files.size(path);
+            try (var channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                channel.truncate(size - 3); // Last player is written partially.
+            }
+
+            final var loaded = BoardsPlayers.load(path);
+            assertEquals(1, loaded.size());
+            assertEquals("Player 1", loaded.get(0).getName());
+            assertTrue(Files.size(path) < size - 3);
+        } finally {
+            Files.delete(path);
+        }
+    }
+}
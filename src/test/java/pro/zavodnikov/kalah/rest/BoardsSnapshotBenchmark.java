@@ -0,0 +1,100 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.kalah.rest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+
+import pro.zavodnikov.kalah.game.Board;
+import pro.zavodnikov.kalah.player.ComputerPlayer;
+import pro.zavodnikov.kalah.player.NamedPlayer;
+import pro.zavodnikov.kalah.player.Player;
+import pro.zavodnikov.kalah.player.RandomPlayer;
+
+/**
+ * Simple benchmark for {@link BoardsSnapshot}: writes and loads snapshot of many
+ * boards. It is not a test and is not executed during the build; run it manually
+ * with test classpath:
+ *
+ * <pre>
+ * $ java -Xmx2g -cp target/classes:target/test-classes pro.zavodnikov.kalah.rest.BoardsSnapshotBenchmark [boards]
+ * </pre>
+ *
+ * @author Dmitry Zavodnikov
+ */
+public class BoardsSnapshotBenchmark {
+
+    private static final int PLAYERS_NUM = 10_000;
+
+    public static void main(String[] args) throws IOException {
+        final var boardsNum = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+
+        final var rand = new Random(0L);
+        final var players = new ArrayList<RandomPlayer>();
+        for (var i = 0; i < PLAYERS_NUM; ++i) {
+            players.add(new RandomPlayer("Player " + i, rand));
+        }
+        final var boards = new ArrayList<Board>(boardsNum);
+        for (var i = 0; i < boardsNum; ++i) {
+            final var player1 = players.get(rand.nextInt(PLAYERS_NUM));
+            var player2 = player1;
+            while (player2 == player1) {
+                player2 = players.get(rand.nextInt(PLAYERS_NUM));
+            }
+            final var board = new Board(player1, player2, player1);
+            board.init();
+            for (var turn = rand.nextInt(80); turn > 0 && !board.isGameOver(); --turn) {
+                board.turn(((ComputerPlayer) board.getActivePlayer()).getNextTurnPitNum(board));
+            }
+            boards.add(board);
+        }
+
+        final var path = Files.createTempFile("boards", ".snapshot");
+        try {
+            var start = System.currentTimeMillis();
+            try (var writer = BoardsSnapshot.create(path)) {
+                for (var i = 0; i < boards.size(); ++i) {
+                    writer.add(i + 1, boards.get(i));
+                }
+                writer.commit();
+            }
+            System.out.println(String.format("Write %,d boards (%,d bytes): %d ms", boardsNum, Files.size(path),
+                    System.currentTimeMillis() - start));
+
+            for (var r = 0; r < 3; ++r) {
+                start = System.currentTimeMillis();
+                final Map<String, Player> cache = new ConcurrentHashMap<>();
+                final var loaded = BoardsSnapshot.load(path, name -> cache.computeIfAbsent(name, NamedPlayer::new));
+                System.out.println(String.format("Load %,d boards: %d ms", loaded.size(),
+                        System.currentTimeMillis() - start));
+            }
+        } finally {
+            Files.delete(path);
+        }
+    }
+}
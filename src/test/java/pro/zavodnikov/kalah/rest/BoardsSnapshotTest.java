@@ -0,0 +1,131 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.kalah.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import pro.zavodnikov.kalah.game.Board;
+import pro.zavodnikov.kalah.player.ComputerPlayer;
+import pro.zavodnikov.kalah.player.NamedPlayer;
+import pro.zavodnikov.kalah.player.Player;
+import pro.zavodnikov.kalah.player.RandomPlayer;
+
+/**
+ * Tests for {@link BoardsSnapshot}.
+ *
+ * @author Dmitry Zavodnikov
+ */
+class BoardsSnapshotTest {
+
+    @Test
+    void testWriteAndLoad() throws IOException {
+        final var rand = new Random(0L);
+        final var players = new ArrayList<RandomPlayer>();
+        for (var i = 0; i < 10; ++i) {
+            players.add(new RandomPlayer("Player " + i, rand));
+        }
+        // More boards than in one block.
+        final var boards = new ArrayList<Board>();
+        for (var i = 0; i < 10_000; ++i) {
+            final var player1 = players.get(i % players.size());
+            final var player2 = players.get((i + 1 + i / players.size() % 9) % players.size());
+            final var board = new Board(player1, player2, i % 2 == 0 ? player1 : player2);
+            board.init();
+            for (var turn = i % 100; turn > 0 && !board.isGameOver(); --turn) {
+                board.turn(((ComputerPlayer) board.getActivePlayer()).getNextTurnPitNum(board));
+            }
+            boards.add(board);
+        }
+
+        final var path = Files.createTempFile("boards", ".snapshot");
+        try {
+            try (var writer = BoardsSnapshot.create(path)) {
+                for (var i = 0; i < boards.size(); ++i) {
+                    writer.add(2L * i, boards.get(i));
+                }
+                writer.commit();
+            }
+
+            final var cache = new HashMap<String, Player>();
+            final var loaded = BoardsSnapshot.load(path, name -> {
+                synchronized (cache) {
+                    return cache.computeIfAbsent(name, NamedPlayer::new);
+                }
+            });
+            assertEquals(boards.size(), loaded.size());
+            var i = 0;
+            for (var entry : loaded.entrySet()) {
+                final var board = boards.get(i);
+                final var restored = entry.getValue();
+                assertEquals(Long.valueOf(2L * i), entry.getKey());
+                assertEquals(board.getId(), restored.getId());
+                assertEquals(board.getTurnNum(), restored.getTurnNum());
+                assertEquals(board.getActivePlayer(), restored.getActivePlayer());
+                assertEquals(board.toString(), restored.toString());
+                ++i;
+            }
+            assertTrue(loaded.values().stream().anyMatch(Board::isGameOver));
+            assertNull(loaded.values().stream().filter(Board::isGameOver).findFirst().get().getActivePlayer());
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    void testNotCommitted() throws IOException {
+        final var path = Files.createTempFile("boards", ".snapshot");
+        Files.delete(path);
+        try (var writer = BoardsSnapshot.create(path)) {
+            final var player1 = new NamedPlayer("Player 1");
+            final var board = new Board(player1, new NamedPlayer("Player 2"), player1);
+            board.init();
+            writer.add(1, board);
+        }
+        assertFalse(Files.exists(path));
+        assertTrue(BoardsSnapshot.load(path, NamedPlayer::new).isEmpty());
+    }
+
+    @Test
+    void testCorrupted() throws IOException {
+        final var path = Files.createTempFile("boards", ".snapshot");
+        try {
+            Files.write(path, new byte[100]);
+            assertThrows(IOException.class, () -> BoardsSnapshot.load(path, NamedPlayer::new));
+        } finally {
+            Files.delete(path);
+        }
+    }
+}
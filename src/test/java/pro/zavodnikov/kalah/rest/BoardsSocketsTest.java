@@ -0,0 +1,190 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.kalah.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import jakarta.websocket.ClientEndpointConfig;
+import jakarta.websocket.CloseReason;
+import jakarta.websocket.ContainerProvider;
+import jakarta.websocket.Endpoint;
+import jakarta.websocket.EndpointConfig;
+import jakarta.websocket.MessageHandler;
+import jakarta.websocket.Session;
+import pro.zavodnikov.kalah.game.Board;
+import pro.zavodnikov.kalah.player.NamedPlayer;
+
+/**
+ * Tests for {@link BoardsSockets}.
+ *
+ * @author Dmitry Zavodnikov
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles(TestConfig.PROFILE)
+class BoardsSocketsTest {
+
+    private static final long TIMEOUT_MS = 10_000;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private SecurityStorage security;
+
+    @Autowired
+    private BoardsStorage games;
+
+    /**
+     * Client that remembers received frames.
+     */
+    private static class Client extends Endpoint {
+
+        private final BlockingQueue<ByteBuffer> frames = new LinkedBlockingQueue<>();
+        private final CompletableFuture<CloseReason> closed = new CompletableFuture<>();
+
+        @Override
+        public void onOpen(final Session session, final EndpointConfig config) {
+            session.addMessageHandler(ByteBuffer.class, (MessageHandler.Whole<ByteBuffer>) this.frames::add);
+        }
+
+        @Override
+        public void onClose(final Session session, final CloseReason closeReason) {
+            this.closed.complete(closeReason);
+        }
+
+        ByteBuffer poll() throws InterruptedException {
+            final var frame = this.frames.poll(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            assertNotNull(frame);
+            return frame;
+        }
+    }
+
+    private Session connect(final Client client, final String boardId, final String token) throws Exception {
+        final var uri = URI.create(String.format("ws://localhost:%d/v1/board/%s/socket?token=%s", this.port, boardId,
+                token));
+        return ContainerProvider.getWebSocketContainer().connectToServer(client,
+                ClientEndpointConfig.Builder.create().build(), uri);
+    }
+
+    private static ByteBuffer pit(final int pitNum) {
+        return ByteBuffer.wrap(new byte[] { (byte) pitNum });
+    }
+
+    @Test
+    void testPositionFrame() {
+        final var player1 = new NamedPlayer("Player 1");
+        final var player2 = new NamedPlayer("Player 2");
+        final var board = new Board(player1, player2, player2);
+        board.init();
+        board.turn(0);
+
+        final var frame = BoardsSockets.positionFrame(board);
+        assertEquals(35, frame.remaining());
+        assertEquals(BoardsSockets.POSITION_FRAME, frame.get());
+        assertEquals(2, frame.get()); // Last stone went to the big pit, so player 2 moves again.
+        assertEquals(1, frame.getInt());
+        assertEquals(6, frame.get());
+        for (var player : board.getPlayers()) {
+            for (var i = 0; i < 6; ++i) {
+                assertEquals(board.getRegularPitStones(player, i), frame.getShort());
+            }
+            assertEquals(board.getBigPitStones(player), frame.getShort());
+        }
+        assertEquals(0, frame.remaining());
+
+        final var error = BoardsSockets.errorFrame("Wrong pit");
+        assertEquals(BoardsSockets.ERROR_FRAME, error.get());
+        assertEquals("Wrong pit", StandardCharsets.UTF_8.decode(error).toString());
+    }
+
+    @Test
+    void testTurns() throws Exception {
+        final var playerName1 = "Socket Player 1";
+        final var playerName2 = "Socket Player 2";
+        final var token1 = this.security.createNewAccessToken(playerName1, "pass");
+        final var token2 = this.security.createNewAccessToken(playerName2, "pass");
+        final var player1 = this.security.findPlayerByName(playerName1);
+        final var player2 = this.security.findPlayerByName(playerName2);
+
+        final var boardId = this.games.createNewBoard(player1, player2);
+        var board = this.games.getGameBoard(boardId);
+
+        final var client1 = new Client();
+        final var client2 = new Client();
+        final var session1 = connect(client1, boardId, token1);
+        final var session2 = connect(client2, boardId, token2);
+        assertEquals(BoardsSockets.positionFrame(board), client1.poll());
+        assertEquals(BoardsSockets.positionFrame(board), client2.poll());
+
+        final var activeSession = board.getActivePlayer() == player1 ? session1 : session2;
+        final var otherSession = activeSession == session1 ? session2 : session1;
+        final var otherClient = activeSession == session1 ? client2 : client1;
+
+        activeSession.getBasicRemote().sendBinary(pit(1));
+        final var position = client1.poll();
+        assertEquals(position, client2.poll());
+        board = this.games.getGameBoard(boardId);
+        assertEquals(BoardsSockets.positionFrame(board), position);
+        assertEquals(1, board.getTurnNum());
+
+        if (board.getActivePlayer() == player1 ^ activeSession == session1) {
+            activeSession.getBasicRemote().sendBinary(pit(0)); // Not active player any more.
+            final var error = (activeSession == session1 ? client1 : client2).poll();
+            assertEquals(BoardsSockets.ERROR_FRAME, error.get());
+        } else {
+            otherSession.getBasicRemote().sendBinary(pit(0));
+            assertEquals(BoardsSockets.ERROR_FRAME, otherClient.poll().get());
+        }
+
+        session1.close();
+        session2.close();
+    }
+
+    @Test
+    void testWrongToken() throws Exception {
+        final var player1 = new NamedPlayer("Socket Tester 1");
+        final var player2 = new NamedPlayer("Socket Tester 2");
+        final var boardId = this.games.createNewBoard(player1, player2);
+
+        final var client = new Client();
+        connect(client, boardId, "wrongToken");
+        assertEquals(CloseReason.CloseCodes.VIOLATED_POLICY.getCode(),
+                client.closed.get(TIMEOUT_MS, TimeUnit.MILLISECONDS).getCloseCode().getCode());
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.kalah.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.security.NoSuchAlgorithmException;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import pro.zavodnikov.kalah.game.Board;
+import pro.zavodnikov.kalah.player.ComputerPlayer;
+import pro.zavodnikov.kalah.player.ConsolePlayer;
+import pro.zavodnikov.kalah.player.NamedPlayer;
+import pro.zavodnikov.kalah.player.Player;
+import pro.zavodnikov.kalah.player.RandomPlayer;
+
+/**
+ * Tests for {@link BoardsStorageMemory} with asynchronous computer turns.
+ *
+ * @author Dmitry Zavodnikov
+ */
+@SpringBootTest(properties = { "kalah.computer.async-turns=true", "kalah.computer.turn-retries=2",
+        "kalah.computer.turn-retry-ms=10" })
+@ActiveProfiles(TestConfig.PROFILE)
+class BoardsStorageAsyncTest {
+
+    private static final long TIMEOUT_MS = 10_000;
+
+    @Autowired
+    private BoardsStorage games;
+
+    /**
+     * Computer player that can not make turns.
+     */
+    private static class BrokenPlayer extends NamedPlayer implements ComputerPlayer {
+
+        private final AtomicInteger turns = new AtomicInteger();
+
+        BrokenPlayer(final String name) {
+            super(name);
+        }
+
+        @Override
+        public int getNextTurnPitNum(final Board board) {
+            this.turns.incrementAndGet();
+            throw new IllegalStateException("Broken player");
+        }
+    }
+
+    private Board awaitActive(final String gameId, final Player player) throws InterruptedException {
+        final var endMs = System.currentTimeMillis() + TIMEOUT_MS;
+        var board = this.games.getGameBoard(gameId);
+        while (!board.isGameOver() && board.getActivePlayer() != player) {
+            assertTrue(System.currentTimeMillis() < endMs, "Computer turn is not made");
+            Thread.sleep(1);
+            board = this.games.getGameBoard(gameId);
+        }
+        return board;
+    }
+
+    @Test
+    void testPlayWithComputer() throws NoSuchAlgorithmException, InterruptedException {
+        final var userPlayer = new ConsolePlayer("Async Gamer", "pass");
+        final var gameId = this.games.createNewBoard(userPlayer, null);
+
+        final var playerEmulator = new RandomPlayer("Async Gamer Emulator", new Random(1L));
+        var board = awaitActive(gameId, userPlayer);
+        while (!board.isGameOver()) {
+            final var version = board.getVersion();
+            this.games.nextTurn(gameId, userPlayer, playerEmulator.getNextTurnPitNum(board));
+            board = awaitActive(gameId, userPlayer);
+            assertTrue(board.getVersion() > version);
+        }
+        assertNotNull(board.getWinner());
+        assertEquals(board.getTurnNum(), this.games.getBoardHistory(gameId, userPlayer).getMoves().length);
+    }
+
+    @Test
+    void testFailedComputerTurns() throws NoSuchAlgorithmException, InterruptedException {
+        final var userPlayer = new ConsolePlayer("Failing Gamer", "pass");
+        final var computer = new BrokenPlayer("Broken Computer");
+        final var gameId = this.games.createNewBoard(userPlayer, computer);
+        if (this.games.getGameBoard(gameId).getActivePlayer() == userPlayer) {
+            this.games.nextTurn(gameId, userPlayer, 1); // Last stone goes to the opponent.
+        }
+
+        final var endMs = System.currentTimeMillis() + TIMEOUT_MS;
+        while (computer.turns.get() < 3) {
+            assertTrue(System.currentTimeMillis() < endMs, "Computer turn is not retried");
+            Thread.sleep(1);
+        }
+        // Failed board is not resumed by polls of the player.
+        for (var i = 0; i < 10; ++i) {
+            this.games.getPlayerBoards(userPlayer);
+            Thread.sleep(20);
+        }
+        assertEquals(3, computer.turns.get());
+        assertEquals(computer, this.games.getGameBoard(gameId).getActivePlayer());
+    }
+}
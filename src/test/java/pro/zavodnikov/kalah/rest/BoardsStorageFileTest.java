@@ -0,0 +1,128 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.kalah.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import pro.zavodnikov.kalah.game.Board;
+import pro.zavodnikov.kalah.player.ConsolePlayer;
+import pro.zavodnikov.kalah.player.NamedPlayer;
+import pro.zavodnikov.kalah.player.Player;
+import pro.zavodnikov.kalah.player.RandomPlayer;
+
+/**
+ * Tests for {@link BoardsStorageFile}.
+ *
+ * @author Dmitry Zavodnikov
+ */
+@SpringBootTest(properties = { "kalah.boards.log-path=" + BoardsStorageFileTest.LOG_PATH,
+        "kalah.boards.snapshot-period-ms=0" })
+@ActiveProfiles(TestConfig.PROFILE)
+class BoardsStorageFileTest {
+
+    static final String LOG_PATH = "target/boards-test.log";
+
+    @Autowired
+    private BoardsStorage games;
+
+    @Test
+    void testContextLoads() {
+        assertThat(this.games).isInstanceOf(BoardsStorageFile.class);
+    }
+
+    private Board findSaved(final String boardId) throws IOException {
+        final Map<String, Player> cache = new ConcurrentHashMap<>();
+        final Function<String, Player> players = name -> cache.computeIfAbsent(name, NamedPlayer::new);
+        final var boards = BoardsSnapshot.load(Paths.get(LOG_PATH + ".snapshot"), players);
+        BoardsLog.replay(Paths.get(LOG_PATH + ".old"), boards, players);
+        BoardsLog.replay(Paths.get(LOG_PATH), boards, players);
+        return boards.values().stream().filter(board -> board.getId().equals(boardId)).findFirst().orElseThrow();
+    }
+
+    @Test
+    void testTurnsAreSaved() throws NoSuchAlgorithmException, IOException {
+        final var userPlayer = new ConsolePlayer("Saved Gamer", "pass");
+        final var gameId = this.games.createNewBoard(userPlayer, null);
+
+        var board = this.games.getGameBoard(gameId);
+        assertEquals(board.toString(), findSaved(gameId).toString());
+
+        final var playerEmulator = new RandomPlayer("Saved Gamer Emulator", new Random(1L));
+        for (var i = 0; i < 5 && !board.isGameOver(); ++i) {
+            this.games.nextTurn(gameId, board.getActivePlayer(), playerEmulator.getNextTurnPitNum(board));
+            board = this.games.getGameBoard(gameId);
+
+            final var saved = findSaved(gameId);
+            assertEquals(board.toString(), saved.toString());
+            assertEquals(board.getTurnNum(), saved.getTurnNum());
+        }
+    }
+
+    @Test
+    void testSnapshot() throws NoSuchAlgorithmException, IOException {
+        final var userPlayer = new ConsolePlayer("Snapshot Gamer", "pass");
+        final var gameId = this.games.createNewBoard(userPlayer, null);
+        final var playerEmulator = new RandomPlayer("Snapshot Gamer Emulator", new Random(1L));
+        final var started = this.games.getGameBoard(gameId);
+        this.games.nextTurn(gameId, started.getActivePlayer(), playerEmulator.getNextTurnPitNum(started));
+        final var board = this.games.getGameBoard(gameId);
+
+        final var storage = (BoardsStorageFile) this.games;
+        assertTrue(storage.takeSnapshot() > 0);
+        assertFalse(Files.exists(Paths.get(LOG_PATH + ".old")));
+        assertEquals(0, Files.size(Paths.get(LOG_PATH)));
+        assertEquals(board.toString(), findSaved(gameId).toString());
+
+        this.games.nextTurn(gameId, board.getActivePlayer(), playerEmulator.getNextTurnPitNum(board));
+        assertEquals(this.games.getGameBoard(gameId).toString(), findSaved(gameId).toString());
+    }
+
+    @Test
+    void testPlayersAreSaved() throws NoSuchAlgorithmException, IOException {
+        final var userPlayer = new ConsolePlayer("Registered Gamer", "secret");
+        this.games.createNewBoard(userPlayer, null);
+
+        final var saved = BoardsPlayers.load(Paths.get(LOG_PATH + ".players")).stream()
+                .filter(player -> player.getName().equals(userPlayer.getName())).findFirst().orElseThrow();
+        assertTrue(saved.isPasswordValid("secret"));
+        assertFalse(saved.isPasswordValid("pass"));
+    }
+}
@@ -26,17 +26,35 @@ package pro.zavodnikov.kalah.rest;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import pro.zavodnikov.kalah.game.Board;
 import pro.zavodnikov.kalah.player.ConsolePlayer;
@@ -55,6 +73,9 @@ class BoardsStorageTest {
     @Autowired
     private BoardsStorage games;
 
+    @Autowired
+    private ObjectMapper mapper;
+
     @Test
     void testContextLoads() {
         assertThat(this.games).isNotNull();
@@ -66,6 +87,18 @@ class BoardsStorageTest {
         assertEquals(boards, this.games.getPlayerBoards(player));
     }
 
+    @Test
+    void testGameBoardCopy() throws NoSuchAlgorithmException {
+        final var player1 = new ConsolePlayer("Copy Player 1", "pass");
+        final var player2 = new ConsolePlayer("Copy Player 2", "pass");
+        final var boardId = this.games.createNewBoard(player1, player2);
+
+        final var board = this.games.getGameBoard(boardId);
+        assertNotSame(board, this.games.getGameBoard(boardId));
+        board.turn(0); // Readers like web sockets can not see changes of the copy.
+        assertEquals(0, this.games.getGameBoard(boardId).getTurnNum());
+    }
+
     @Test
     void testPlayerBoards() throws NoSuchAlgorithmException {
         final var player1 = new ConsolePlayer("Board Player 1", "pass");
@@ -80,17 +113,25 @@ class BoardsStorageTest {
         verifyPlayerBoards(player3, boardName1, boardName3);
     }
 
+    /**
+     * @return finished board.
+     */
+    private Board play(final String gameId, final RandomPlayer playerEmulator) {
+        var board = this.games.getGameBoard(gameId);
+        while (!board.isGameOver()) {
+            this.games.nextTurn(gameId, board.getActivePlayer(), playerEmulator.getNextTurnPitNum(board));
+            board = this.games.getGameBoard(gameId);
+        }
+        return board;
+    }
+
     @Test
     void testPlayTwoConsoleUsers() throws NoSuchAlgorithmException {
         final var firstConsolePlayer = new ConsolePlayer("Test Player 1", "pass");
         final var secondConsolePlayer = new ConsolePlayer("Test Player 2", "pass");
         final var gameId = this.games.createNewBoard(firstConsolePlayer, secondConsolePlayer);
 
-        final var board = this.games.getGameBoard(gameId);
-        final var playerEmulator = new RandomPlayer("Test Player Emulator", new Random(1L));
-        while (!board.isGameOver()) {
-            this.games.nextTurn(gameId, board.getActivePlayer(), playerEmulator.getNextTurnPitNum(board));
-        }
+        final var board = play(gameId, new RandomPlayer("Test Player Emulator", new Random(1L)));
         assertNotNull(board.getWinner());
     }
 
@@ -99,12 +140,252 @@ class BoardsStorageTest {
         final var userPlayer = new ConsolePlayer("Test Gamer", "pass");
         final var gameId = this.games.createNewBoard(userPlayer, null);
 
-        final var board = this.games.getGameBoard(gameId);
+        var board = this.games.getGameBoard(gameId);
         final var playerEmulator = new RandomPlayer("Test Gamer Emulator", new Random(1L));
         while (!board.isGameOver()) {
             assertEquals(userPlayer, board.getActivePlayer());
             this.games.nextTurn(gameId, board.getActivePlayer(), playerEmulator.getNextTurnPitNum(board));
+            board = this.games.getGameBoard(gameId);
         }
         assertNotNull(board.getWinner());
     }
+
+    /**
+     * Random player that remembers threads of turns.
+     */
+    private static class ThreadsPlayer extends RandomPlayer {
+
+        private final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+
+        ThreadsPlayer(final String name) {
+            super(name, new Random(1L));
+        }
+
+        @Override
+        public int getNextTurnPitNum(final Board board) {
+            this.threads.add(Thread.currentThread());
+            return super.getNextTurnPitNum(board);
+        }
+    }
+
+    @Test
+    void testComputerTurnsOfVirtualThreads() throws Exception {
+        final var userPlayer = new ConsolePlayer("Virtual Gamer", "pass");
+        final var computerPlayer = new ThreadsPlayer("Platform Computer");
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            executor.submit(() -> {
+                final var gameId = this.games.createNewBoard(userPlayer, computerPlayer);
+                play(gameId, new RandomPlayer("Virtual Gamer Emulator", new Random(1L)));
+            }).get();
+        }
+
+        assertTrue(!computerPlayer.threads.isEmpty());
+        for (var computerThread : computerPlayer.threads) {
+            assertTrue(!computerThread.isVirtual());
+        }
+    }
+
+    @Test
+    void testSubmitTurn() throws Exception {
+        final var userPlayer = new ConsolePlayer("Submitting Gamer", "pass");
+        final var computerPlayer = new ThreadsPlayer("Pool Computer");
+        final var gameId = this.games.createNewBoard(userPlayer, computerPlayer);
+        computerPlayer.threads.clear(); // First turns could be made by this thread.
+
+        final var playerEmulator = new RandomPlayer("Submitting Gamer Emulator", new Random(1L));
+        var board = this.games.getGameBoard(gameId);
+        while (!board.isGameOver()) {
+            this.games.submitTurn(gameId, userPlayer, playerEmulator.getNextTurnPitNum(board)).get();
+            board = this.games.getGameBoard(gameId);
+        }
+        for (var computerThread : computerPlayer.threads) {
+            assertEquals("computer-turn", computerThread.getName());
+        }
+
+        final var rejected = this.games.submitTurn(gameId, userPlayer, 0);
+        final var e = assertThrows(ExecutionException.class, rejected::get);
+        assertTrue(e.getCause() instanceof ResponseStatusException);
+    }
+
+    @Test
+    void testHistory() throws NoSuchAlgorithmException {
+        final var firstConsolePlayer = new ConsolePlayer("History Player 1", "pass");
+        final var secondConsolePlayer = new ConsolePlayer("History Player 2", "pass");
+        final var otherPlayer = new ConsolePlayer("History Player 3", "pass");
+        final var gameId = this.games.createNewBoard(firstConsolePlayer, secondConsolePlayer);
+
+        final var board = play(gameId, new RandomPlayer("History Player Emulator", new Random(1L)));
+
+        final var history = this.games.getBoardHistory(gameId, firstConsolePlayer);
+        assertEquals(gameId, history.getBoardId());
+        assertEquals(board.getTurnNum(), history.getMoves().length);
+
+        final var position = this.games.getGameBoard(gameId, secondConsolePlayer, board.getTurnNum() - 1);
+        assertEquals(board.getTurnNum() - 1, position.getTurnNum());
+        position.turn(history.getMoves()[board.getTurnNum() - 1]);
+        assertEquals(board.toString(), position.toString());
+
+        assertThrows(ResponseStatusException.class, () -> this.games.getBoardHistory(gameId, otherPlayer));
+        assertThrows(ResponseStatusException.class,
+                () -> this.games.getGameBoard(gameId, firstConsolePlayer, board.getTurnNum() + 1));
+        assertThrows(ResponseStatusException.class, () -> this.games.getBoardHistory("wrongBoard", otherPlayer));
+    }
+
+    @Test
+    void testEvictFinishedBoards() throws NoSuchAlgorithmException {
+        final var firstConsolePlayer = new ConsolePlayer("Evicted Player 1", "pass");
+        final var secondConsolePlayer = new ConsolePlayer("Evicted Player 2", "pass");
+        final var gameId = this.games.createNewBoard(firstConsolePlayer, secondConsolePlayer);
+
+        final var board = play(gameId, new RandomPlayer("Evicted Player Emulator", new Random(1L)));
+
+        final var storage = (BoardsStorageMemory) this.games;
+        assertTrue(storage.evictBoards(System.currentTimeMillis() + 24 * 3600 * 1000L) > 0);
+
+        final var archived = this.games.getGameBoard(gameId);
+        assertNotSame(board, archived);
+        assertEquals(board.toString(), archived.toString());
+        assertEquals(board.getWinner(), archived.getWinner());
+        assertEquals(board.getTurnNum(), archived.getTurnNum());
+        assertEquals(List.of(archived), this.games.getPlayerBoards(firstConsolePlayer));
+        assertThrows(ResponseStatusException.class, () -> this.games.nextTurn(gameId, firstConsolePlayer, 0));
+    }
+
+    private static int stonesNum(final Board board) {
+        var stones = 0;
+        for (var player : board.getPlayers()) {
+            stones += Arrays.stream(board.getRegularPits().get(player)).sum() + board.getBigPits().get(player);
+        }
+        return stones;
+    }
+
+    private static <T> List<T> invokeAll(final ExecutorService executor, final List<Callable<T>> tasks)
+            throws Exception {
+        final var results = new ArrayList<T>();
+        for (var future : executor.invokeAll(tasks)) {
+            results.add(future.get());
+        }
+        return results;
+    }
+
+    @Test
+    void testConcurrentTurns() throws Exception {
+        final var threadsNum = 8;
+        final var boardsNum = 16;
+        final var turnsNum = 2_000;
+
+        final var executor = Executors.newFixedThreadPool(threadsNum);
+        try {
+            // Half of boards are played with computer.
+            final var creates = new ArrayList<Callable<String>>();
+            for (var i = 0; i < boardsNum; ++i) {
+                final var firstPlayer = new ConsolePlayer("Concurrent Player " + i, "pass");
+                final var secondPlayer = i % 2 == 0 ? new ConsolePlayer("Concurrent Opponent " + i, "pass") : null;
+                creates.add(() -> this.games.createNewBoard(firstPlayer, secondPlayer));
+            }
+            final var boardIds = invokeAll(executor, creates);
+
+            final Map<String, AtomicInteger> turns = new HashMap<>();
+            for (var boardId : boardIds) {
+                turns.put(boardId, new AtomicInteger());
+            }
+
+            // All threads make turns on the same boards.
+            final var plays = new ArrayList<Callable<Void>>();
+            for (var t = 0; t < threadsNum; ++t) {
+                final var rand = new Random(t);
+                plays.add(() -> {
+                    for (var i = 0; i < turnsNum; ++i) {
+                        final var boardId = boardIds.get(rand.nextInt(boardsNum));
+                        final var player = this.games.getGameBoard(boardId).getActivePlayer();
+                        if (player == null) {
+                            continue;
+                        }
+                        try {
+                            this.games.nextTurn(boardId, player, rand.nextInt(6));
+                            turns.get(boardId).incrementAndGet();
+                        } catch (ResponseStatusException | IllegalArgumentException e) {
+                            // Another thread made a turn or the pit is empty.
+                        }
+                    }
+                    return null;
+                });
+            }
+            invokeAll(executor, plays);
+
+            for (var i = 0; i < boardsNum; ++i) {
+                final var board = this.games.getGameBoard(boardIds.get(i));
+                assertEquals(72, stonesNum(board));
+                if (i % 2 == 0) {
+                    assertEquals(turns.get(board.getId()).get(), board.getTurnNum());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static int stonesNum(final JsonNode pits) {
+        var stones = 0;
+        for (var pit : pits) {
+            if (pit.isArray()) {
+                for (var stone : pit) {
+                    stones += stone.asInt();
+                }
+            } else {
+                stones += pit.asInt();
+            }
+        }
+        return stones;
+    }
+
+    @Test
+    void testReadsDuringTurns() throws Exception {
+        final var writersNum = 4;
+        final var readersNum = 4;
+        final var durationMs = 2_000L;
+        final var player = new ConsolePlayer("Reading Player", "pass");
+
+        final var executor = Executors.newFixedThreadPool(writersNum + readersNum);
+        try {
+            final var endMs = System.currentTimeMillis() + durationMs;
+            final var tasks = new ArrayList<Callable<Void>>();
+            final var played = new AtomicLong();
+            for (var t = 0; t < writersNum; ++t) {
+                final var playerEmulator = new RandomPlayer("Reading Player Emulator " + t, new Random(t));
+                tasks.add(() -> {
+                    // Every turn of the player is answered by computer under the same lock.
+                    while (System.currentTimeMillis() < endMs) {
+                        play(this.games.createNewBoard(player, null), playerEmulator);
+                        played.incrementAndGet();
+                    }
+                    return null;
+                });
+            }
+            // Finished boards are not changed anymore, so read only boards with turns in progress.
+            final var activeQuery = new BoardsQuery(BoardsQuery.Status.ACTIVE, null, 0, 0, Integer.MAX_VALUE);
+            final var reads = new AtomicLong();
+            for (var t = 0; t < readersNum; ++t) {
+                tasks.add(() -> {
+                    while (System.currentTimeMillis() < endMs) {
+                        for (var board : this.games.getPlayerBoards(player, activeQuery).getBoards()) {
+                            final var json = this.mapper.readTree(this.mapper.writeValueAsString(board));
+                            final var stones = stonesNum(json.get("regularPits")) + stonesNum(json.get("bigPits"));
+                            assertEquals(72, stones, json.toString());
+                            assertEquals(json.get("turnNum").asLong() + 1, json.get("version").asLong(),
+                                    json.toString());
+                            reads.incrementAndGet();
+                        }
+                    }
+                    return null;
+                });
+            }
+            invokeAll(executor, tasks);
+            assertTrue(played.get() > 0);
+            assertTrue(reads.get() > 0);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
 }
@@ -0,0 +1,87 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.kalah.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+
+/**
+ * Tests for {@link BoardsStreamController}.
+ *
+ * @author Dmitry Zavodnikov
+ */
+class BoardsStreamControllerTest extends AbstractControllerTest {
+
+    private static final long TIMEOUT_MS = 10_000;
+
+    private static String awaitContent(final MvcResult result, final String expected) throws Exception {
+        final var deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        var content = result.getResponse().getContentAsString();
+        while (!content.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            content = result.getResponse().getContentAsString();
+        }
+        return content;
+    }
+
+    @Test
+    void testStream() throws Exception {
+        final var playerName1 = "Stream Player 1";
+        final var playerName2 = "Stream Player 2";
+
+        final var token1 = accessToken(playerName1, "pass");
+        final var token2 = accessToken(playerName2, "pass");
+
+        final var result1 = this.mvc.perform(get("/v1/board/stream").param("token", token1))
+                .andExpect(request().asyncStarted()).andReturn();
+        final var result2 = this.mvc.perform(get("/v1/board/stream").param("token", token2))
+                .andExpect(request().asyncStarted()).andReturn();
+
+        final var boardName = this.mvc
+                .perform(post("/v1/board").param("secondPlayerName", playerName2).header("access-token", token1)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+
+        assertThat(awaitContent(result1, boardName)).contains("event:" + BoardsStreamController.BOARD_EVENT)
+                .contains("\"id\":\"" + boardName + "\"");
+        assertThat(awaitContent(result2, boardName)).contains("\"id\":\"" + boardName + "\"");
+    }
+
+    @Test
+    void testStreamWrongToken() throws Exception {
+        this.mvc.perform(get("/v1/board/stream").param("token", "wrongToken")).andExpect(status().isForbidden());
+    }
+
+    @Test
+    void testStreamNoToken() throws Exception {
+        this.mvc.perform(get("/v1/board/stream")).andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.kalah.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import pro.zavodnikov.kalah.game.Board;
+import pro.zavodnikov.kalah.player.NamedPlayer;
+
+/**
+ * Tests for {@link BoardsStream}.
+ *
+ * @author Dmitry Zavodnikov
+ */
+class BoardsStreamTest {
+
+    private static final long TIMEOUT_MS = 10_000;
+
+    private final NamedPlayer player1 = new NamedPlayer("Player 1");
+    private final NamedPlayer player2 = new NamedPlayer("Player 2");
+    private final NamedPlayer player3 = new NamedPlayer("Player 3");
+
+    /**
+     * Connection that remembers sent boards.
+     */
+    private static class TestConnection implements BoardsStream.Connection {
+
+        private final BlockingQueue<String> sent = new LinkedBlockingQueue<>();
+        private final CountDownLatch closed = new CountDownLatch(1);
+        private final CountDownLatch sending = new CountDownLatch(1);
+        private final CountDownLatch aborted = new CountDownLatch(1);
+        private final CountDownLatch blocked;
+
+        TestConnection(final CountDownLatch blocked) {
+            this.blocked = blocked;
+        }
+
+        TestConnection() {
+            this(new CountDownLatch(0));
+        }
+
+        @Override
+        public void send(final String boardJson) throws Exception {
+            this.sending.countDown();
+            this.blocked.await();
+            if (this.aborted.getCount() == 0) {
+                throw new IOException("Connection is aborted");
+            }
+            this.sent.add(boardJson);
+        }
+
+        @Override
+        public void close() {
+            this.closed.countDown();
+        }
+
+        @Override
+        public void abort() {
+            this.aborted.countDown();
+            this.blocked.countDown();
+        }
+
+        String poll() throws InterruptedException {
+            return this.sent.poll(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        }
+
+        boolean awaitSending() throws InterruptedException {
+            return this.sending.await(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        }
+
+        boolean awaitClosed() throws InterruptedException {
+            return this.closed.await(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        }
+
+        boolean awaitAborted() throws InterruptedException {
+            return this.aborted.await(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private Board newBoard() {
+        final var board = new Board(this.player1, this.player2, this.player1);
+        board.init();
+        return board;
+    }
+
+    @Test
+    void testSend() throws Exception {
+        final var stream = new BoardsStream(16, 2, TIMEOUT_MS);
+        stream.start();
+        try {
+            final var connection1 = new TestConnection();
+            final var connection2 = new TestConnection();
+            final var connection3 = new TestConnection();
+            stream.subscribe(this.player1, connection1);
+            stream.subscribe(this.player2, connection2);
+            stream.subscribe(this.player3, connection3);
+
+            final var board = newBoard();
+            stream.boardChanged(board);
+            final var json = BoardJsonSerializer.writeJson(board);
+            board.turn(0); // Copy of the board is sent.
+            assertEquals(json, connection1.poll());
+            assertEquals(json, connection2.poll());
+
+            stream.boardChanged(board);
+            assertEquals(BoardJsonSerializer.writeJson(board), connection1.poll());
+            assertEquals(BoardJsonSerializer.writeJson(board), connection2.poll());
+            assertNull(connection3.sent.poll());
+        } finally {
+            stream.stop();
+        }
+    }
+
+    @Test
+    void testClose() throws Exception {
+        final var stream = new BoardsStream(16, 2, TIMEOUT_MS);
+        stream.start();
+        try {
+            final var connection = new TestConnection();
+            final var subscription = stream.subscribe(this.player1, connection);
+            assertEquals(1, stream.getSubscriptionsNum(this.player1));
+
+            subscription.close();
+            subscription.close();
+            assertTrue(connection.awaitClosed());
+            assertEquals(0, stream.getSubscriptionsNum(this.player1));
+        } finally {
+            stream.stop();
+        }
+    }
+
+    @Test
+    void testSlowSubscriber() throws Exception {
+        final var queueSize = 4;
+        final var stream = new BoardsStream(queueSize, 2, TIMEOUT_MS);
+        stream.start();
+        final var blocked = new CountDownLatch(1);
+        try {
+            final var slowConnection = new TestConnection(blocked);
+            final var connection = new TestConnection();
+            stream.subscribe(this.player1, slowConnection);
+            stream.subscribe(this.player2, connection);
+
+            final var board = newBoard();
+            final var json = BoardJsonSerializer.writeJson(board);
+            // Slow subscriber is offered every board before other one, so it gets all boards that other one got.
+            stream.boardChanged(board);
+            assertEquals(json, connection.poll());
+            assertTrue(slowConnection.awaitSending()); // First board is taken by sender that is blocked.
+            for (var i = 0; i < queueSize; ++i) {
+                stream.boardChanged(board);
+                assertEquals(json, connection.poll()); // Queue of other subscriber is never full.
+            }
+            assertEquals(1, stream.getSubscriptionsNum(this.player1));
+
+            stream.boardChanged(board); // Over the limit.
+            assertEquals(json, connection.poll());
+            assertTrue(slowConnection.awaitClosed());
+            assertEquals(0, stream.getSubscriptionsNum(this.player1));
+            assertEquals(1, stream.getSubscriptionsNum(this.player2));
+        } finally {
+            blocked.countDown();
+            stream.stop();
+        }
+    }
+
+    @Test
+    void testStuckSubscriber() throws Exception {
+        final var stream = new BoardsStream(16, 1, 100);
+        stream.start();
+        final var blocked = new CountDownLatch(1);
+        try {
+            final var stuckConnection = new TestConnection(blocked);
+            final var connection = new TestConnection();
+            stream.subscribe(this.player1, stuckConnection);
+            stream.subscribe(this.player2, connection);
+
+            final var board = newBoard();
+            stream.boardChanged(board); // The only sender is taken by stuck subscriber.
+            assertTrue(stuckConnection.awaitSending());
+            assertTrue(stuckConnection.awaitAborted());
+            assertEquals(BoardJsonSerializer.writeJson(board), connection.poll()); // Sender is free again.
+            assertEquals(0, stream.getSubscriptionsNum(this.player1));
+            assertEquals(1, stream.getSubscriptionsNum(this.player2));
+            assertEquals(1, stuckConnection.closed.getCount()); // Aborted, not closed.
+        } finally {
+            blocked.countDown();
+            stream.stop();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.kalah.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import pro.zavodnikov.kalah.game.Board;
+import pro.zavodnikov.kalah.player.NamedPlayer;
+
+/**
+ * Tests for {@link BoardsWaiters}.
+ *
+ * @author Dmitry Zavodnikov
+ */
+class BoardsWaitersTest {
+
+    private Board newBoard() {
+        final var player1 = new NamedPlayer("Player 1");
+        final var player2 = new NamedPlayer("Player 2");
+        final var board = new Board(player1, player2, player1);
+        board.init();
+        return board;
+    }
+
+    @Test
+    void testChangedBefore() {
+        final var waiters = new BoardsWaiters(10_000);
+        final var board = newBoard();
+
+        final var result = waiters.await(board.getId(), id -> board, board.getVersion() - 1);
+        assertTrue(result.hasResult());
+        assertSame(board, ((ResponseEntity<?>) result.getResult()).getBody());
+        assertEquals(0, waiters.getWaitersNum(board.getId()));
+    }
+
+    @Test
+    void testChangedAfter() {
+        final var waiters = new BoardsWaiters(10_000);
+        final var board = newBoard();
+        final var otherBoard = newBoard();
+
+        final var result1 = waiters.await(board.getId(), id -> board, board.getVersion());
+        final var result2 = waiters.await(board.getId(), id -> board, board.getVersion());
+        final var otherResult = waiters.await(otherBoard.getId(), id -> otherBoard, otherBoard.getVersion());
+        assertFalse(result1.hasResult());
+        assertFalse(result2.hasResult());
+        assertEquals(2, waiters.getWaitersNum(board.getId()));
+
+        board.turn(0);
+        waiters.boardChanged(board);
+        assertTrue(result1.hasResult());
+        assertTrue(result2.hasResult());
+        assertFalse(otherResult.hasResult());
+        assertEquals(0, waiters.getWaitersNum(board.getId()));
+        assertEquals(1, waiters.getWaitersNum(otherBoard.getId()));
+
+        final var sent = (Board) ((ResponseEntity<?>) result1.getResult()).getBody();
+        assertNotSame(board, sent);
+        assertEquals(board.getVersion(), sent.getVersion());
+        assertEquals(1, sent.getTurnNum());
+    }
+
+    @Test
+    void testChangedBeforeAdding() {
+        final var waiters = new BoardsWaiters(10_000);
+        final var board = newBoard();
+        final var knownVersion = board.getVersion();
+
+        // Turn is made after the client read the board, but before the waiter is added.
+        board.turn(0);
+        waiters.boardChanged(board);
+        final var result = waiters.await(board.getId(), id -> {
+            assertEquals(1, waiters.getWaitersNum(id)); // Board is read after the waiter is added.
+            return board.copy();
+        }, knownVersion);
+        assertTrue(result.hasResult());
+        assertEquals(board.getVersion(), ((Board) ((ResponseEntity<?>) result.getResult()).getBody()).getVersion());
+        assertEquals(0, waiters.getWaitersNum(board.getId()));
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.kalah.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link ComputerTurns}.
+ *
+ * @author Dmitry Zavodnikov
+ */
+class ComputerTurnsTest {
+
+    private static final long TIMEOUT_MS = 10_000;
+
+    @Test
+    void testSubmit() throws InterruptedException, ExecutionException, TimeoutException {
+        final var turns = new ComputerTurns(2);
+        try {
+            assertEquals(3, turns.submit(0, () -> 3).get(TIMEOUT_MS, TimeUnit.MILLISECONDS));
+        } finally {
+            turns.shutdown();
+        }
+    }
+
+    @Test
+    void testPriority() throws InterruptedException, ExecutionException, TimeoutException {
+        final var turns = new ComputerTurns(1);
+        try {
+            final var started = new CountDownLatch(1);
+            final var blocked = new CountDownLatch(1);
+            turns.submit(0, () -> {
+                started.countDown();
+                blocked.await();
+                return null;
+            });
+            started.await();
+
+            final var order = new CopyOnWriteArrayList<String>();
+            final var futures = List.<Future<?>>of(
+                    turns.submit(30, () -> order.add("30")),
+                    turns.submit(10, () -> order.add("10 first")),
+                    turns.submit(20, () -> order.add("20")),
+                    turns.submit(10, () -> order.add("10 second")));
+            blocked.countDown();
+            for (var future : futures) {
+                future.get(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            }
+            assertEquals(List.of("10 first", "10 second", "20", "30"), order);
+        } finally {
+            turns.shutdown();
+        }
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.kalah.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.server.ResponseStatusException;
+
+import pro.zavodnikov.kalah.game.Board;
+import pro.zavodnikov.kalah.player.RandomPlayer;
+
+/**
+ * Tests for {@link PlayerBoardsIndex}.
+ *
+ * @author Dmitry Zavodnikov
+ */
+class PlayerBoardsIndexTest {
+
+    private final RandomPlayer player1 = new RandomPlayer("player1", null);
+    private final RandomPlayer player2 = new RandomPlayer("player2", null);
+    private final RandomPlayer player3 = new RandomPlayer("player3", null);
+
+    private static BoardEntry entry(final long seqNum, final Board board) {
+        board.init();
+        return new BoardEntry(seqNum, board, 1_000 * seqNum);
+    }
+
+    private static void finish(final BoardEntry entry) {
+        final var prevUpdateTimeMs = entry.getUpdateTimeMs();
+        final var pits = new int[6];
+        pits[0] = 1;
+        entry.getBoard().init(pits, 10, new int[6], 10);
+        entry.setUpdateTimeMs(prevUpdateTimeMs + 10_000);
+    }
+
+    @Test
+    void testAdd() {
+        final var entry1 = entry(1, new Board(this.player1, this.player2, this.player1));
+        final var entry2 = entry(2, new Board(this.player2, this.player3, this.player2));
+        final var entry3 = entry(3, new Board(this.player3, this.player1, this.player3));
+
+        final var index = new PlayerBoardsIndex();
+        index.add(entry3);
+        index.add(entry1);
+        index.add(entry2);
+        assertEquals(List.of(entry1.getBoard(), entry3.getBoard()), index.get(this.player1));
+        assertEquals(List.of(entry1.getBoard(), entry2.getBoard()), index.get(this.player2));
+        assertEquals(List.of(entry2.getBoard(), entry3.getBoard()), index.get(this.player3));
+        assertTrue(index.get(new RandomPlayer("player4", null)).isEmpty());
+    }
+
+    @Test
+    void testAddAll() {
+        final var entry1 = entry(1, new Board(this.player1, this.player2, this.player1));
+        final var entry2 = entry(2, new Board(this.player2, this.player3, this.player2));
+        final var entry3 = entry(3, new Board(this.player3, this.player1, this.player3));
+        finish(entry2);
+
+        final var index = new PlayerBoardsIndex();
+        index.add(entry1);
+        index.addAll(List.of(entry2, entry3));
+        assertEquals(List.of(entry1.getBoard(), entry3.getBoard()), index.get(this.player1));
+        assertEquals(List.of(entry1.getBoard(), entry2.getBoard()), index.get(this.player2));
+        assertEquals(List.of(entry2.getBoard(), entry3.getBoard()), index.get(this.player3));
+
+        final var page = index.find(this.player2, new BoardsQuery(BoardsQuery.Status.FINISHED, null, 0, 0, 10));
+        assertEquals(List.of(entry2.getBoard()), page.getBoards());
+    }
+
+    @Test
+    void testVersion() {
+        final var entry1 = entry(1, new Board(this.player1, this.player2, this.player1));
+        final var entry2 = entry(2, new Board(this.player2, this.player3, this.player2));
+
+        final var index = new PlayerBoardsIndex();
+        assertEquals(0, index.getVersion(this.player1));
+        index.add(entry1);
+        final var version1 = index.getVersion(this.player1);
+        final var version2 = index.getVersion(this.player2);
+        assertTrue(version1 > 0);
+        assertTrue(version2 > 0);
+        assertNotEquals(version1, version2);
+
+        index.add(entry2);
+        assertEquals(version1, index.getVersion(this.player1));
+        assertTrue(index.getVersion(this.player2) > version2);
+        final var version3 = index.getVersion(this.player3);
+
+        final var prevUpdateTimeMs = entry2.getUpdateTimeMs();
+        finish(entry2);
+        index.update(entry2, prevUpdateTimeMs);
+        assertEquals(version1, index.getVersion(this.player1));
+        assertTrue(index.getVersion(this.player3) > version3);
+    }
+
+    @Test
+    void testFind() {
+        final var index = new PlayerBoardsIndex();
+        final var entries = new BoardEntry[6];
+        for (var i = 0; i < entries.length; ++i) {
+            final var opponent = i % 2 == 0 ? this.player2 : this.player3;
+            entries[i] = entry(i + 1, new Board(this.player1, opponent, this.player1));
+            index.add(entries[i]);
+        }
+        final var prevUpdateTimeMs = entries[1].getUpdateTimeMs();
+        finish(entries[1]);
+        index.update(entries[1], prevUpdateTimeMs);
+
+        // Pages.
+        var page = index.find(this.player1, new BoardsQuery(null, null, 0, 0, 4));
+        assertEquals(List.of(entries[0].getBoard(), entries[1].getBoard(), entries[2].getBoard(),
+                entries[3].getBoard()), page.getBoards());
+        assertEquals(Long.valueOf(4), page.getNextCursor());
+        page = index.find(this.player1, new BoardsQuery(null, null, 0, page.getNextCursor(), 4));
+        assertEquals(List.of(entries[4].getBoard(), entries[5].getBoard()), page.getBoards());
+        assertNull(page.getNextCursor());
+
+        // Filters.
+        page = index.find(this.player1, new BoardsQuery(BoardsQuery.Status.FINISHED, null, 0, 0, 10));
+        assertEquals(List.of(entries[1].getBoard()), page.getBoards());
+        page = index.find(this.player1, new BoardsQuery(BoardsQuery.Status.ACTIVE, this.player3, 0, 0, 10));
+        assertEquals(List.of(entries[3].getBoard(), entries[5].getBoard()), page.getBoards());
+        page = index.find(this.player2, new BoardsQuery(null, this.player1, 0, 2, 10));
+        assertEquals(List.of(entries[2].getBoard(), entries[4].getBoard()), page.getBoards());
+        page = index.find(this.player1, new BoardsQuery(null, null, 5_000, 0, 10));
+        assertEquals(List.of(entries[1].getBoard(), entries[4].getBoard(), entries[5].getBoard()), page.getBoards());
+        page = index.find(this.player1, new BoardsQuery(null, null, 5_000, 0, 1));
+        assertEquals(List.of(entries[1].getBoard()), page.getBoards());
+        assertEquals(Long.valueOf(2), page.getNextCursor());
+
+        assertTrue(index.find(this.player3, new BoardsQuery(null, this.player2, 0, 0, 10)).getBoards().isEmpty());
+        assertThrows(ResponseStatusException.class, () -> new BoardsQuery(null, null, 0, 0, 0));
+    }
+}
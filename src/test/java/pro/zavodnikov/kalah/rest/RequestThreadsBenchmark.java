@@ -0,0 +1,144 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Dmitry Zavodnikov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package pro.zavodnikov.kalah.rest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+
+import pro.zavodnikov.kalah.App;
+
+/**
+ * Load test of request threads: application is started with the pool of
+ * platform threads of Tomcat and with virtual threads
+ * (<code>spring.threads.virtual.enabled</code>), and every connection creates
+ * new boards against computer player in a loop. Boards are saved to the log, so
+ * request waits for <code>fsync</code> and computer turn. It is not a test and
+ * is not executed during the build; run it manually with test classpath (and
+ * dependencies):
+ *
+ * <pre>
+ * $ java -cp target/classes:target/test-classes:... pro.zavodnikov.kalah.rest.RequestThreadsBenchmark \
+ *      [connections] [seconds] [computer]
+ * </pre>
+ *
+ * With platform threads only 200 requests (<code>server.tomcat.threads.max</code>)
+ * are handled at the same time and other connections wait in the queue; with
+ * virtual threads all connections are handled and wait for the disk together.
+ *
+ * @author Dmitry Zavodnikov
+ */
+public class RequestThreadsBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        final var connections = args.length > 0 ? Integer.parseInt(args[0]) : 2_000;
+        final var seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        final var computer = args.length > 2 ? args[2] : "Computer";
+
+        for (var virtual : List.of(false, true)) {
+            run(virtual, connections, seconds, computer);
+        }
+    }
+
+    private static void run(final boolean virtual, final int connections, final int seconds, final String computer)
+            throws Exception {
+        final var logPath = Files.createTempFile("boards", ".log");
+        Files.delete(logPath);
+        try (var context = new SpringApplicationBuilder(App.class).properties("server.port=0",
+                "spring.threads.virtual.enabled=" + virtual, "kalah.boards.log-path=" + logPath,
+                "kalah.boards.snapshot-period-ms=0", "logging.level.root=WARN").run();
+                var client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build()) {
+            final var url = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/v1";
+
+            final var tokens = new ArrayList<String>();
+            for (var c = 0; c < connections; ++c) { // Players are not created concurrently.
+                final var request = HttpRequest.newBuilder(URI.create(url + "/security/access_token?name=Load" + c))
+                        .header("password", "pass").build();
+                tokens.add(client.send(request, HttpResponse.BodyHandlers.ofString()).body());
+            }
+
+            final var requests = new AtomicLong();
+            final var errors = new AtomicLong();
+            final var latencies = new long[connections][];
+            final var end = System.currentTimeMillis() + seconds * 1000L;
+            final var threads = new ArrayList<Thread>();
+            for (var c = 0; c < connections; ++c) {
+                final var connection = c;
+                threads.add(Thread.ofVirtual().start(() -> {
+                    final var request = HttpRequest
+                            .newBuilder(URI.create(url + "/board?secondPlayerName=" + computer.replace(" ", "%20")))
+                            .header(AbstractController.ACCESS_TOKEN_HEADER, tokens.get(connection))
+                            .POST(HttpRequest.BodyPublishers.noBody()).build();
+                    var connectionLatencies = new long[64];
+                    var num = 0;
+                    while (System.currentTimeMillis() < end) {
+                        final var startNs = System.nanoTime();
+                        try {
+                            if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() != 200) {
+                                errors.incrementAndGet();
+                                continue;
+                            }
+                        } catch (IOException | InterruptedException e) {
+                            errors.incrementAndGet();
+                            continue;
+                        }
+                        if (num == connectionLatencies.length) {
+                            connectionLatencies = Arrays.copyOf(connectionLatencies, 2 * num);
+                        }
+                        connectionLatencies[num++] = System.nanoTime() - startNs;
+                        requests.incrementAndGet();
+                    }
+                    latencies[connection] = Arrays.copyOf(connectionLatencies, num);
+                }));
+            }
+            for (var thread : threads) {
+                thread.join();
+            }
+
+            final var all = Arrays.stream(latencies).flatMapToLong(Arrays::stream).sorted().toArray();
+            System.out.println(String.format("%s threads, %d connections: %,d requests/sec, %,d errors, "
+                    + "latency p50 %,d ms, p99 %,d ms", virtual ? "virtual" : "platform", connections,
+                    requests.get() / seconds, errors.get(), percentileMs(all, 0.5), percentileMs(all, 0.99)));
+        } finally {
+            Files.deleteIfExists(logPath);
+        }
+    }
+
+    private static long percentileMs(final long[] sortedNs, final double percentile) {
+        if (sortedNs.length == 0) {
+            return 0;
+        }
+        return sortedNs[(int) (percentile * (sortedNs.length - 1))] / 1_000_000;
+    }
+}
@@ -25,6 +25,7 @@ package pro.zavodnikov.kalah.rest;
 
 import static org.hamcrest.Matchers.hasItem;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -70,6 +71,23 @@ public class SecurityControllerTest extends AbstractControllerTest {
                 .andExpect(status().isOk()).andExpect(jsonPath("$", hasItem(playerName)));
     }
 
+    @Test
+    void testGetPlayersNotModified() throws Exception {
+        final var token1 = accessToken("ETag Gamer 1", "pass");
+        final var etag = this.mvc.perform(
+                get("/v1/security/players").header("access-token", token1).contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk()).andExpect(header().exists("ETag")).andReturn().getResponse()
+                .getHeader("ETag");
+
+        this.mvc.perform(get("/v1/security/players").header("access-token", token1).header("If-None-Match", etag)
+                .contentType(MediaType.APPLICATION_JSON)).andExpect(status().isNotModified());
+
+        accessToken("ETag Gamer 2", "pass");
+        this.mvc.perform(get("/v1/security/players").header("access-token", token1).header("If-None-Match", etag)
+                .contentType(MediaType.APPLICATION_JSON)).andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasItem("ETag Gamer 2")));
+    }
+
     @Test
     void testGetPlayersNoHeader() throws Exception {
         this.mvc.perform(get("/v1/security/players").contentType(MediaType.APPLICATION_JSON))